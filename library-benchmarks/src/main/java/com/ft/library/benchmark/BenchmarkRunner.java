@@ -0,0 +1,104 @@
+package com.ft.library.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks matching {@code bench.include} and writes JMH's JSON results to {@code bench.result}.
+ * With {@code bench.baseline} pointing at an earlier results file, every benchmark that got slower by more
+ * than {@code bench.threshold} percent is reported, the comparison is written next to the results as
+ * {@code comparison.json}, and the process exits with status 1.
+ */
+public final class BenchmarkRunner {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("bench.include", ".*");
+        Path result = Path.of(System.getProperty("bench.result", "target/jmh/results.json"));
+        String baseline = System.getProperty("bench.baseline", "");
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "10"));
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (!baseline.isBlank()) {
+            int regressions = compare(Path.of(baseline), result, threshold);
+            if (regressions > 0) {
+                System.exit(1);
+            }
+        }
+    }
+
+    static int compare(Path baselinePath, Path resultPath, double thresholdPercent) throws IOException {
+        Map<String, JsonNode> baseline = index(OBJECT_MAPPER.readTree(baselinePath.toFile()));
+        Map<String, JsonNode> current = index(OBJECT_MAPPER.readTree(resultPath.toFile()));
+
+        ArrayNode comparison = OBJECT_MAPPER.createArrayNode();
+        int regressions = 0;
+        System.out.printf("%n%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            // Positive means worse: less throughput, or more time per operation.
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double worsePercent = baseScore == 0 ? 0
+                    : (higherIsBetter ? baseScore - score : score - baseScore) / baseScore * 100;
+            boolean regressed = worsePercent > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), baseScore, score, worsePercent,
+                    unit, regressed ? "  REGRESSION" : "");
+            comparison.addObject()
+                    .put("benchmark", entry.getKey())
+                    .put("unit", unit)
+                    .put("baseline", baseScore)
+                    .put("current", score)
+                    .put("worsePercent", worsePercent)
+                    .put("regression", regressed);
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValue(resultPath.resolveSibling("comparison.json").toFile(), comparison);
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, thresholdPercent);
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = run.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            byKey.put(key, run);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ft.library.benchmark;
+
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.service.impl.BorrowServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BorrowServiceImpl#borrowBook} and {@link BorrowServiceImpl#returnBook} on the embedded database.
+ * Each measured batch works through distinct member/book pairs, so the duplicate-loan rule never rejects,
+ * and the loans a batch needs (or leaves behind) are set up and cleared outside the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = BorrowBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = BorrowBenchmark.BATCH)
+@Fork(1)
+public class BorrowBenchmark {
+
+    static final int BATCH = 2_000;
+
+    private static final int BOOKS = 100;
+
+    private static final int MEMBERS = BATCH / BOOKS;
+
+    private ConfigurableApplicationContext context;
+
+    private BorrowServiceImpl borrowService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> bookIds = new ArrayList<>();
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    private final List<Long> openLoans = new ArrayList<>();
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        borrowService = context.getBean(BorrowServiceImpl.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        for (int i = 0; i < BOOKS; i++) {
+            long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR books_seq", Long.class);
+            jdbcTemplate.update("INSERT INTO books (id, title, isbn, author, quantity_available, version) VALUES (?, ?, ?, ?, ?, 0)",
+                    id, "Book " + i, String.format("97801323%05d", i), "Author", 1_000_000);
+            bookIds.add(id);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < MEMBERS; i++) {
+            jdbcTemplate.update("INSERT INTO members (first_name, last_name, email, membership_date, membership_status) VALUES (?, ?, ?, ?, 'ACTIVE')",
+                    "Member", String.valueOf(i), "member" + i + "@library.com", now);
+        }
+        memberIds.addAll(jdbcTemplate.queryForList("SELECT id FROM members ORDER BY id", Long.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareIteration(BenchmarkParams params) {
+        closeOpenLoans();
+        cursor = 0;
+        if (params.getBenchmark().endsWith("returnBook")) {
+            for (int i = 0; i < BATCH; i++) {
+                openLoans.add(borrowService.borrowBook(nextRequest()).getId());
+            }
+            cursor = 0;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeOpenLoans() {
+        jdbcTemplate.update("UPDATE borrow_entries SET borrow_status = 'RETURNED', return_date = ? WHERE return_date IS NULL",
+                Timestamp.valueOf(LocalDateTime.now()));
+        openLoans.clear();
+    }
+
+    @Benchmark
+    public BorrowResponse borrowBook() {
+        return borrowService.borrowBook(nextRequest());
+    }
+
+    @Benchmark
+    public BorrowResponse returnBook() {
+        return borrowService.returnBook(openLoans.get(cursor++));
+    }
+
+    private CreateBorrowRequest nextRequest() {
+        int pair = cursor++;
+        return new CreateBorrowRequest(bookIds.get(pair % BOOKS), memberIds.get(pair / BOOKS));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ft.library.benchmark;
+
+import com.ft.library.model.entity.Book;
+import com.ft.library.service.impl.BookServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookServiceImpl#getAllBook()} as the catalog grows. The catalog is seeded over JDBC once per size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    private static final int SEED_BATCH = 1_000;
+
+    @Param({"100", "10000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BookServiceImpl bookService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        bookService = context.getBean(BookServiceImpl.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < catalogSize; i++) {
+            rows.add(new Object[]{i + 1L, "Book " + i, String.format("978%010d", i), "Author " + i, 10});
+            if (rows.size() == SEED_BATCH || i == catalogSize - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO books (id, title, isbn, author, quantity_available, version) VALUES (?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> getAllBook() {
+        return bookService.getAllBook();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ft.library.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of the two most common response bodies, with the mapper configured the way Spring
+ * Boot configures it for the controllers. {@code borrowEntry} is the loan with its book and member embedded, as
+ * the borrow endpoints used to return it; {@code borrowResponse} is the same loan as they return it now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "1000"})
+    private int bookCount;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<List<Book>> bookListResponse;
+
+    private ApiResponse<BorrowEntry> borrowEntryResponse;
+
+    private ApiResponse<BorrowResponse> borrowResponse;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Book> books = LongStream.range(0, bookCount)
+                .mapToObj(i -> Book.builder()
+                        .id(i)
+                        .title("Clean Code " + i)
+                        .isbn(String.format("978%010d", i))
+                        .author("Robert C. Martin")
+                        .quantityAvailable(10)
+                        .version(3L)
+                        .build())
+                .toList();
+        bookListResponse = ApiResponse.of("Success", "Success", books);
+
+        LocalDateTime now = LocalDateTime.now();
+        borrowEntryResponse = ApiResponse.of("Success", "Success", BorrowEntry.builder()
+                .id(1L)
+                .book(books.get(0))
+                .member(Member.builder()
+                        .id(1L)
+                        .firstName("Fatih")
+                        .lastName("Büyükgüçlü")
+                        .email("fatih@gmail.com")
+                        .membershipDate(now)
+                        .membershipStatus(MembershipStatus.ACTIVE)
+                        .build())
+                .borrowDate(now)
+                .dueDate(now.plusDays(7))
+                .borrowStatus(BorrowStatus.ACTIVE)
+                .penaltyAmount(BigDecimal.ZERO)
+                .version(0L)
+                .build());
+        borrowResponse = ApiResponse.of("Success", "Success", BorrowResponse.from(borrowEntryResponse.getData()));
+    }
+
+    @Benchmark
+    public byte[] bookList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookListResponse);
+    }
+
+    @Benchmark
+    public byte[] borrowEntry() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(borrowEntryResponse);
+    }
+
+    @Benchmark
+    public byte[] borrowResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(borrowResponse);
+    }
+}
@@ -0,0 +1,145 @@
+package com.ft.library.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Encode and decode cost of the {@code ApiResponse} bodies in each wire format the API negotiates, with every
+ * mapper built the way {@code WireFormatConfig} builds it from Boot's Jackson builder. Payload sizes do not
+ * change between iterations, so they are printed once per trial rather than measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Book>>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    private static final TypeReference<ApiResponse<Member>> MEMBER = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    @Param({"20", "1000"})
+    private int bookCount;
+
+    private ObjectWriter bookListWriter;
+
+    private ObjectReader bookListReader;
+
+    private ObjectWriter memberWriter;
+
+    private ObjectReader memberReader;
+
+    private ApiResponse<List<Book>> bookListResponse;
+
+    private ApiResponse<Member> memberResponse;
+
+    private byte[] bookListBytes;
+
+    private byte[] memberBytes;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        List<Book> books = LongStream.range(0, bookCount)
+                .mapToObj(i -> Book.builder()
+                        .id(i)
+                        .title("Clean Code " + i)
+                        .isbn(String.format("978%010d", i))
+                        .author("Robert C. Martin")
+                        .quantityAvailable(10)
+                        .version(3L)
+                        .build())
+                .toList();
+        bookListResponse = ApiResponse.of("Success", "Success", books);
+        memberResponse = ApiResponse.of("Success", "Success", Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipDate(LocalDateTime.now())
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build());
+
+        ObjectMapper mapper = mapper();
+        bookListWriter = mapper.writerFor(BOOK_LIST);
+        bookListReader = mapper.readerFor(BOOK_LIST);
+        memberWriter = mapper.writerFor(MEMBER);
+        memberReader = mapper.readerFor(MEMBER);
+        if (mapper instanceof ProtobufMapper protobufMapper) {
+            bookListWriter = bookListWriter.with(protobufMapper.generateSchemaFor(BOOK_LIST));
+            bookListReader = bookListReader.with(protobufMapper.generateSchemaFor(BOOK_LIST));
+            memberWriter = memberWriter.with(protobufMapper.generateSchemaFor(MEMBER));
+            memberReader = memberReader.with(protobufMapper.generateSchemaFor(MEMBER));
+        }
+        bookListBytes = bookListWriter.writeValueAsBytes(bookListResponse);
+        memberBytes = memberWriter.writeValueAsBytes(memberResponse);
+        System.out.printf("%n%s, %d books: book list %d bytes, member %d bytes%n",
+                format, bookCount, bookListBytes.length, memberBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookList() throws IOException {
+        return bookListWriter.writeValueAsBytes(bookListResponse);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Book>> decodeBookList() throws IOException {
+        return bookListReader.readValue(bookListBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeMember() throws IOException {
+        return memberWriter.writeValueAsBytes(memberResponse);
+    }
+
+    @Benchmark
+    public ApiResponse<Member> decodeMember() throws IOException {
+        return memberReader.readValue(memberBytes);
+    }
+
+    private ObjectMapper mapper() {
+        return switch (format) {
+            case "json" -> builder().build();
+            case "smile" -> builder().factory(new SmileFactory()).build();
+            case "cbor" -> builder().factory(new CBORFactory()).build();
+            case "protobuf" -> {
+                ProtobufMapper protobufMapper = new ProtobufMapper();
+                builder().configure(protobufMapper);
+                yield protobufMapper;
+            }
+            default -> throw new IllegalArgumentException("Unknown Format " + format);
+        };
+    }
+
+    // Boot's auto-configured builder writes dates as ISO strings; a bare builder keeps Jackson's timestamp arrays,
+    // which protobuf schema generation rejects.
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ft.library.reactive;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.config.PenaltyConfig;
+import com.ft.library.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking counterpart of library-api for borrow, return and catalog reads, on WebFlux and R2DBC against
+ * the same schema. Errors map to the same responses because the servlet app's exception handler is reused.
+ * Penalties come from the same {@code library.penalties} tiers through library-api's {@link PenaltyConfig}, so
+ * both stacks charge the same fine for a loan. The schema itself belongs to library-api's Flyway migrations, so
+ * run that app against the database first.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(LibraryProperties.class)
+@Import({GlobalExceptionHandler.class, PenaltyConfig.class})
+public class LibraryReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(LibraryReactiveApplication.class, args);
+    }
+
+}
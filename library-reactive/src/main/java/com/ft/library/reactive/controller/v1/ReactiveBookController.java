@@ -0,0 +1,45 @@
+package com.ft.library.reactive.controller.v1;
+
+import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/books")
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<Book>>>> getAllBook() {
+        return bookService.getAllBook()
+                .collectList()
+                .map(allBook -> ResponseEntity.ok(ApiResponse.of("Success", "Success", allBook)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<Book>>> getBookById(@PathVariable long id) {
+        return bookService.getBookById(id)
+                .map(bookById -> ResponseEntity.ok(ApiResponse.of("Success", "Success", bookById)));
+    }
+
+    @GetMapping("/isbn/{isbn}")
+    public Mono<ResponseEntity<ApiResponse<Book>>> getBookByIsbn(@PathVariable String isbn) {
+        return bookService.getBookByIsbn(isbn)
+                .map(bookByIsbn -> ResponseEntity.ok(ApiResponse.of("Success", "Success", bookByIsbn)));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<?>>> createBook(@RequestBody CreateBookRequest body) {
+        return bookService.createBook(body)
+                .map(created -> ResponseEntity.ok(ApiResponse.of("Success", "Success", null)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ft.library.reactive.controller.v1;
+
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.reactive.model.dto.response.BorrowEntryResponse;
+import com.ft.library.reactive.service.ReactiveBorrowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v1/borrows")
+@RequiredArgsConstructor
+public class ReactiveBorrowController {
+
+    private final ReactiveBorrowService borrowService;
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponse<BorrowEntryResponse>>> borrowBook(@RequestBody CreateBorrowRequest request) {
+        return borrowService.borrowBook(request)
+                .map(response -> ResponseEntity.ok(ApiResponse.of("Success", "Success", response)));
+    }
+
+    @PutMapping("/return/{borrowId}")
+    public Mono<ResponseEntity<ApiResponse<BorrowEntryResponse>>> returnBook(@PathVariable long borrowId) {
+        return borrowService.returnBook(borrowId)
+                .map(response -> ResponseEntity.ok(ApiResponse.of("Success", "Success", response)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ft.library.reactive.model.dto.response;
+
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.model.entity.BorrowEntry;
+import com.ft.library.reactive.model.entity.Member;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Same JSON shape as the servlet app's {@code BorrowEntry}, with the book and member nested.
+ */
+@Getter
+@Builder
+public class BorrowEntryResponse {
+
+    private Long id;
+    private Book book;
+    private Member member;
+    private LocalDateTime borrowDate;
+    private LocalDateTime dueDate;
+    private LocalDateTime returnDate;
+    private BorrowStatus borrowStatus;
+    private BigDecimal penaltyAmount;
+    private Long version;
+
+    public static BorrowEntryResponse of(BorrowEntry entry, Book book, Member member) {
+        return BorrowEntryResponse.builder()
+                .id(entry.getId())
+                .book(book)
+                .member(member)
+                .borrowDate(entry.getBorrowDate())
+                .dueDate(entry.getDueDate())
+                .returnDate(entry.getReturnDate())
+                .borrowStatus(entry.getBorrowStatus())
+                .penaltyAmount(entry.getPenaltyAmount())
+                .version(entry.getVersion())
+                .build();
+    }
+}
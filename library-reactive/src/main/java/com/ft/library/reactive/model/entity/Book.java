@@ -0,0 +1,35 @@
+package com.ft.library.reactive.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("books")
+public class Book {
+
+    @Id
+    private Long id;
+
+    @Column("title")
+    private String title;
+
+    @Column("isbn")
+    private String isbn;
+
+    @Column("author")
+    private String author;
+
+    @Column("quantity_available")
+    private Integer quantityAvailable;
+
+    @Version
+    @Column("version")
+    private Long version;
+}
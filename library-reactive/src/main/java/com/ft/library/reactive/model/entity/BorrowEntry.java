@@ -0,0 +1,58 @@
+package com.ft.library.reactive.model.entity;
+
+import com.ft.library.model.enums.BorrowStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat mapping of {@code borrow_entries}; R2DBC has no associations, so the book and member are loaded
+ * separately and joined into {@link com.ft.library.reactive.model.dto.response.BorrowEntryResponse}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("borrow_entries")
+public class BorrowEntry {
+
+    @Id
+    private Long id;
+
+    @Column("book_id")
+    private Long bookId;
+
+    @Column("member_id")
+    private Long memberId;
+
+    @Column("borrow_date")
+    private LocalDateTime borrowDate;
+
+    @Column("due_date")
+    private LocalDateTime dueDate;
+
+    @Column("return_date")
+    private LocalDateTime returnDate;
+
+    @Column("borrow_status")
+    private BorrowStatus borrowStatus;
+
+    @Column("penalty_amount")
+    private BigDecimal penaltyAmount;
+
+    @Column("penalty_cents")
+    private long penaltyCents;
+
+    @Column("penalty_accrued_until")
+    private LocalDateTime penaltyAccruedUntil;
+
+    @Version
+    @Column("version")
+    private Long version;
+}
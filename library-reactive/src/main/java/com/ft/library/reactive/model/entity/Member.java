@@ -0,0 +1,36 @@
+package com.ft.library.reactive.model.entity;
+
+import com.ft.library.model.enums.MembershipStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("members")
+public class Member {
+
+    @Id
+    private Long id;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("email")
+    private String email;
+
+    @Column("membership_date")
+    private LocalDateTime membershipDate;
+
+    @Column("membership_status")
+    private MembershipStatus membershipStatus;
+}
@@ -0,0 +1,27 @@
+package com.ft.library.reactive.repository;
+
+import com.ft.library.reactive.model.entity.Book;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface BookRepository extends ReactiveCrudRepository<Book, Long> {
+
+    Mono<Book> findByIsbn(String isbn);
+
+    /**
+     * Hibernate's pooled optimizer treats each value as the top of a 50-id block, so the value itself is an id
+     * that the servlet app never hands out.
+     */
+    @Query("SELECT nextval('books_seq')")
+    Mono<Long> nextId();
+
+    @Modifying
+    @Query("UPDATE books SET quantity_available = quantity_available - 1, version = version + 1 WHERE id = :id AND quantity_available > 0")
+    Mono<Integer> decrementQuantityAvailable(Long id);
+
+    @Modifying
+    @Query("UPDATE books SET quantity_available = quantity_available + 1, version = version + 1 WHERE id = :id")
+    Mono<Integer> incrementQuantityAvailable(Long id);
+}
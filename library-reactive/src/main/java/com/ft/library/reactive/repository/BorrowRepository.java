@@ -0,0 +1,14 @@
+package com.ft.library.reactive.repository;
+
+import com.ft.library.reactive.model.entity.BorrowEntry;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface BorrowRepository extends ReactiveCrudRepository<BorrowEntry, Long> {
+
+    Mono<Boolean> existsByBookIdAndMemberIdAndReturnDateIsNull(Long bookId, Long memberId);
+
+    @Query("SELECT nextval('borrow_entries_seq')")
+    Mono<Long> nextId();
+}
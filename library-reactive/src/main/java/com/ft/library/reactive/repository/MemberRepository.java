@@ -0,0 +1,7 @@
+package com.ft.library.reactive.repository;
+
+import com.ft.library.reactive.model.entity.Member;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface MemberRepository extends ReactiveCrudRepository<Member, Long> {
+}
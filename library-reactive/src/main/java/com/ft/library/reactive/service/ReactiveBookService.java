@@ -0,0 +1,16 @@
+package com.ft.library.reactive.service;
+
+import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.reactive.model.entity.Book;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+    Flux<Book> getAllBook();
+
+    Mono<Book> getBookById(long id);
+
+    Mono<Book> getBookByIsbn(String isbn);
+
+    Mono<Book> createBook(CreateBookRequest bookRequest);
+}
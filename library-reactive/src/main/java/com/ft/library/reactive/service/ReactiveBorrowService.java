@@ -0,0 +1,11 @@
+package com.ft.library.reactive.service;
+
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.reactive.model.dto.response.BorrowEntryResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBorrowService {
+    Mono<BorrowEntryResponse> borrowBook(CreateBorrowRequest request);
+
+    Mono<BorrowEntryResponse> returnBook(long borrowId);
+}
@@ -0,0 +1,50 @@
+package com.ft.library.reactive.service.impl;
+
+import com.ft.library.exception.BookAlreadyExistsException;
+import com.ft.library.exception.BookNotFoundException;
+import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.repository.BookRepository;
+import com.ft.library.reactive.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final BookRepository bookRepository;
+
+    @Override
+    public Flux<Book> getAllBook() {
+        return bookRepository.findAll();
+    }
+
+    @Override
+    public Mono<Book> getBookById(long id) {
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found")));
+    }
+
+    @Override
+    public Mono<Book> getBookByIsbn(String isbn) {
+        return bookRepository.findByIsbn(isbn)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found")));
+    }
+
+    @Override
+    public Mono<Book> createBook(CreateBookRequest bookRequest) {
+        return bookRepository.nextId()
+                .flatMap(id -> bookRepository.save(Book.builder()
+                        .id(id)
+                        .title(bookRequest.getTitle())
+                        .isbn(bookRequest.getIsbn())
+                        .author(bookRequest.getAuthor())
+                        .quantityAvailable(bookRequest.getQuantityAvailable())
+                        .build()))
+                .onErrorMap(DataIntegrityViolationException.class, e -> new BookAlreadyExistsException("Book Already Exists"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.ft.library.reactive.service.impl;
+
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.domain.FeeSchedule;
+import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.exception.BookNotFoundException;
+import com.ft.library.exception.MemberNotFoundException;
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.reactive.model.dto.response.BorrowEntryResponse;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.model.entity.BorrowEntry;
+import com.ft.library.reactive.model.entity.Member;
+import com.ft.library.reactive.repository.BookRepository;
+import com.ft.library.reactive.repository.BorrowRepository;
+import com.ft.library.reactive.repository.MemberRepository;
+import com.ft.library.reactive.service.ReactiveBorrowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Borrow and return with the servlet app's rule order and messages from {@link BorrowRules}. Stock changes
+ * always go through the conditional update, the servlet app's default {@code CONDITIONAL_UPDATE} mode, and
+ * penalties are priced from the shared {@link FeeSchedule} bean.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveBorrowServiceImpl implements ReactiveBorrowService {
+
+    private final BorrowRepository borrowRepository;
+
+    private final BookRepository bookRepository;
+
+    private final MemberRepository memberRepository;
+
+    private final FeeSchedule feeSchedule;
+
+    @Override
+    @Transactional
+    public Mono<BorrowEntryResponse> borrowBook(CreateBorrowRequest request) {
+        Mono<Boolean> alreadyBorrowed = borrowRepository.existsByBookIdAndMemberIdAndReturnDateIsNull(
+                request.getBookId(), request.getMemberId());
+        Mono<Book> requestedBook = bookRepository.findById(request.getBookId())
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found")));
+        Mono<Member> requesterMember = memberRepository.findById(request.getMemberId())
+                .switchIfEmpty(Mono.error(() -> new MemberNotFoundException("Member Not Found")));
+
+        return alreadyBorrowed
+                .flatMap(borrowed -> borrowed
+                        ? Mono.<Book>error(new BookNotAvailableException(BorrowRules.ALREADY_BORROWED))
+                        : requestedBook)
+                .flatMap(book -> book.getQuantityAvailable() <= 0
+                        ? Mono.<BorrowEntryResponse>error(new BookNotAvailableException(BorrowRules.STOCK_NOT_AVAILABLE))
+                        : requesterMember.flatMap(member -> member.getMembershipStatus() == MembershipStatus.SUSPENDED
+                                ? Mono.<BorrowEntryResponse>error(new BookNotAvailableException(BorrowRules.MEMBER_SUSPENDED))
+                                : createEntry(book, member)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<BorrowEntryResponse> returnBook(long borrowId) {
+        return borrowRepository.findById(borrowId)
+                .switchIfEmpty(Mono.error(() -> new BookNotAvailableException(BorrowRules.BORROW_RECORD_NOT_FOUND)))
+                .flatMap(entry -> {
+                    if (entry.getReturnDate() != null) {
+                        return Mono.<BorrowEntry>error(new BookNotAvailableException(BorrowRules.ALREADY_RETURNED));
+                    }
+                    LocalDateTime now = LocalDateTime.now();
+                    if (BorrowRules.isOverdue(entry.getDueDate(), now)) {
+                        long penaltyCents = feeSchedule.centsFor(BorrowRules.daysOverdue(entry.getDueDate(), now));
+                        entry.setPenaltyCents(penaltyCents);
+                        entry.setPenaltyAmount(FeeSchedule.toAmount(penaltyCents));
+                    }
+                    entry.setBorrowStatus(BorrowRules.returnStatus(entry.getDueDate(), now));
+                    entry.setReturnDate(now);
+                    return borrowRepository.save(entry)
+                            .flatMap(saved -> bookRepository.incrementQuantityAvailable(saved.getBookId()).thenReturn(saved));
+                })
+                .flatMap(entry -> Mono.zip(bookRepository.findById(entry.getBookId()), memberRepository.findById(entry.getMemberId()))
+                        .map(loaded -> BorrowEntryResponse.of(entry, loaded.getT1(), loaded.getT2())));
+    }
+
+    private Mono<BorrowEntryResponse> createEntry(Book book, Member member) {
+        // The check above only rejects early; the conditional update is authoritative under concurrency.
+        return bookRepository.decrementQuantityAvailable(book.getId())
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Long>error(new BookNotAvailableException(BorrowRules.STOCK_NOT_AVAILABLE))
+                        : borrowRepository.nextId())
+                .flatMap(id -> {
+                    book.setQuantityAvailable(book.getQuantityAvailable() - 1);
+                    LocalDateTime now = LocalDateTime.now();
+                    LocalDateTime dueDate = BorrowRules.dueDate(now);
+                    return borrowRepository.save(BorrowEntry.builder()
+                            .id(id)
+                            .bookId(book.getId())
+                            .memberId(member.getId())
+                            .borrowDate(now)
+                            .dueDate(dueDate)
+                            .returnDate(null)
+                            .borrowStatus(BorrowStatus.ACTIVE)
+                            .penaltyAmount(BigDecimal.ZERO)
+                            .penaltyAccruedUntil(BorrowRules.penaltyCurrentUntil(dueDate, dueDate))
+                            .build());
+                })
+                .map(entry -> BorrowEntryResponse.of(entry, book, member));
+    }
+}
@@ -0,0 +1,185 @@
+package com.ft.library.reactive;
+
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.model.entity.BorrowEntry;
+import com.ft.library.reactive.model.entity.Member;
+import com.ft.library.reactive.repository.BookRepository;
+import com.ft.library.reactive.repository.BorrowRepository;
+import com.ft.library.reactive.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveBorrowFlowTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    private WebTestClient webTestClient;
+
+    private Book book;
+
+    private Member activeMember;
+
+    private Member suspendedMember;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + port + "/api").build();
+        book = bookRepository.nextId()
+                .flatMap(id -> bookRepository.save(Book.builder()
+                        .id(id)
+                        .title("Clean Code")
+                        .isbn("9780132350884")
+                        .author("Robert C. Martin")
+                        .quantityAvailable(1)
+                        .build()))
+                .block();
+        activeMember = memberRepository.save(member("fatih@gmail.com", MembershipStatus.ACTIVE)).block();
+        suspendedMember = memberRepository.save(member("john@gmail.com", MembershipStatus.SUSPENDED)).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowRepository.deleteAll()
+                .then(bookRepository.deleteAll())
+                .then(memberRepository.deleteAll())
+                .block();
+    }
+
+    @Test
+    void borrowThenReturn_shouldApplySharedRules() {
+        // given
+        Map<String, Long> request = Map.of("bookId", book.getId(), "memberId", activeMember.getId());
+
+        // when
+        webTestClient.post().uri("/v1/borrows")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.borrowStatus").isEqualTo("ACTIVE")
+                .jsonPath("$.data.book.quantityAvailable").isEqualTo(0)
+                .jsonPath("$.data.member.email").isEqualTo("fatih@gmail.com");
+        Long borrowId = borrowRepository.findAll().blockFirst().getId();
+
+        // then
+        webTestClient.post().uri("/v1/borrows")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Book is Already Borrowed by Member");
+
+        webTestClient.put().uri("/v1/borrows/return/{id}", borrowId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.borrowStatus").isEqualTo("RETURNED")
+                .jsonPath("$.data.book.quantityAvailable").isEqualTo(1);
+
+        webTestClient.put().uri("/v1/borrows/return/{id}", borrowId)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Book is Already Returned");
+    }
+
+    @Test
+    void borrow_shouldRecordWhenPenaltyAccrualIsFirstDue() {
+        webTestClient.post().uri("/v1/borrows")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("bookId", book.getId(), "memberId", activeMember.getId()))
+                .exchange()
+                .expectStatus().isOk();
+
+        BorrowEntry entry = borrowRepository.findAll().blockFirst();
+        assertEquals(BorrowRules.penaltyCurrentUntil(entry.getDueDate(), entry.getDueDate()), entry.getPenaltyAccruedUntil());
+    }
+
+    @Test
+    void returnBook_whenOverdue_shouldChargeConfiguredFeeTiers() {
+        // given: 50 cents for days 1-2, then 200 cents a day, so four days overdue is 5.00 rather than the default 4
+        LocalDateTime dueDate = LocalDateTime.now().minusDays(4).minusHours(1);
+        BorrowEntry overdue = borrowRepository.nextId()
+                .flatMap(id -> borrowRepository.save(BorrowEntry.builder()
+                        .id(id)
+                        .bookId(book.getId())
+                        .memberId(activeMember.getId())
+                        .borrowDate(dueDate.minusDays(BorrowRules.LOAN_DAYS))
+                        .dueDate(dueDate)
+                        .borrowStatus(BorrowStatus.ACTIVE)
+                        .penaltyAmount(BigDecimal.ZERO)
+                        .build()))
+                .block();
+
+        // when & then
+        webTestClient.put().uri("/v1/borrows/return/{id}", overdue.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.borrowStatus").isEqualTo("OVERDUE")
+                .jsonPath("$.data.penaltyAmount").isEqualTo(5);
+        assertEquals(500, borrowRepository.findById(overdue.getId()).block().getPenaltyCents());
+    }
+
+    @Test
+    void borrow_whenMemberSuspended_shouldRejectAndKeepStock() {
+        webTestClient.post().uri("/v1/borrows")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("bookId", book.getId(), "memberId", suspendedMember.getId()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Member Status is Suspended");
+
+        assertEquals(1, bookRepository.findById(book.getId()).block().getQuantityAvailable());
+    }
+
+    @Test
+    void getBookByIsbn_whenMissing_shouldReturnNotFound() {
+        webTestClient.get().uri("/v1/books/isbn/{isbn}", "9780134685991")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Book not found");
+    }
+
+    private static Member member(String email, MembershipStatus status) {
+        return Member.builder()
+                .firstName("Member")
+                .lastName(email)
+                .email(email)
+                .membershipDate(LocalDateTime.now())
+                .membershipStatus(status)
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.ft.library.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.reactive.model.entity.Book;
+import com.ft.library.reactive.model.entity.Member;
+import com.ft.library.reactive.repository.BookRepository;
+import com.ft.library.reactive.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Side-by-side load against the servlet app and this module on the same PostgreSQL database. Start library-api
+ * first (it owns the schema), then run e.g. {@code mvn test -Dtest=StackLoadComparisonTest
+ * -Dcompare.servlet-url=http://localhost:8080/api}; this module starts in-process with its default R2DBC settings.
+ * Both stacks get the same borrow/return and catalog read mix and the results print as one table.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "compare.servlet-url", matches = ".+")
+class StackLoadComparisonTest {
+
+    private static final int BORROWERS = 64;
+
+    private static final int READERS = 64;
+
+    private static final int READ_TITLES = 50;
+
+    private static final long WARMUP_MS = 2_000;
+
+    private static final long MEASURE_MS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void servletAndReactive_shouldServeSameMix() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        long hotBookId = saveBook(run, 0, 1_000_000);
+        List<Long> readBookIds = Flux.range(1, READ_TITLES)
+                .concatMap(i -> bookRepository.nextId().flatMap(id -> bookRepository.save(book(id, run, i, 10))))
+                .map(Book::getId)
+                .collectList()
+                .block();
+        List<Long> memberIds = Flux.range(0, BORROWERS * 2)
+                .concatMap(i -> memberRepository.save(Member.builder()
+                        .firstName("Load")
+                        .lastName(String.valueOf(i))
+                        .email("load-" + run + "-" + i + "@library.com")
+                        .membershipDate(LocalDateTime.now())
+                        .membershipStatus(MembershipStatus.ACTIVE)
+                        .build()))
+                .map(Member::getId)
+                .collectList()
+                .block();
+
+        // Separate members per stack, so a loan left open by one run cannot reject the other's borrows.
+        Result servlet = drive(System.getProperty("compare.servlet-url"), hotBookId, readBookIds,
+                memberIds.subList(0, BORROWERS));
+        Result reactive = drive("http://localhost:" + port + "/api", hotBookId, readBookIds,
+                memberIds.subList(BORROWERS, BORROWERS * 2));
+
+        System.out.printf("%-10s %14s %12s %12s %16s %12s %12s %8s%n",
+                "stack", "reads/s", "read p50", "read p99", "cycles/s", "cycle p50", "cycle p99", "errors");
+        servlet.print("servlet");
+        reactive.print("reactive");
+
+        assertFalse(servlet.reads.isEmpty());
+        assertFalse(reactive.reads.isEmpty());
+    }
+
+    private Result drive(String baseUrl, long hotBookId, List<Long> readBookIds, List<Long> memberIds) throws Exception {
+        Result result = new Result();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService clients = Executors.newFixedThreadPool(BORROWERS + READERS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Long memberId : memberIds) {
+                futures.add(clients.submit(() -> {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            JsonNode borrowed = send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/borrows"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(
+                                            "{\"bookId\":" + hotBookId + ",\"memberId\":" + memberId + "}"))
+                                    .build());
+                            send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/borrows/return/"
+                                            + borrowed.path("data").path("id").asLong()))
+                                    .PUT(HttpRequest.BodyPublishers.noBody())
+                                    .build());
+                            if (measuring.get()) {
+                                result.cycles.add(System.nanoTime() - start);
+                            }
+                        } catch (IOException | IllegalStateException e) {
+                            result.errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < READERS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (running.get()) {
+                        long bookId = readBookIds.get(ThreadLocalRandom.current().nextInt(readBookIds.size()));
+                        long start = System.nanoTime();
+                        try {
+                            send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/books/" + bookId)).GET().build());
+                            if (measuring.get()) {
+                                result.reads.add(System.nanoTime() - start);
+                            }
+                        } catch (IOException | IllegalStateException e) {
+                            result.errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            Thread.sleep(WARMUP_MS);
+            measuring.set(true);
+            Thread.sleep(MEASURE_MS);
+            measuring.set(false);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            running.set(false);
+            clients.shutdown();
+        }
+        return result;
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private long saveBook(String run, int index, int quantity) {
+        return bookRepository.nextId()
+                .flatMap(id -> bookRepository.save(book(id, run, index, quantity)))
+                .map(Book::getId)
+                .block();
+    }
+
+    private static Book book(long id, String run, int index, int quantity) {
+        return Book.builder()
+                .id(id)
+                .title("Load " + run + " " + index)
+                .isbn("load-" + run + "-" + index)
+                .author("Load")
+                .quantityAvailable(quantity)
+                .build();
+    }
+
+    private static final class Result {
+
+        private final Queue<Long> reads = new ConcurrentLinkedQueue<>();
+
+        private final Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger errors = new AtomicInteger();
+
+        void print(String stack) {
+            System.out.printf("%-10s %14.0f %10.1fms %10.1fms %16.0f %10.1fms %10.1fms %8d%n",
+                    stack,
+                    reads.size() / (MEASURE_MS / 1e3), percentileMillis(reads, 0.50), percentileMillis(reads, 0.99),
+                    cycles.size() / (MEASURE_MS / 1e3), percentileMillis(cycles, 0.50), percentileMillis(cycles, 0.99),
+                    errors.get());
+        }
+
+        private static double percentileMillis(Queue<Long> latencies, double percentile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return sorted[(int) Math.ceil(sorted.length * percentile) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.ft.library.config;
+
+public enum ConcurrencyMode {
+    CONDITIONAL_UPDATE,
+    OPTIMISTIC
+}
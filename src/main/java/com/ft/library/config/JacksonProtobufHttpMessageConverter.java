@@ -0,0 +1,105 @@
+package com.ft.library.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protocol Buffers bodies for the same DTOs and entities the JSON endpoints use, with no generated classes:
+ * the message schema is derived from the declared Java type (e.g. {@code ApiResponse<List<Book>>}), with fields
+ * numbered in property order, and cached per type. Consumers get the matching {@code .proto} from
+ * {@link ProtobufSchema#getSource()}. A type whose schema cannot be derived, such as a raw
+ * {@code ApiResponse<?>} or a top-level list, is reported as not writable, so negotiation falls through to the
+ * other converters instead of failing mid-response.
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ProtobufMapper mapper;
+
+    private final Map<JavaType, Optional<ProtobufSchema>> schemas = new ConcurrentHashMap<>();
+
+    public JacksonProtobufHttpMessageConverter(ProtobufMapper mapper) {
+        super(MediaType.parseMediaType(WireFormatConfig.PROTOBUF_VALUE));
+        this.mapper = mapper;
+    }
+
+    /**
+     * Schema for {@code type}, or null when it has no protobuf form.
+     */
+    @Nullable
+    public ProtobufSchema schemaFor(Type type) {
+        return schemas.computeIfAbsent(mapper.constructType(type), javaType -> {
+            try {
+                return Optional.of(mapper.generateSchemaFor(javaType));
+            } catch (IOException | RuntimeException e) {
+                logger.debug("No protobuf schema for " + javaType, e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemaFor(clazz) != null;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return canRead(mediaType) && schemaFor(resolve(type, contextClass)) != null;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && schemaFor(writeType(type, clazz)) != null;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(resolve(type, contextClass), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Type writeType = writeType(type, value.getClass());
+        mapper.writerFor(mapper.constructType(writeType))
+                .with(schemaFor(writeType))
+                .writeValue(StreamUtils.nonClosing(outputMessage.getBody()), value);
+    }
+
+    private Object read(Type type, HttpInputMessage inputMessage) throws IOException {
+        ProtobufSchema schema = schemaFor(type);
+        if (schema == null) {
+            throw new HttpMessageNotReadableException("No Protobuf Schema For " + type, inputMessage);
+        }
+        return mapper.readerFor(mapper.constructType(type)).with(schema).readValue(inputMessage.getBody());
+    }
+
+    private static Type resolve(Type type, @Nullable Class<?> contextClass) {
+        return GenericTypeResolver.resolveType(type, contextClass);
+    }
+
+    // A wildcard return type such as ResponseEntity<?> declares nothing useful; fall back to the runtime class.
+    private static Type writeType(@Nullable Type type, Class<?> clazz) {
+        return type == null || type instanceof WildcardType || type == Object.class ? clazz : type;
+    }
+}
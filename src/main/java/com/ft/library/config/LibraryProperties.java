@@ -0,0 +1,149 @@
+package com.ft.library.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "library")
+public class LibraryProperties {
+
+    private Catalog catalog = new Catalog();
+
+    private Borrow borrow = new Borrow();
+
+    private Members members = new Members();
+
+    private Threads threads = new Threads();
+
+    private Penalties penalties = new Penalties();
+
+    @Getter
+    @Setter
+    public static class Catalog {
+        private int defaultPageSize = 20;
+        private int maxPageSize = 100;
+        private int streamFetchSize = 500;
+        private int importBatchSize = 500;
+        private int importMaxReportedRejections = 100;
+        private int searchDefaultSize = 20;
+        private int searchMaxSize = 100;
+        private Cache cache = new Cache();
+        private Suggest suggest = new Suggest();
+        private Snapshot snapshot = new Snapshot();
+    }
+
+    @Getter
+    @Setter
+    public static class Suggest {
+        private int topN = 10;
+        private long refreshIntervalMs = 10_000;
+        private long maxAgeMs = 600_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        private boolean enabled = false;
+        private boolean gzip = true;
+        private long refreshIntervalMs = 250;
+        private long debounceMs = 1_000;
+        private long maxStalenessMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        private long ttlSeconds = 300;
+    }
+
+    @Getter
+    @Setter
+    public static class Members {
+        private Cache cache = new Cache();
+        private EmailFilter emailFilter = new EmailFilter();
+        private int historyDefaultPageSize = 20;
+        private int historyMaxPageSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class EmailFilter {
+        private boolean enabled = true;
+        private double falsePositiveRate = 0.01;
+        private long minCapacity = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Threads {
+        private boolean pinningMonitorEnabled = true;
+        private long pinningThresholdMs = 20;
+        private int pinningMaxSites = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Borrow {
+        private ConcurrencyMode concurrencyMode = ConcurrencyMode.CONDITIONAL_UPDATE;
+        private boolean stripedLockEnabled = false;
+        private int lockStripes = 256;
+        private int maxAttempts = 5;
+        private long retryBaseDelayMs = 5;
+        private long retryMaxDelayMs = 100;
+        private int maxBatchSize = 50;
+        private GroupCommit groupCommit = new GroupCommit();
+        private OverdueSweep overdueSweep = new OverdueSweep();
+    }
+
+    @Getter
+    @Setter
+    public static class GroupCommit {
+        private boolean enabled = false;
+        private long windowMs = 5;
+        private int maxItems = 50;
+        private long timeoutMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class OverdueSweep {
+        private boolean enabled = true;
+        private long intervalMs = 60_000;
+        private int chunkSize = 5_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Penalties {
+        private List<FeeTier> tiers = new ArrayList<>(List.of(new FeeTier(1, 100)));
+        private int tableDays = 366;
+        private long capCents = 0;
+        private Accrual accrual = new Accrual();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FeeTier {
+        private int fromDay;
+        private long centsPerDay;
+    }
+
+    @Getter
+    @Setter
+    public static class Accrual {
+        private boolean enabled = true;
+        private long intervalMs = 3_600_000;
+        private int chunkSize = 5_000;
+    }
+}
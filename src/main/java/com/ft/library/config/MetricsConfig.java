@@ -0,0 +1,62 @@
+package com.ft.library.config;
+
+import com.ft.library.util.QueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hooks Hibernate into {@link QueryCounter} and registers the filter that turns its counts into per-request
+ * metrics. Endpoint and service-method timings come from Actuator and {@code @Timed}; everything is scraped
+ * from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        StatementInspector statementInspector = sql -> {
+            QueryCounter.statementPrepared();
+            return sql;
+        };
+        Integrator entityLoadIntegrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry()
+                        .getService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> QueryCounter.entityLoaded());
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(entityLoadIntegrator));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestQueryMetricsFilter> requestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new RequestQueryMetricsFilter(meterRegistry));
+    }
+}
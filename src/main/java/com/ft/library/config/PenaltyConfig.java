@@ -0,0 +1,23 @@
+package com.ft.library.config;
+
+import com.ft.library.domain.FeeSchedule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compiles the configured fee tiers once at startup; returns and the accrual engine share the table.
+ */
+@Configuration
+public class PenaltyConfig {
+
+    @Bean
+    public FeeSchedule feeSchedule(LibraryProperties libraryProperties) {
+        LibraryProperties.Penalties penalties = libraryProperties.getPenalties();
+        return FeeSchedule.compile(
+                penalties.getTiers().stream()
+                        .map(tier -> new FeeSchedule.Tier(tier.getFromDay(), tier.getCentsPerDay()))
+                        .toList(),
+                penalties.getTableDays(),
+                penalties.getCapCents());
+    }
+}
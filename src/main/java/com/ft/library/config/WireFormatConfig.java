@@ -0,0 +1,54 @@
+package com.ft.library.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary encodings of the same {@code ApiResponse} bodies for batch consumers, picked by {@code Accept} (and
+ * {@code Content-Type} for request bodies): CBOR, Smile and schema-derived Protocol Buffers. All three mappers
+ * come from Boot's Jackson builder, so they share the JSON mapper's modules and date settings. They are
+ * appended after the JSON converter, which keeps JSON the answer to a missing or wildcard {@code Accept}.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String PROTOBUF_VALUE = "application/x-protobuf";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        this.objectMapperBuilders = objectMapperBuilders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring registers its own CBOR and Smile converters when the formats are on the class path; replace them
+        // with ones built from the configured builder.
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(builder().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builder().factory(new SmileFactory()).build()));
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        builder().configure(protobufMapper);
+        converters.add(new JacksonProtobufHttpMessageConverter(protobufMapper));
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        return objectMapperBuilders.getIfAvailable(Jackson2ObjectMapperBuilder::new);
+    }
+}
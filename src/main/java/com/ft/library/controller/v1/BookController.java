@@ -1,13 +1,27 @@
 package com.ft.library.controller.v1;
 
+import com.ft.library.config.WireFormatConfig;
 import com.ft.library.model.dto.request.CreateBookRequest;
 import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.dto.response.BookImportSummary;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.ImportFormat;
 import com.ft.library.service.BookService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -17,15 +31,73 @@ public class BookController {
 
     private final BookService bookService;
 
+    // A matching If-None-Match is answered with 304 from the in-memory catalog version alone; returning null
+    // lets Spring send it without a body, and otherwise the same call sets ETag and Last-Modified on the 200.
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Book>>> getAllBook() {
-        List<Book> allBook = bookService.getAllBook();
-        return ResponseEntity.ok(ApiResponse.of("Success", "Success", allBook));
+    public ResponseEntity<?> getAllBook(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                        String acceptEncoding, WebRequest webRequest, HttpServletResponse response) {
+        varyByAccept(response);
+        CatalogSnapshot snapshot = bookService.getCatalogSnapshot();
+        if (snapshot != null) {
+            return snapshotResponse(snapshot, acceptEncoding, webRequest);
+        }
+        return catalogResponse(webRequest);
+    }
+
+    // The snapshot holds JSON only, and the protobuf schema needs the declared element type, so the binary
+    // encodings get their own mapping; it only wins when one of them is asked for explicitly.
+    @GetMapping(produces = {WireFormatConfig.CBOR_VALUE, WireFormatConfig.SMILE_VALUE,
+            WireFormatConfig.PROTOBUF_VALUE})
+    public ResponseEntity<ApiResponse<List<Book>>> getAllBookEncoded(WebRequest webRequest,
+                                                                     HttpServletResponse response) {
+        varyByAccept(response);
+        return catalogResponse(webRequest);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<PageResponse<Book>>> getBookPage(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer size) {
+        PageResponse<Book> bookPage = bookService.getBookPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", bookPage));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<Book>>> searchBooks(@RequestParam String q,
+                                                               @RequestParam(required = false) Integer size) {
+        List<Book> books = bookService.searchBooks(q, size);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", books));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<BookSuggestion>>> suggestBooks(@RequestParam String prefix,
+                                                                          @RequestParam(required = false) Integer size) {
+        List<BookSuggestion> suggestions = bookService.suggestBooks(prefix, size);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", suggestions));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllBook() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bookService::streamAllBook);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<BookCacheStats>> getCacheStats() {
+        BookCacheStats cacheStats = bookService.getCacheStats();
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", cacheStats));
     }
 
+    // Resolved before the ETag check so an unknown id is a 404 whatever tag the client sends; the lookup is
+    // usually a cache hit, and a matching tag still skips writing the body.
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Book>> getBookById(@PathVariable long id) {
+    public ResponseEntity<ApiResponse<Book>> getBookById(@PathVariable long id, WebRequest webRequest,
+                                                         HttpServletResponse response) {
+        varyByAccept(response);
         Book bookById = bookService.getBookById(id);
+        if (webRequest.checkNotModified(bookService.getBookETag(id), bookService.getCatalogLastModified())) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", bookById));
     }
 
@@ -41,9 +113,76 @@ public class BookController {
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", null));
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<BookImportSummary>> importBooksFromCsv(InputStream body) throws IOException {
+        BookImportSummary summary = bookService.importBooks(body, ImportFormat.CSV);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", summary));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ApiResponse<BookImportSummary>> importBooksFromNdjson(InputStream body) throws IOException {
+        BookImportSummary summary = bookService.importBooks(body, ImportFormat.NDJSON);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", summary));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<?>> updateBook(@PathVariable long id, @RequestBody CreateBookRequest body) {
         bookService.updateBook(id, body);
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", null));
     }
+
+    private ResponseEntity<ApiResponse<List<Book>>> catalogResponse(WebRequest webRequest) {
+        if (webRequest.checkNotModified(bookService.getCatalogETag(), bookService.getCatalogLastModified())) {
+            return null;
+        }
+        List<Book> allBook = bookService.getAllBook();
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", allBook));
+    }
+
+    // JSON and the binary encodings share one ETag, so a shared cache has to key the stored response on Accept
+    // too. Set on the servlet response so the 304 carries it as well.
+    private static void varyByAccept(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    // The snapshot is validated against its own ETag, which may trail the live catalog until the next rebuild.
+    private static ResponseEntity<byte[]> snapshotResponse(CatalogSnapshot snapshot, String acceptEncoding,
+                                                           WebRequest webRequest) {
+        if (webRequest.checkNotModified(snapshot.getEtag(), snapshot.getLastModified())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+    // An explicit "gzip;q=0" wins over a wildcard, as RFC 9110 ranks the specific coding first.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase();
+                if (parameter.startsWith("q=")) {
+                    accepted = !parameter.substring(2).trim().matches("0(\\.0*)?");
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
 }
@@ -1,14 +1,21 @@
 package com.ft.library.controller.v1;
 
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
 import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.request.ReturnBatchRequest;
 
 import com.ft.library.model.dto.response.ApiResponse;
-import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
 import com.ft.library.service.BorrowService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/borrows")
 @RequiredArgsConstructor
@@ -17,14 +24,32 @@ public class BorrowController {
     private final BorrowService borrowService;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<BorrowEntry>> borrowBook(@RequestBody CreateBorrowRequest request) {
-        BorrowEntry response = borrowService.borrowBook(request);
+    public ResponseEntity<ApiResponse<BorrowResponse>> borrowBook(@RequestBody CreateBorrowRequest request) {
+        BorrowResponse response = borrowService.borrowBook(request);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", response));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BorrowItemResult>>> borrowBooks(@RequestBody CreateBatchBorrowRequest request) {
+        List<BorrowItemResult> response = borrowService.borrowBooks(request);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", response));
+    }
+
+    @PutMapping("/return/batch")
+    public ResponseEntity<ApiResponse<List<ReturnItemResult>>> returnBooks(@RequestBody ReturnBatchRequest request) {
+        List<ReturnItemResult> response = borrowService.returnBooks(request.getBorrowIds());
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", response));
     }
 
     @PutMapping("/return/{borrowId}")
-    public ResponseEntity<ApiResponse<BorrowEntry>> returnBook(@PathVariable long borrowId) {
-        BorrowEntry response = borrowService.returnBook(borrowId);
+    public ResponseEntity<ApiResponse<BorrowResponse>> returnBook(@PathVariable long borrowId) {
+        BorrowResponse response = borrowService.returnBook(borrowId);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", response));
+    }
+
+    @GetMapping("/members/{memberId}/penalty")
+    public ResponseEntity<ApiResponse<OutstandingPenaltyResponse>> getOutstandingPenalty(@PathVariable long memberId) {
+        OutstandingPenaltyResponse response = borrowService.getOutstandingPenalty(memberId);
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", response));
     }
 }
@@ -0,0 +1,22 @@
+package com.ft.library.controller.v1;
+
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.PinningReport;
+import com.ft.library.service.DiagnosticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final DiagnosticsService diagnosticsService;
+
+    @GetMapping("/pinning")
+    public ResponseEntity<ApiResponse<PinningReport>> getPinningReport() {
+        PinningReport pinningReport = diagnosticsService.getPinningReport();
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", pinningReport));
+    }
+}
@@ -1,13 +1,21 @@
 package com.ft.library.controller.v1;
 
 import com.ft.library.model.dto.request.CreateMemberRequest;
+import com.ft.library.model.dto.request.UpdateMembershipStatusRequest;
 import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.service.BorrowService;
 import com.ft.library.service.MemberService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/v1/members")
 @RequiredArgsConstructor
@@ -15,6 +23,8 @@ public class MemberController {
 
     private final MemberService memberService;
 
+    private final BorrowService borrowService;
+
     @PostMapping
     public ResponseEntity<ApiResponse<?>> createMember(@RequestBody CreateMemberRequest createMemberRequest) {
         memberService.createMember(createMemberRequest);
@@ -27,10 +37,28 @@ public class MemberController {
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", memberById));
     }
 
+    @GetMapping("/{id}/borrows")
+    public ResponseEntity<ApiResponse<PageResponse<MemberLoanResponse>>> getMemberLoans(
+            @PathVariable long id,
+            @RequestParam(required = false) BorrowStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<MemberLoanResponse> loanPage = borrowService.getMemberLoans(id, status, from, to, cursor, size);
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", loanPage));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<?>> updateMember(@PathVariable long id, @RequestBody CreateMemberRequest createMemberRequest) {
         memberService.updateMember(id, createMemberRequest);
         return ResponseEntity.ok(ApiResponse.of("Success", "Success", null));
     }
 
+    @PutMapping("/{id}/status")
+    public ResponseEntity<ApiResponse<?>> updateMembershipStatus(@PathVariable long id, @RequestBody UpdateMembershipStatusRequest request) {
+        memberService.updateMembershipStatus(id, request.getMembershipStatus());
+        return ResponseEntity.ok(ApiResponse.of("Success", "Success", null));
+    }
+
 }
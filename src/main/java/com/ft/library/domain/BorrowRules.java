@@ -0,0 +1,66 @@
+package com.ft.library.domain;
+
+import com.ft.library.model.enums.BorrowStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Loan rules shared by every borrow/return implementation: the loan period, the overdue penalty and the
+ * rejection messages clients see. Kept free of Spring and persistence types so other stacks can reuse it.
+ */
+public final class BorrowRules {
+
+    public static final int LOAN_DAYS = 7;
+
+    public static final String ALREADY_BORROWED = "Book is Already Borrowed by Member";
+
+    public static final String STOCK_NOT_AVAILABLE = "Book Stock Not Available";
+
+    public static final String MEMBER_SUSPENDED = "Member Status is Suspended";
+
+    public static final String BORROW_RECORD_NOT_FOUND = "Borrow Record Not Found";
+
+    public static final String ALREADY_RETURNED = "Book is Already Returned";
+
+    private BorrowRules() {
+    }
+
+    public static LocalDateTime dueDate(LocalDateTime borrowDate) {
+        return borrowDate.plusDays(LOAN_DAYS);
+    }
+
+    public static boolean isOverdue(LocalDateTime dueDate, LocalDateTime returnDate) {
+        return dueDate.isBefore(returnDate);
+    }
+
+    /**
+     * Whole days past the due date, so a return less than a day late is overdue but not charged.
+     */
+    public static long daysOverdue(LocalDateTime dueDate, LocalDateTime returnDate) {
+        return isOverdue(dueDate, returnDate) ? dueDate.until(returnDate, ChronoUnit.DAYS) : 0;
+    }
+
+    /**
+     * The moment a penalty computed at {@code now} stops being current: the next whole day past the due date.
+     */
+    public static LocalDateTime penaltyCurrentUntil(LocalDateTime dueDate, LocalDateTime now) {
+        return dueDate.plusDays(daysOverdue(dueDate, now) + 1);
+    }
+
+    /**
+     * The penalty under the {@link FeeSchedule#DEFAULT default schedule}, one unit per whole day overdue.
+     */
+    public static BigDecimal penalty(LocalDateTime dueDate, LocalDateTime returnDate) {
+        return penalty(FeeSchedule.DEFAULT, dueDate, returnDate);
+    }
+
+    public static BigDecimal penalty(FeeSchedule feeSchedule, LocalDateTime dueDate, LocalDateTime returnDate) {
+        return FeeSchedule.toAmount(feeSchedule.centsFor(daysOverdue(dueDate, returnDate)));
+    }
+
+    public static BorrowStatus returnStatus(LocalDateTime dueDate, LocalDateTime returnDate) {
+        return isOverdue(dueDate, returnDate) ? BorrowStatus.OVERDUE : BorrowStatus.RETURNED;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ft.library.domain;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tiered overdue fees compiled into a table of cumulative fees by days overdue, in cents, so a loan's penalty is
+ * one array read. A tier charges its daily rate from its first day until the next tier starts; days before the
+ * first tier are free, the last tier's rate continues past the end of the table, and totals stop at the cap when
+ * one is set.
+ */
+public final class FeeSchedule {
+
+    /**
+     * One unit per whole day overdue, uncapped.
+     */
+    public static final FeeSchedule DEFAULT = compile(List.of(new Tier(1, 100)), 366, 0);
+
+    private final long[] cumulativeCents;
+
+    private final long tailCentsPerDay;
+
+    private final long capCents;
+
+    private FeeSchedule(long[] cumulativeCents, long tailCentsPerDay, long capCents) {
+        this.cumulativeCents = cumulativeCents;
+        this.tailCentsPerDay = tailCentsPerDay;
+        this.capCents = capCents;
+    }
+
+    /**
+     * @param tableDays days to precompute; raised to the start of the last tier if that is later
+     * @param capCents  largest penalty for one loan, or 0 for none
+     */
+    public static FeeSchedule compile(List<Tier> tiers, int tableDays, long capCents) {
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one fee tier is required");
+        }
+        List<Tier> ordered = tiers.stream().sorted(Comparator.comparingInt(Tier::fromDay)).toList();
+        Tier lastTier = ordered.get(ordered.size() - 1);
+        long[] table = new long[Math.max(Math.max(1, tableDays), lastTier.fromDay()) + 1];
+        int tier = -1;
+        for (int day = 1; day < table.length; day++) {
+            while (tier + 1 < ordered.size() && ordered.get(tier + 1).fromDay() <= day) {
+                tier++;
+            }
+            long rate = tier < 0 ? 0 : ordered.get(tier).centsPerDay();
+            table[day] = capped(table[day - 1] + rate, capCents);
+        }
+        return new FeeSchedule(table, lastTier.centsPerDay(), capCents);
+    }
+
+    public long centsFor(long daysOverdue) {
+        if (daysOverdue <= 0) {
+            return 0;
+        }
+        int lastDay = cumulativeCents.length - 1;
+        if (daysOverdue <= lastDay) {
+            return cumulativeCents[(int) daysOverdue];
+        }
+        return capped(cumulativeCents[lastDay] + (daysOverdue - lastDay) * tailCentsPerDay, capCents);
+    }
+
+    /**
+     * The client-facing amount: whole units without a fraction, as penalties have always been reported.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return cents % 100 == 0 ? BigDecimal.valueOf(cents / 100) : BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long capped(long cents, long capCents) {
+        return capCents > 0 ? Math.min(cents, capCents) : cents;
+    }
+
+    public record Tier(int fromDay, long centsPerDay) {
+    }
+}
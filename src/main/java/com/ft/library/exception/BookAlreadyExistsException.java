@@ -0,0 +1,7 @@
+package com.ft.library.exception;
+
+public class BookAlreadyExistsException extends RuntimeException {
+    public BookAlreadyExistsException(String message) {
+        super(message);
+    }
+}
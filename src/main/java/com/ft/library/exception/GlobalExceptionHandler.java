@@ -1,6 +1,7 @@
 package com.ft.library.exception;
 
 import com.ft.library.model.dto.response.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,6 +28,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(existsResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(BookAlreadyExistsException.class)
+    public ResponseEntity<ApiResponse<?>> handleBookAlreadyExistsException(BookAlreadyExistsException e) {
+        ApiResponse<?> existsResponse = ApiResponse.of("Error", e.getMessage(), null);
+        return new ResponseEntity<>(existsResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BookNotAvailableException.class)
     public ResponseEntity<ApiResponse<?>> handleBookNotAvailableException(BookNotAvailableException e) {
         ApiResponse<?> existsResponse = ApiResponse.of("Error", e.getMessage(), null);
@@ -39,6 +46,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(existsResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidCursorException(InvalidCursorException e) {
+        ApiResponse<?> badRequestResponse = ApiResponse.of("Error", e.getMessage(), null);
+        return new ResponseEntity<>(badRequestResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidBatchRequestException(InvalidBatchRequestException e) {
+        ApiResponse<?> badRequestResponse = ApiResponse.of("Error", e.getMessage(), null);
+        return new ResponseEntity<>(badRequestResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        ApiResponse<?> conflictResponse = ApiResponse.of("Error", "Concurrent Update, Please Retry", null);
+        return new ResponseEntity<>(conflictResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<?>> handleUndefinedException(RuntimeException e) {
         ApiResponse<?> exceptionResponse = ApiResponse.of("Error", "Something Went Wrong", null);
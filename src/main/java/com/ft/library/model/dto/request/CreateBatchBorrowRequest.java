@@ -0,0 +1,13 @@
+package com.ft.library.model.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CreateBatchBorrowRequest {
+    private Long memberId;
+    private List<Long> bookIds;
+}
@@ -0,0 +1,14 @@
+package com.ft.library.model.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnBatchRequest {
+    private List<Long> borrowIds;
+}
@@ -0,0 +1,13 @@
+package com.ft.library.model.dto.request;
+
+import com.ft.library.model.enums.MembershipStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateMembershipStatusRequest {
+    private MembershipStatus membershipStatus;
+}
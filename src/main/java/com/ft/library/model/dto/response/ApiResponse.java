@@ -2,9 +2,11 @@ package com.ft.library.model.dto.response;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 public class ApiResponse<T> {
 
     private String status;
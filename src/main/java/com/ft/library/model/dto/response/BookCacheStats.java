@@ -0,0 +1,16 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BookCacheStats {
+
+    private boolean enabled;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+}
@@ -0,0 +1,12 @@
+package com.ft.library.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookImportRejection {
+
+    private long line;
+    private String reason;
+}
@@ -0,0 +1,17 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BookImportSummary {
+
+    private long inserted;
+    private long updated;
+    private long duplicates;
+    private long rejected;
+    private List<BookImportRejection> rejections;
+}
@@ -0,0 +1,15 @@
+package com.ft.library.model.dto.response;
+
+import com.ft.library.model.enums.SuggestionField;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BookSuggestion {
+
+    private String text;
+    private SuggestionField field;
+    private Long bookId;
+    private long borrowCount;
+}
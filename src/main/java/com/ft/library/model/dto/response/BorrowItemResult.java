@@ -0,0 +1,31 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BorrowItemResult {
+
+    private Long bookId;
+    private String status;
+    private String message;
+    private BorrowResponse borrow;
+
+    public static BorrowItemResult success(Long bookId, BorrowResponse borrow) {
+        return BorrowItemResult.builder()
+                .bookId(bookId)
+                .status("Success")
+                .message("Success")
+                .borrow(borrow)
+                .build();
+    }
+
+    public static BorrowItemResult error(Long bookId, String message) {
+        return BorrowItemResult.builder()
+                .bookId(bookId)
+                .status("Error")
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ft.library.model.dto.response;
+
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.enums.BorrowStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A loan as clients see it: the book and member by id only, so building one never loads either association.
+ */
+@Getter
+@Builder
+public class BorrowResponse {
+
+    private Long id;
+    private Long bookId;
+    private Long memberId;
+    private LocalDateTime borrowDate;
+    private LocalDateTime dueDate;
+    private LocalDateTime returnDate;
+    private BorrowStatus borrowStatus;
+    private BigDecimal penaltyAmount;
+
+    public static BorrowResponse from(BorrowEntry borrowEntry) {
+        return BorrowResponse.builder()
+                .id(borrowEntry.getId())
+                .bookId(borrowEntry.getBook() == null ? null : borrowEntry.getBook().getId())
+                .memberId(borrowEntry.getMember() == null ? null : borrowEntry.getMember().getId())
+                .borrowDate(borrowEntry.getBorrowDate())
+                .dueDate(borrowEntry.getDueDate())
+                .returnDate(borrowEntry.getReturnDate())
+                .borrowStatus(borrowEntry.getBorrowStatus())
+                .penaltyAmount(borrowEntry.getPenaltyAmount())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CatalogSnapshot {
+
+    private byte[] json;
+    private byte[] gzip;
+    private String etag;
+    private long lastModified;
+    private long builtAtMillis;
+}
@@ -0,0 +1,39 @@
+package com.ft.library.model.dto.response;
+
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.enums.BorrowStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a member's loan history: the loan and its book's title, read from a book fetched with the loan.
+ */
+@Getter
+@Builder
+public class MemberLoanResponse {
+
+    private Long id;
+    private Long bookId;
+    private String bookTitle;
+    private LocalDateTime borrowDate;
+    private LocalDateTime dueDate;
+    private LocalDateTime returnDate;
+    private BorrowStatus borrowStatus;
+    private BigDecimal penaltyAmount;
+
+    public static MemberLoanResponse from(BorrowEntry borrowEntry) {
+        return MemberLoanResponse.builder()
+                .id(borrowEntry.getId())
+                .bookId(borrowEntry.getBook().getId())
+                .bookTitle(borrowEntry.getBook().getTitle())
+                .borrowDate(borrowEntry.getBorrowDate())
+                .dueDate(borrowEntry.getDueDate())
+                .returnDate(borrowEntry.getReturnDate())
+                .borrowStatus(borrowEntry.getBorrowStatus())
+                .penaltyAmount(borrowEntry.getPenaltyAmount())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+public class OutstandingPenaltyResponse {
+
+    private long memberId;
+    private long openLoans;
+    private BigDecimal penaltyAmount;
+}
@@ -0,0 +1,21 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class PageResponse<T> {
+
+    private List<T> items;
+    private String next;
+
+    public static <T> PageResponse<T> of(List<T> items, String next) {
+        return PageResponse.<T>builder()
+                .items(items)
+                .next(next)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class PinningReport {
+
+    private boolean virtualThreads;
+    private boolean monitoring;
+    private long thresholdMillis;
+    private long events;
+    private List<PinningSiteReport> sites;
+}
@@ -0,0 +1,14 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PinningSiteReport {
+
+    private String frame;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+}
@@ -0,0 +1,31 @@
+package com.ft.library.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ReturnItemResult {
+
+    private Long borrowId;
+    private String status;
+    private String message;
+    private BorrowResponse borrow;
+
+    public static ReturnItemResult success(Long borrowId, BorrowResponse borrow) {
+        return ReturnItemResult.builder()
+                .borrowId(borrowId)
+                .status("Success")
+                .message("Success")
+                .borrow(borrow)
+                .build();
+    }
+
+    public static ReturnItemResult error(Long borrowId, String message) {
+        return ReturnItemResult.builder()
+                .borrowId(borrowId)
+                .status("Error")
+                .message(message)
+                .build();
+    }
+}
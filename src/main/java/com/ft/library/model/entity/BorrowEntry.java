@@ -1,5 +1,6 @@
 package com.ft.library.model.entity;
 
+import com.ft.library.domain.BorrowRules;
 import com.ft.library.model.enums.BorrowStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,14 +18,15 @@ import java.time.LocalDateTime;
 public class BorrowEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrow_entries_seq")
+    @SequenceGenerator(name = "borrow_entries_seq", sequenceName = "borrow_entries_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(cascade = {CascadeType.MERGE})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE})
     @JoinColumn(name = "book_id")
     private Book book;
 
-    @ManyToOne(cascade = {CascadeType.MERGE})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE})
     @JoinColumn(name = "member_id")
     private Member member;
 
@@ -44,4 +46,20 @@ public class BorrowEntry {
     @Column(name = "penalty_amount")
     private BigDecimal penaltyAmount;
 
+    @Column(name = "penalty_cents")
+    private long penaltyCents;
+
+    @Column(name = "penalty_accrued_until")
+    private LocalDateTime penaltyAccruedUntil;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @PrePersist
+    void initPenaltyAccruedUntil() {
+        if (penaltyAccruedUntil == null && dueDate != null) {
+            penaltyAccruedUntil = BorrowRules.penaltyCurrentUntil(dueDate, dueDate);
+        }
+    }
 }
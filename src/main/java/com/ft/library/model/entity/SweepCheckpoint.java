@@ -0,0 +1,33 @@
+package com.ft.library.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where a chunked sweep stopped: the key of the last row it covered, in the order it walks the table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "sweep_checkpoints")
+public class SweepCheckpoint {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "last_due_date")
+    private LocalDateTime lastDueDate;
+
+    @Column(name = "last_id")
+    private Long lastId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+}
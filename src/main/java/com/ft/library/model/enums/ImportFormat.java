@@ -0,0 +1,6 @@
+package com.ft.library.model.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -1,16 +1,52 @@
 package com.ft.library.repository;
 
 import com.ft.library.model.entity.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
 
     Optional<Book> findBookById(Long id);
 
     Optional<Book> findBookByIsbn(String isbn);
 
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Book> findAllByIsbnIn(Collection<String> isbns);
+
+    @Query("SELECT COALESCE(SUM(b.quantityAvailable), 0) FROM Book b")
+    long sumQuantityAvailable();
+
+    long countByQuantityAvailableLessThanEqual(Integer quantityAvailable);
+
+    /**
+     * Takes one copy out of stock only if one is left. Returns the number of rows changed, so 0 means
+     * the book is missing or out of stock. The persistence context is cleared afterwards because any
+     * managed {@link Book} still holds the pre-update quantity.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.quantityAvailable = b.quantityAvailable - 1, b.version = b.version + 1 WHERE b.id = :id AND b.quantityAvailable > 0")
+    int decrementQuantityAvailable(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.quantityAvailable = b.quantityAvailable + 1, b.version = b.version + 1 WHERE b.id = :id")
+    int incrementQuantityAvailable(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.quantityAvailable = b.quantityAvailable + :count, b.version = b.version + 1 WHERE b.id IN :ids")
+    int incrementQuantityAvailable(@Param("ids") Collection<Long> ids, @Param("count") int count);
+
 }
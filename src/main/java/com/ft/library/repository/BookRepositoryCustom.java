@@ -0,0 +1,17 @@
+package com.ft.library.repository;
+
+import com.ft.library.model.entity.Book;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+public interface BookRepositoryCustom {
+
+    void streamAll(int fetchSize, Consumer<Book> consumer);
+
+    void streamIsbns(int fetchSize, ObjLongConsumer<String> consumer);
+
+    int[] decrementQuantityAvailableBatch(List<Long> ids);
+
+}
@@ -0,0 +1,90 @@
+package com.ft.library.repository;
+
+import com.ft.library.model.entity.Book;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String STREAM_ALL_SQL =
+            "SELECT id, title, isbn, author, quantity_available FROM books ORDER BY id";
+
+    private static final String STREAM_ISBNS_SQL = "SELECT id, isbn FROM books WHERE isbn IS NOT NULL";
+
+    private static final String DECREMENT_SQL =
+            "UPDATE books SET quantity_available = quantity_available - 1, version = version + 1 "
+                    + "WHERE id = ? AND quantity_available > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Walks the catalog with a forward-only JDBC cursor, bypassing the persistence context so rows
+     * are handed to the consumer one at a time. PostgreSQL only honours the fetch size inside a
+     * transaction, so callers should be {@code @Transactional}.
+     */
+    @Override
+    public void streamAll(int fetchSize, Consumer<Book> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    STREAM_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(Book.builder()
+                .id(resultSet.getLong("id"))
+                .title(resultSet.getString("title"))
+                .isbn(resultSet.getString("isbn"))
+                .author(resultSet.getString("author"))
+                .quantityAvailable(resultSet.getObject("quantity_available", Integer.class))
+                .build()));
+    }
+
+    /**
+     * Same cursor walk as {@link #streamAll(int, Consumer)} over just the (isbn, id) pairs, for rebuilding
+     * the in-memory ISBN index without materialising entities.
+     */
+    @Override
+    public void streamIsbns(int fetchSize, ObjLongConsumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    STREAM_ISBNS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getString("isbn"), resultSet.getLong("id")));
+    }
+
+    /**
+     * Batched form of {@link BookRepository#decrementQuantityAvailable(Long)}: one round trip, one update
+     * count per id. Pending changes are flushed first and the persistence context is cleared afterwards,
+     * matching the single-row query.
+     */
+    @Override
+    public int[] decrementQuantityAvailableBatch(List<Long> ids) {
+        entityManager.flush();
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, ids.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+        entityManager.clear();
+        return counts;
+    }
+}
@@ -2,10 +2,181 @@ package com.ft.library.repository;
 
 import com.ft.library.model.entity.BorrowEntry;
 import com.ft.library.model.enums.BorrowStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BorrowRepository extends JpaRepository<BorrowEntry, Long> {
 
-    boolean existsBorrowRecordByBookIdAndMemberIdAndBorrowStatus(Long bookId, Long memberId, BorrowStatus borrowStatus);
+    /**
+     * Whether the member still has the book out, whether the loan is ACTIVE or already swept to OVERDUE. Written
+     * out because the derived query joins books and members and then misses the active-loan index.
+     */
+    @Query("SELECT COUNT(b) > 0 FROM BorrowEntry b WHERE b.book.id = :bookId AND b.member.id = :memberId AND b.returnDate IS NULL")
+    boolean existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(@Param("bookId") Long bookId,
+                                                                      @Param("memberId") Long memberId);
+
+    @Query("SELECT b.book.id FROM BorrowEntry b WHERE b.member.id = :memberId AND b.book.id IN :bookIds AND b.returnDate IS NULL")
+    List<Long> findOpenLoanBookIdsByMemberIdAndBookIds(@Param("memberId") Long memberId,
+                                                       @Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT b.book.id FROM BorrowEntry b WHERE b.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+
+    long countByReturnDateIsNull();
+
+    /**
+     * One page of a member's loans, newest first, strictly before ({@code beforeBorrowDate}, {@code beforeId}),
+     * with each loan's book fetched in the same query. The redundant upper bound on the borrow date lets the
+     * history index seek straight to the position instead of skipping the newer loans.
+     */
+    @Query("SELECT b FROM BorrowEntry b JOIN FETCH b.book WHERE b.member.id = :memberId AND b.borrowStatus IN :statuses "
+            + "AND b.borrowDate >= :from AND b.borrowDate < :to AND b.borrowDate <= :beforeBorrowDate "
+            + "AND (b.borrowDate < :beforeBorrowDate OR b.id < :beforeId) ORDER BY b.borrowDate DESC, b.id DESC")
+    List<BorrowEntry> findMemberHistoryPage(@Param("memberId") Long memberId,
+                                            @Param("statuses") Collection<BorrowStatus> statuses,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("beforeBorrowDate") LocalDateTime beforeBorrowDate,
+                                            @Param("beforeId") Long beforeId,
+                                            Limit limit);
+
+    /**
+     * Keys of loans still out that fell due before {@code cutoff}, strictly after ({@code afterDueDate},
+     * {@code afterId}) in due-date order. The redundant lower bound on the due date lets the open-loan index
+     * seek straight to the position instead of filtering from its start.
+     */
+    @Query("SELECT b.id AS id, b.dueDate AS dueDate FROM BorrowEntry b WHERE b.returnDate IS NULL AND b.dueDate < :cutoff "
+            + "AND b.dueDate >= :afterDueDate AND (b.dueDate > :afterDueDate OR b.id > :afterId) ORDER BY b.dueDate, b.id")
+    List<DueKey> findOpenLoanKeysDueBefore(@Param("cutoff") LocalDateTime cutoff,
+                                           @Param("afterDueDate") LocalDateTime afterDueDate,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BorrowEntry b SET b.borrowStatus = :newStatus, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids AND b.borrowStatus = :currentStatus AND b.returnDate IS NULL")
+    int updateBorrowStatusOfOpenLoans(@Param("ids") Collection<Long> ids,
+                                      @Param("currentStatus") BorrowStatus currentStatus,
+                                      @Param("newStatus") BorrowStatus newStatus);
+
+    /**
+     * Reads and row-locks just the loan rows for a bulk return, so the set-based updates that follow change
+     * exactly the rows that were checked. Locks are taken in id order to avoid deadlocks between batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.book.id AS bookId, b.member.id AS memberId, b.borrowDate AS borrowDate, "
+            + "b.dueDate AS dueDate, b.returnDate AS returnDate FROM BorrowEntry b WHERE b.id IN :ids ORDER BY b.id")
+    List<ReturnCandidate> findAllForReturnByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BorrowEntry b SET b.borrowStatus = :borrowStatus, b.penaltyAmount = :penaltyAmount, "
+            + "b.penaltyCents = :penaltyCents, b.returnDate = :returnDate, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids AND b.returnDate IS NULL")
+    int markReturned(@Param("ids") Collection<Long> ids,
+                     @Param("borrowStatus") BorrowStatus borrowStatus,
+                     @Param("penaltyAmount") BigDecimal penaltyAmount,
+                     @Param("penaltyCents") long penaltyCents,
+                     @Param("returnDate") LocalDateTime returnDate);
+
+    /**
+     * Open loans whose accrued penalty stopped being current at or before {@code now}, walked in
+     * (penaltyAccruedUntil, id) order. A loan accrued earlier today only comes back once it is another whole day
+     * overdue, so a run reads the loans it has to price rather than every overdue loan.
+     */
+    @Query("SELECT b.id AS id, b.dueDate AS dueDate, b.penaltyCents AS penaltyCents, "
+            + "b.penaltyAccruedUntil AS penaltyAccruedUntil FROM BorrowEntry b "
+            + "WHERE b.returnDate IS NULL AND b.penaltyAccruedUntil <= :now "
+            + "AND b.penaltyAccruedUntil >= :afterAccruedUntil "
+            + "AND (b.penaltyAccruedUntil > :afterAccruedUntil OR b.id > :afterId) "
+            + "ORDER BY b.penaltyAccruedUntil, b.id")
+    List<AccruedPenalty> findOpenLoanPenaltiesStaleAt(@Param("now") LocalDateTime now,
+                                                      @Param("afterAccruedUntil") LocalDateTime afterAccruedUntil,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+
+    /**
+     * Writes the penalty for loans {@code daysOverdue} whole days past due and moves each one's
+     * {@code penaltyAccruedUntil} to the start of its next day. Leaves the version alone: a return in flight
+     * computes the final penalty itself, and a version bump here would only force its optimistic write to retry.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BorrowEntry b SET b.penaltyCents = :penaltyCents, b.penaltyAmount = :penaltyAmount, "
+            + "b.penaltyAccruedUntil = b.dueDate + (:daysOverdue + 1) day "
+            + "WHERE b.id IN :ids AND b.returnDate IS NULL")
+    int updateAccruedPenalty(@Param("ids") Collection<Long> ids,
+                             @Param("daysOverdue") long daysOverdue,
+                             @Param("penaltyCents") long penaltyCents,
+                             @Param("penaltyAmount") BigDecimal penaltyAmount);
+
+    @Query("SELECT COUNT(b) AS openLoans, COALESCE(SUM(b.penaltyCents), 0) AS penaltyCents FROM BorrowEntry b "
+            + "WHERE b.member.id = :memberId AND b.returnDate IS NULL")
+    OutstandingPenalty findOutstandingPenaltyByMemberId(@Param("memberId") Long memberId);
+
+    @Query("SELECT b.book.id AS bookId, COUNT(b) AS borrows FROM BorrowEntry b GROUP BY b.book.id")
+    List<BookBorrowCount> countBorrowsByBook();
+
+    /**
+     * The columns a return reads; the book and member ids come from the loan row's own foreign keys.
+     */
+    interface ReturnCandidate {
+
+        Long getId();
+
+        Long getBookId();
+
+        Long getMemberId();
+
+        LocalDateTime getBorrowDate();
+
+        LocalDateTime getDueDate();
+
+        LocalDateTime getReturnDate();
+    }
+
+    interface DueKey {
+
+        Long getId();
+
+        LocalDateTime getDueDate();
+    }
+
+    interface AccruedPenalty {
+
+        Long getId();
+
+        LocalDateTime getDueDate();
+
+        long getPenaltyCents();
+
+        LocalDateTime getPenaltyAccruedUntil();
+    }
+
+    interface OutstandingPenalty {
+
+        long getOpenLoans();
+
+        long getPenaltyCents();
+    }
+
+    interface BookBorrowCount {
+
+        Long getBookId();
 
+        long getBorrows();
+    }
 }
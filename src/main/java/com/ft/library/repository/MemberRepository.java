@@ -1,14 +1,31 @@
 package com.ft.library.repository;
 
 import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Optional<Member> findByEmail(String email);
 
+    @Query("SELECT m.id FROM Member m WHERE m.membershipStatus = :status")
+    List<Long> findIdsByMembershipStatus(@Param("status") MembershipStatus status);
+
+    /**
+     * Streams every email for rebuilding the signup filter; must be consumed inside a transaction.
+     */
+    @Query("SELECT m.email FROM Member m WHERE m.email IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllEmails();
+
 }
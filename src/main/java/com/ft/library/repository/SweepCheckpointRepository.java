@@ -0,0 +1,20 @@
+package com.ft.library.repository;
+
+import com.ft.library.model.entity.SweepCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+
+    /**
+     * Row-locks the checkpoint, so instances sharing the database take turns instead of sweeping the same chunk.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SweepCheckpoint c WHERE c.name = :name")
+    Optional<SweepCheckpoint> findForUpdateByName(@Param("name") String name);
+}
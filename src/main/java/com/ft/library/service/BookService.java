@@ -1,18 +1,61 @@
 package com.ft.library.service;
 
 import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.dto.response.BookImportSummary;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.ImportFormat;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookService {
     List<Book> getAllBook();
 
+    CatalogSnapshot getCatalogSnapshot();
+
+    PageResponse<Book> getBookPage(String cursor, Integer size);
+
+    void streamAllBook(OutputStream outputStream) throws IOException;
+
     Book getBookById(long l);
 
+    Book getBookForUpdate(long id);
+
     Book getBookByIsbn(String isbn);
 
+    List<Book> searchBooks(String query, Integer size);
+
+    List<BookSuggestion> suggestBooks(String prefix, Integer size);
+
+    List<Book> getBooksByIds(Collection<Long> ids);
+
     void createBook(CreateBookRequest bookRequest);
 
     void updateBook(long id, CreateBookRequest bookRequest);
+
+    BookImportSummary importBooks(InputStream inputStream, ImportFormat format) throws IOException;
+
+    boolean decreaseStock(long id);
+
+    boolean[] decreaseStock(List<Long> ids);
+
+    boolean increaseStock(long id);
+
+    void increaseStock(Map<Long, Integer> copiesByBookId);
+
+    BookCacheStats getCacheStats();
+
+    String getCatalogETag();
+
+    String getBookETag(long id);
+
+    long getCatalogLastModified();
 }
@@ -1,10 +1,29 @@
 package com.ft.library.service;
 
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
 import com.ft.library.model.dto.request.CreateBorrowRequest;
-import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.PageResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
+import com.ft.library.model.enums.BorrowStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BorrowService {
-    BorrowEntry borrowBook(CreateBorrowRequest request);
+    BorrowResponse borrowBook(CreateBorrowRequest request);
+
+    List<BorrowItemResult> borrowBooks(CreateBatchBorrowRequest request);
+
+    BorrowResponse returnBook(long borrowId);
+
+    List<ReturnItemResult> returnBooks(List<Long> borrowIds);
+
+    OutstandingPenaltyResponse getOutstandingPenalty(long memberId);
 
-    BorrowEntry returnBook(long borrowId);
+    PageResponse<MemberLoanResponse> getMemberLoans(long memberId, BorrowStatus status, LocalDateTime from,
+                                                    LocalDateTime to, String cursor, Integer size);
 }
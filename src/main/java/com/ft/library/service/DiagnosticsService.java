@@ -0,0 +1,7 @@
+package com.ft.library.service;
+
+import com.ft.library.model.dto.response.PinningReport;
+
+public interface DiagnosticsService {
+    PinningReport getPinningReport();
+}
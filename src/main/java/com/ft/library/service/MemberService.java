@@ -2,11 +2,16 @@ package com.ft.library.service;
 
 import com.ft.library.model.dto.request.CreateMemberRequest;
 import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
 
 public interface MemberService {
     void createMember(CreateMemberRequest createMemberRequest);
 
     Member getMemberById(long id);
 
+    boolean isMemberSuspended(long id);
+
     void updateMember(long id, CreateMemberRequest createMemberRequest);
+
+    void updateMembershipStatus(long id, MembershipStatus membershipStatus);
 }
@@ -0,0 +1,149 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.entity.Book;
+import com.ft.library.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for single-book lookups. Entries are keyed by id with a secondary ISBN to id index, and
+ * callers always receive a detached copy so mutating a returned book can never corrupt the cached snapshot.
+ */
+@Component
+public class BookCache {
+
+    private final boolean enabled;
+
+    private final Cache<Long, Book> booksById;
+
+    private final ConcurrentHashMap<String, Long> bookIdsByIsbn = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation; a load that overlaps one is not cached, so a stale read cannot outlive a write.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public BookCache(LibraryProperties libraryProperties) {
+        LibraryProperties.Cache config = libraryProperties.getCatalog().getCache();
+        this.enabled = config.isEnabled();
+        this.booksById = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .evictionListener((Long id, Book book, RemovalCause cause) -> {
+                    if (id != null && book != null) {
+                        bookIdsByIsbn.remove(book.getIsbn(), id);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Book> getById(long id, Supplier<Optional<Book>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Book cached = booksById.getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        misses.increment();
+        return load(loader);
+    }
+
+    public Optional<Book> getByIsbn(String isbn, Supplier<Optional<Book>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Long id = bookIdsByIsbn.get(isbn);
+        Book cached = id == null ? null : booksById.getIfPresent(id);
+        if (cached != null && isbn.equals(cached.getIsbn())) {
+            hits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        misses.increment();
+        return load(loader);
+    }
+
+    /**
+     * Drops the book now and again once the surrounding transaction completes, so a concurrent reader cannot
+     * re-cache the row between this call and the commit that makes the change visible.
+     */
+    public void evict(long id) {
+        TransactionCallbacks.runNowAndAfterCompletion(() -> evictId(id));
+    }
+
+    public void evictIsbn(String isbn) {
+        if (isbn != null) {
+            TransactionCallbacks.runNowAndAfterCompletion(() -> {
+                invalidations.incrementAndGet();
+                Long id = bookIdsByIsbn.remove(isbn);
+                if (id != null) {
+                    booksById.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public BookCacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return BookCacheStats.builder()
+                .enabled(enabled)
+                .size(booksById.estimatedSize())
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(booksById.stats().evictionCount())
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .build();
+    }
+
+    private Optional<Book> load(Supplier<Optional<Book>> loader) {
+        long observed = invalidations.get();
+        Optional<Book> loaded = loader.get();
+        loaded.ifPresent(book -> {
+            Book snapshot = copyOf(book);
+            booksById.put(snapshot.getId(), snapshot);
+            if (snapshot.getIsbn() != null) {
+                bookIdsByIsbn.put(snapshot.getIsbn(), snapshot.getId());
+            }
+            if (invalidations.get() != observed) {
+                evictId(snapshot.getId());
+            }
+        });
+        return loaded.map(BookCache::copyOf);
+    }
+
+    private void evictId(long id) {
+        invalidations.incrementAndGet();
+        Book removed = booksById.asMap().remove(id);
+        if (removed != null && removed.getIsbn() != null) {
+            bookIdsByIsbn.remove(removed.getIsbn(), id);
+        }
+    }
+
+    private static Book copyOf(Book book) {
+        return Book.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .isbn(book.getIsbn())
+                .author(book.getAuthor())
+                .quantityAvailable(book.getQuantityAvailable())
+                .version(book.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ft.library.model.entity.Book;
+import com.ft.library.repository.BookRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole catalog as the {@code ApiResponse} envelope of {@code GET /v1/books}, one row at a time from
+ * the repository stream, so neither the streaming endpoint nor the snapshot build holds the entities as a list.
+ * Needs a surrounding read-only transaction for the stream.
+ */
+final class BookCatalogWriter {
+
+    private BookCatalogWriter() {
+    }
+
+    static void write(ObjectMapper objectMapper, BookRepository bookRepository, int fetchSize,
+                      OutputStream outputStream) throws IOException {
+        ObjectWriter bookWriter = objectMapper.writerFor(Book.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeStringField("status", "Success");
+        generator.writeStringField("message", "Success");
+        generator.writeArrayFieldStart("data");
+        bookRepository.streamAll(fetchSize, book -> {
+            try {
+                bookWriter.writeValue(generator, book);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,143 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.enums.ImportFormat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses one import line at a time so the caller never holds more than the current batch in memory.
+ * Malformed rows are reported with an {@link IllegalArgumentException} whose message is the rejection reason.
+ */
+public class BookImportParser {
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "isbn", "author", "quantityavailable");
+
+    private final ImportFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> csvColumns;
+
+    public BookImportParser(ImportFormat format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the parsed row, or {@code null} when the line is the CSV header.
+     */
+    public CreateBookRequest parse(String line) {
+        return format == ImportFormat.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    private CreateBookRequest parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (csvColumns == null) {
+            csvColumns = readHeader(fields);
+            return null;
+        }
+        if (fields.size() < csvColumns.size()) {
+            throw new IllegalArgumentException("Missing Columns");
+        }
+        return new CreateBookRequest(
+                field(fields, "title"),
+                field(fields, "isbn"),
+                field(fields, "author"),
+                parseQuantity(field(fields, "quantityavailable")));
+    }
+
+    private CreateBookRequest parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed Row");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Malformed Row");
+        }
+        JsonNode quantity = node.get("quantityAvailable");
+        if (quantity != null && !quantity.isNull() && !quantity.canConvertToInt()) {
+            throw new IllegalArgumentException("Invalid Quantity");
+        }
+        return new CreateBookRequest(
+                text(node, "title"),
+                text(node, "isbn"),
+                text(node, "author"),
+                quantity == null || quantity.isNull() ? null : quantity.asInt());
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            if (CSV_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (columns.size() != CSV_COLUMNS.size()) {
+            throw new IllegalArgumentException("Header Must Contain title, isbn, author, quantityAvailable");
+        }
+        return columns;
+    }
+
+    private String field(List<String> fields, String column) {
+        String value = fields.get(csvColumns.get(column)).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText().trim();
+    }
+
+    private static Integer parseQuantity(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Quantity");
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated Quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
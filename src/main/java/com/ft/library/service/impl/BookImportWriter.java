@@ -0,0 +1,73 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.entity.Book;
+import com.ft.library.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Upserts one import batch per transaction. Existing ISBNs are loaded with a single IN query and updated
+ * through dirty checking; new rows get ids from the pooled sequence, so Hibernate can batch the inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookImportWriter {
+
+    private final BookRepository bookRepository;
+
+    private final IsbnIndex isbnIndex;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final CatalogVersion catalogVersion;
+
+    @Transactional
+    public UpsertCounts upsert(Collection<CreateBookRequest> rows) {
+        List<String> isbns = rows.stream().map(CreateBookRequest::getIsbn).toList();
+        Map<String, Book> existingByIsbn = bookRepository.findAllByIsbnIn(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity(), (first, second) -> first));
+
+        List<Book> inserts = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        int updated = 0;
+        for (CreateBookRequest row : rows) {
+            Book book = existingByIsbn.get(row.getIsbn());
+            if (book == null) {
+                inserts.add(Book.builder()
+                        .title(row.getTitle())
+                        .isbn(row.getIsbn())
+                        .author(row.getAuthor())
+                        .quantityAvailable(row.getQuantityAvailable())
+                        .build());
+            } else {
+                bookSearchIndex.remove(book.getId(), book.getTitle(), book.getAuthor());
+                book.setTitle(row.getTitle());
+                book.setAuthor(row.getAuthor());
+                book.setQuantityAvailable(row.getQuantityAvailable());
+                bookSearchIndex.put(book.getId(), book.getTitle(), book.getAuthor());
+                changedIds.add(book.getId());
+                updated++;
+            }
+        }
+        bookRepository.saveAll(inserts);
+        inserts.forEach(book -> {
+            isbnIndex.put(book.getIsbn(), book.getId());
+            bookSearchIndex.put(book.getId(), book.getTitle(), book.getAuthor());
+            changedIds.add(book.getId());
+        });
+        catalogVersion.booksChanged(changedIds);
+        return new UpsertCounts(inserts.size(), updated);
+    }
+
+    public record UpsertCounts(int inserted, int updated) {
+    }
+}
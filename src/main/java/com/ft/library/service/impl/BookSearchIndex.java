@@ -0,0 +1,310 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.util.PostingList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book titles and authors. Text is case-folded, stripped of accents and split on
+ * anything that is not a letter or digit; each term maps to a {@link PostingList} of {@code bookId << 2 | fields},
+ * where the low bits say whether the term came from the title, the author or both. A query matches the books
+ * that contain every term, ranked by the summed inverse document frequency of the terms with title hits
+ * counting twice, lower ids first on ties. Candidates come out of the intersection in id order, so the scan
+ * stops as soon as every slot in the top {@code limit} holds the best score the query terms can give. Like
+ * {@link IsbnIndex} it is built once the application is ready and kept up to date by book writes, and its
+ * answers are hints the caller re-checks against the fetched rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    private static final int TITLE = 1;
+
+    private static final int AUTHOR = 2;
+
+    private static final int FIELD_BITS = 2;
+
+    private static final double TITLE_WEIGHT = 2.0;
+
+    private static final double AUTHOR_WEIGHT = 1.0;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::bookId).reversed());
+
+    private final BookRepository bookRepository;
+
+    private final LibraryProperties libraryProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Term> postingsByTerm = new HashMap<>();
+
+    private long documents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<String, Term> rebuilt = new HashMap<>();
+        long[] indexed = new long[1];
+        // Rows arrive in id order, so every posting is an append.
+        bookRepository.streamAll(libraryProperties.getCatalog().getStreamFetchSize(), book -> {
+            index(rebuilt, book.getId(), book.getTitle(), book.getAuthor());
+            indexed[0]++;
+        });
+        lock.writeLock().lock();
+        try {
+            postingsByTerm = rebuilt;
+            documents = indexed[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(long bookId, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            index(postingsByTerm, bookId, title, author);
+            documents++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes out the postings {@link #put(long, String, String)} made for the same text; a book indexed under
+     * different text is left alone.
+     */
+    public void remove(long bookId, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = false;
+            for (Map.Entry<String, Integer> term : fieldsByTerm(title, author).entrySet()) {
+                Term postings = postingsByTerm.get(term.getKey());
+                if (postings != null && postings.remove(bookId, term.getValue())) {
+                    removed = true;
+                    if (postings.isEmpty()) {
+                        postingsByTerm.remove(term.getKey());
+                    }
+                }
+            }
+            if (removed && documents > 0) {
+                documents--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best {@code limit} books containing every term of {@code query}, best first.
+     */
+    public long[] search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            Term[] lists = new Term[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Term postings = postingsByTerm.get(term);
+                if (postings == null) {
+                    return new long[0];
+                }
+                lists[i++] = postings;
+            }
+            // The rarest term drives the intersection; the others only seek forward to its candidates.
+            Arrays.sort(lists, Comparator.comparingInt(Term::size));
+            PostingList.Cursor[] cursors = new PostingList.Cursor[lists.length];
+            double[] idf = new double[lists.length];
+            double bestScore = 0;
+            for (int t = 0; t < lists.length; t++) {
+                cursors[t] = lists[t].postings.cursor();
+                idf[t] = Math.log(1 + (double) Math.max(documents, lists[t].size()) / lists[t].size());
+                bestScore += lists[t].maxWeight() * idf[t];
+            }
+            return intersect(cursors, idf, bestScore, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return postingsByTerm.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return postingsByTerm.values().stream().mapToLong(term -> term.postings.memoryBytes()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * True when the title and author together contain every term, for re-checking rows the index returned.
+     */
+    public static boolean matches(Set<String> terms, String title, String author) {
+        return fieldsByTerm(title, author).keySet().containsAll(terms);
+    }
+
+    /**
+     * Case-folded, accent-free letter and digit runs of {@code text}, in order of first appearance.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static long[] intersect(PostingList.Cursor[] cursors, double[] idf, double bestScore, int limit) {
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        PostingList.Cursor lead = cursors[0];
+        long candidate = lead.next();
+        candidates:
+        while (candidate != PostingList.END) {
+            long bookId = candidate >>> FIELD_BITS;
+            double score = weight(candidate) * idf[0];
+            for (int t = 1; t < cursors.length; t++) {
+                long other = cursors[t].advance(bookId << FIELD_BITS);
+                if (other == PostingList.END) {
+                    break candidates;
+                }
+                long otherId = other >>> FIELD_BITS;
+                if (otherId != bookId) {
+                    candidate = lead.advance(otherId << FIELD_BITS);
+                    continue candidates;
+                }
+                score += weight(other) * idf[t];
+            }
+            if (top.size() < limit) {
+                top.add(new Hit(bookId, score));
+            } else if (score > top.peek().score()) {
+                // Candidates arrive in id order, so an equal score never displaces an earlier book.
+                top.poll();
+                top.add(new Hit(bookId, score));
+            }
+            if (top.size() == limit && top.peek().score() >= bestScore) {
+                break;
+            }
+            candidate = lead.next();
+        }
+
+        long[] ranked = new long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().bookId();
+        }
+        return ranked;
+    }
+
+    private static void index(Map<String, Term> postings, long bookId, String title, String author) {
+        for (Map.Entry<String, Integer> term : fieldsByTerm(title, author).entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new Term()).add(bookId, term.getValue());
+        }
+    }
+
+    private static Map<String, Integer> fieldsByTerm(String title, String author) {
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        tokenize(title).forEach(term -> fields.merge(term, TITLE, (a, b) -> a | b));
+        tokenize(author).forEach(term -> fields.merge(term, AUTHOR, (a, b) -> a | b));
+        return fields;
+    }
+
+    private static long posting(long bookId, int fields) {
+        return bookId << FIELD_BITS | fields;
+    }
+
+    private static double weight(long posting) {
+        return ((posting & TITLE) != 0 ? TITLE_WEIGHT : 0) + ((posting & AUTHOR) != 0 ? AUTHOR_WEIGHT : 0);
+    }
+
+    /**
+     * Postings of one term plus how many of them carry each field combination, which bounds the weight any
+     * book can get from the term.
+     */
+    private static final class Term {
+
+        private final PostingList postings = new PostingList();
+
+        private final int[] countsByFields = new int[1 << FIELD_BITS];
+
+        void add(long bookId, int fields) {
+            if (postings.add(posting(bookId, fields))) {
+                countsByFields[fields]++;
+            }
+        }
+
+        boolean remove(long bookId, int fields) {
+            if (postings.remove(posting(bookId, fields))) {
+                countsByFields[fields]--;
+                return true;
+            }
+            return false;
+        }
+
+        int size() {
+            return postings.size();
+        }
+
+        boolean isEmpty() {
+            return postings.isEmpty();
+        }
+
+        double maxWeight() {
+            double max = 0;
+            for (int fields = 1; fields < countsByFields.length; fields++) {
+                if (countsByFields[fields] > 0) {
+                    max = Math.max(max, weight(fields));
+                }
+            }
+            return max;
+        }
+    }
+
+    private record Hit(long bookId, double score) {
+    }
+}
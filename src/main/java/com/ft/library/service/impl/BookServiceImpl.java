@@ -1,35 +1,173 @@
 package com.ft.library.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.BookAlreadyExistsException;
 import com.ft.library.exception.BookNotFoundException;
 import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.dto.response.BookImportRejection;
+import com.ft.library.model.dto.response.BookImportSummary;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.ImportFormat;
 import com.ft.library.repository.BookRepository;
 import com.ft.library.service.BookService;
+import com.ft.library.util.CursorCodec;
+import com.ft.library.util.IsbnNormalizer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("library.service")
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    private final LibraryProperties libraryProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final BookImportWriter bookImportWriter;
+
+    private final BookCache bookCache;
+
+    private final IsbnIndex isbnIndex;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final BookSuggestIndex bookSuggestIndex;
+
+    private final CatalogVersion catalogVersion;
+
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
     @Override
     public List<Book> getAllBook() {
         return bookRepository.findAll();
     }
 
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        return catalogSnapshotCache.current();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<Book> getBookPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : CursorCodec.decodeLong(cursor);
+
+        // One extra row tells us whether another page exists without issuing a count query.
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        if (books.size() <= pageSize) {
+            return PageResponse.of(books, null);
+        }
+
+        List<Book> page = books.subList(0, pageSize);
+        String next = CursorCodec.encode(String.valueOf(page.get(pageSize - 1).getId()));
+        return PageResponse.of(page, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllBook(OutputStream outputStream) throws IOException {
+        int fetchSize = libraryProperties.getCatalog().getStreamFetchSize();
+        BookCatalogWriter.write(objectMapper, bookRepository, fetchSize, outputStream);
+    }
+
     @Override
     public Book getBookById(long id) {
-        return bookRepository.findBookById(id).orElseThrow(() -> new BookNotFoundException("Book not found"));
+        return bookCache.getById(id, () -> bookRepository.findBookById(id))
+                .orElseThrow(() -> new BookNotFoundException("Book not found"));
+    }
+
+    @Override
+    @Transactional
+    public Book getBookForUpdate(long id) {
+        Book book = bookRepository.findBookById(id).orElseThrow(() -> new BookNotFoundException("Book not found"));
+        bookCache.evict(id);
+        return book;
     }
 
     @Override
     public Book getBookByIsbn(String isbn) {
-        return bookRepository.findBookByIsbn(isbn).orElseThrow(() -> new BookNotFoundException("Book not found"));
+        long isbn13 = IsbnNormalizer.toIsbn13(isbn);
+        if (isbn13 != IsbnNormalizer.INVALID) {
+            long bookId = isbnIndex.findBookId(isbn13);
+            if (bookId != IsbnIndex.MISSING) {
+                Optional<Book> indexed = bookCache.getById(bookId, () -> bookRepository.findBookById(bookId));
+                if (indexed.isPresent() && IsbnNormalizer.toIsbn13(indexed.get().getIsbn()) == isbn13) {
+                    return indexed.get();
+                }
+            }
+        }
+
+        // Non-standard ISBNs, and rows the index has not seen yet, still resolve by exact column match.
+        Book book = bookCache.getByIsbn(isbn, () -> bookRepository.findBookByIsbn(isbn))
+                .orElseThrow(() -> new BookNotFoundException("Book not found"));
+        isbnIndex.put(book.getIsbn(), book.getId());
+        return book;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Book> searchBooks(String query, Integer size) {
+        long[] rankedIds = bookSearchIndex.search(query, resolveSearchSize(size));
+        if (rankedIds.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.stream(rankedIds).boxed().toList();
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        // The index is written before the book transaction commits, so a rolled-back or raced write can leave
+        // a posting behind; only rows that still match are returned, in the index's order.
+        Set<String> terms = BookSearchIndex.tokenize(query);
+        List<Book> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Book book = booksById.get(id);
+            if (book != null && BookSearchIndex.matches(terms, book.getTitle(), book.getAuthor())) {
+                results.add(book);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<BookSuggestion> suggestBooks(String prefix, Integer size) {
+        int topN = libraryProperties.getCatalog().getSuggest().getTopN();
+        return bookSuggestIndex.suggest(prefix, size == null || size <= 0 ? topN : Math.min(size, topN));
+    }
+
+    @Override
+    public List<Book> getBooksByIds(Collection<Long> ids) {
+        return bookRepository.findAllById(ids);
     }
 
     @Override
@@ -41,18 +179,197 @@ public class BookServiceImpl implements BookService {
                 .author(bookRequest.getAuthor())
                 .quantityAvailable(bookRequest.getQuantityAvailable()).build();
 
-        bookRepository.save(book);
+        // Flushed here so a duplicate ISBN surfaces as a conflict instead of a failed commit.
+        try {
+            bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookAlreadyExistsException("Book Already Exists");
+        }
+        bookCache.evictIsbn(book.getIsbn());
+        if (book.getId() != null) {
+            isbnIndex.put(book.getIsbn(), book.getId());
+            bookSearchIndex.put(book.getId(), book.getTitle(), book.getAuthor());
+            catalogVersion.bookChanged(book.getId());
+        }
+        bookSuggestIndex.markStale();
     }
 
     @Override
     @Transactional
     public void updateBook(long id, CreateBookRequest bookRequest) {
         Book book = bookRepository.findBookById(id).orElseThrow(() -> new BookNotFoundException("Book not found"));
+        bookCache.evict(id);
+        bookCache.evictIsbn(book.getIsbn());
+        bookCache.evictIsbn(bookRequest.getIsbn());
+        isbnIndex.remove(book.getIsbn(), id);
+        String previousTitle = book.getTitle();
+        String previousAuthor = book.getAuthor();
         book.setTitle(bookRequest.getTitle());
         book.setIsbn(bookRequest.getIsbn());
         book.setAuthor(bookRequest.getAuthor());
         book.setQuantityAvailable(bookRequest.getQuantityAvailable());
 
-        bookRepository.save(book);
+        try {
+            bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookAlreadyExistsException("Book Already Exists");
+        }
+        isbnIndex.put(book.getIsbn(), id);
+        bookSearchIndex.remove(id, previousTitle, previousAuthor);
+        bookSearchIndex.put(id, book.getTitle(), book.getAuthor());
+        bookSuggestIndex.markStale();
+        catalogVersion.bookChanged(id);
+    }
+
+    @Override
+    public BookImportSummary importBooks(InputStream inputStream, ImportFormat format) throws IOException {
+        LibraryProperties.Catalog catalog = libraryProperties.getCatalog();
+        BookImportParser parser = new BookImportParser(format, objectMapper);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        // Rows are keyed by ISBN so a title repeated inside one batch collapses into a single upsert, the last
+        // row winning. The repeat is reported as a duplicate: only the writer knows whether the ISBN is new.
+        LinkedHashMap<String, CreateBookRequest> batch = new LinkedHashMap<>();
+        List<BookImportRejection> rejections = new ArrayList<>();
+        long inserted = 0;
+        long updated = 0;
+        long duplicates = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CreateBookRequest row = parser.parse(line);
+                if (row == null) {
+                    continue;
+                }
+                validateImportRow(row);
+                if (batch.put(row.getIsbn(), row) != null) {
+                    duplicates++;
+                }
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (rejections.size() < catalog.getImportMaxReportedRejections()) {
+                    rejections.add(new BookImportRejection(lineNumber, e.getMessage()));
+                }
+                continue;
+            }
+
+            if (batch.size() >= catalog.getImportBatchSize()) {
+                BookImportWriter.UpsertCounts counts = bookImportWriter.upsert(batch.values());
+                batch.keySet().forEach(bookCache::evictIsbn);
+                inserted += counts.inserted();
+                updated += counts.updated();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            BookImportWriter.UpsertCounts counts = bookImportWriter.upsert(batch.values());
+            batch.keySet().forEach(bookCache::evictIsbn);
+            inserted += counts.inserted();
+            updated += counts.updated();
+        }
+        if (inserted + updated > 0) {
+            bookSuggestIndex.markStale();
+        }
+
+        return BookImportSummary.builder()
+                .inserted(inserted)
+                .updated(updated)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .rejections(rejections)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public boolean decreaseStock(long id) {
+        bookCache.evict(id);
+        return bookRepository.decrementQuantityAvailable(id) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean[] decreaseStock(List<Long> ids) {
+        boolean[] decreased = new boolean[ids.size()];
+        if (ids.isEmpty()) {
+            return decreased;
+        }
+        ids.forEach(bookCache::evict);
+        int[] counts = bookRepository.decrementQuantityAvailableBatch(ids);
+        for (int i = 0; i < decreased.length; i++) {
+            decreased[i] = counts[i] > 0;
+        }
+        return decreased;
+    }
+
+    @Override
+    @Transactional
+    public boolean increaseStock(long id) {
+        bookCache.evict(id);
+        return bookRepository.incrementQuantityAvailable(id) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void increaseStock(Map<Long, Integer> copiesByBookId) {
+        // One set-based update per distinct copy count; a drop-box batch is almost always a single statement.
+        copiesByBookId.keySet().forEach(bookCache::evict);
+        Map<Integer, List<Long>> bookIdsByCount = new TreeMap<>();
+        copiesByBookId.forEach((bookId, count) -> bookIdsByCount.computeIfAbsent(count, c -> new ArrayList<>()).add(bookId));
+        bookIdsByCount.forEach((count, bookIds) -> bookRepository.incrementQuantityAvailable(bookIds, count));
+    }
+
+    @Override
+    public BookCacheStats getCacheStats() {
+        return bookCache.stats();
+    }
+
+    @Override
+    public String getCatalogETag() {
+        return catalogVersion.catalogETag();
+    }
+
+    @Override
+    public String getBookETag(long id) {
+        return catalogVersion.bookETag(id);
+    }
+
+    @Override
+    public long getCatalogLastModified() {
+        return catalogVersion.lastModifiedMillis();
+    }
+
+    private static void validateImportRow(CreateBookRequest row) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Missing Title");
+        }
+        if (row.getIsbn() == null || row.getIsbn().isBlank()) {
+            throw new IllegalArgumentException("Missing ISBN");
+        }
+        if (row.getQuantityAvailable() == null || row.getQuantityAvailable() < 0) {
+            throw new IllegalArgumentException("Invalid Quantity");
+        }
+    }
+
+    private int resolveSearchSize(Integer size) {
+        LibraryProperties.Catalog catalog = libraryProperties.getCatalog();
+        if (size == null || size <= 0) {
+            return catalog.getSearchDefaultSize();
+        }
+        return Math.min(size, catalog.getSearchMaxSize());
+    }
+
+    private int resolvePageSize(Integer size) {
+        LibraryProperties.Catalog catalog = libraryProperties.getCatalog();
+        if (size == null || size <= 0) {
+            return catalog.getDefaultPageSize();
+        }
+        return Math.min(size, catalog.getMaxPageSize());
     }
 }
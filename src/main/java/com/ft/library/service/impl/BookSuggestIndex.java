@@ -0,0 +1,218 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.enums.SuggestionField;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.util.LongLongHashMap;
+import com.ft.library.util.SuggestTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Autocomplete over book titles and authors. The whole catalog goes into one {@link SuggestTrie}, titles weighted
+ * by how often the book was borrowed and authors by the borrows of all their books, and the result is published
+ * through a volatile field: a lookup reads one complete snapshot and never waits on a build. Builds run at
+ * startup and on the refresher thread, either because a catalog write marked the snapshot stale or because it
+ * is older than the configured max age and the borrow counts have moved. Text is matched on its case-folded,
+ * accent-free form with punctuation collapsed to single spaces, and books sharing a title collapse into one
+ * suggestion pointing at the most borrowed of them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSuggestIndex {
+
+    private static final long NO_BOOK = -1L;
+
+    private final BookRepository bookRepository;
+
+    private final BorrowRepository borrowRepository;
+
+    private final LibraryProperties libraryProperties;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Replaces the snapshot with one built from the current catalog. A call that finds a build already running
+     * returns at once; a write it missed has marked the snapshot stale again for the next refresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!buildLock.tryLock()) {
+            return;
+        }
+        try {
+            stale.set(false);
+            long started = System.nanoTime();
+            Snapshot built = build();
+            snapshot = built;
+            log.info("Built suggestions over {} titles and authors in {} ms",
+                    built.trie().size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.catalog.suggest.refresh-interval-ms:10000}",
+            initialDelayString = "${library.catalog.suggest.refresh-interval-ms:10000}")
+    @Transactional(readOnly = true)
+    public void refreshOnSchedule() {
+        long age = System.currentTimeMillis() - snapshot.builtAtMillis();
+        if (stale.get() || age >= libraryProperties.getCatalog().getSuggest().getMaxAgeMs()) {
+            rebuild();
+        }
+    }
+
+    public void markStale() {
+        stale.set(true);
+    }
+
+    public boolean isStale() {
+        return stale.get();
+    }
+
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix, true);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int[] hits = current.trie().top(key, limit);
+        List<BookSuggestion> suggestions = new ArrayList<>(hits.length);
+        for (int hit : hits) {
+            suggestions.add(BookSuggestion.builder()
+                    .text(current.texts()[hit])
+                    .field(current.fields()[hit])
+                    .bookId(current.bookIds()[hit] == NO_BOOK ? null : current.bookIds()[hit])
+                    .borrowCount(current.borrowCounts()[hit])
+                    .build());
+        }
+        return suggestions;
+    }
+
+    /**
+     * Case-folded, accent-free form of {@code text} with every run of other characters turned into one space.
+     * A prefix keeps its trailing space, so "clean " stops matching "cleaner".
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!normalized.isEmpty()) {
+                pendingSpace = true;
+            }
+        }
+        if (pendingSpace && keepTrailingSpace) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private Snapshot build() {
+        List<BorrowRepository.BookBorrowCount> counts = borrowRepository.countBorrowsByBook();
+        LongLongHashMap borrowsByBook = new LongLongHashMap(counts.size(), 0L);
+        for (BorrowRepository.BookBorrowCount count : counts) {
+            if (count.getBookId() != null && count.getBookId() != 0L) {
+                borrowsByBook.put(count.getBookId(), count.getBorrows());
+            }
+        }
+
+        Map<String, Candidate> titles = new HashMap<>();
+        Map<String, Candidate> authors = new HashMap<>();
+        bookRepository.streamAll(libraryProperties.getCatalog().getStreamFetchSize(), book -> {
+            long borrows = borrowsByBook.get(book.getId());
+            String title = normalize(book.getTitle(), false);
+            if (!title.isEmpty()) {
+                titles.computeIfAbsent(title, key -> new Candidate()).add(book.getTitle(), book.getId(), borrows);
+            }
+            String author = normalize(book.getAuthor(), false);
+            if (!author.isEmpty()) {
+                authors.computeIfAbsent(author, key -> new Candidate()).add(book.getAuthor(), NO_BOOK, borrows);
+            }
+        });
+
+        int size = titles.size() + authors.size();
+        String[] keys = new String[size];
+        String[] texts = new String[size];
+        SuggestionField[] fields = new SuggestionField[size];
+        long[] bookIds = new long[size];
+        long[] borrowCounts = new long[size];
+        int i = 0;
+        for (Map<String, Candidate> candidates : List.of(titles, authors)) {
+            SuggestionField field = candidates == titles ? SuggestionField.TITLE : SuggestionField.AUTHOR;
+            for (Map.Entry<String, Candidate> entry : candidates.entrySet()) {
+                Candidate candidate = entry.getValue();
+                keys[i] = entry.getKey();
+                texts[i] = candidate.text;
+                fields[i] = field;
+                bookIds[i] = candidate.bookId;
+                borrowCounts[i] = candidate.totalBorrows;
+                i++;
+            }
+        }
+        SuggestTrie trie = SuggestTrie.build(keys, borrowCounts, libraryProperties.getCatalog().getSuggest().getTopN());
+        return new Snapshot(trie, texts, fields, bookIds, borrowCounts, System.currentTimeMillis());
+    }
+
+    private static final class Candidate {
+
+        private String text;
+
+        private long bookId = NO_BOOK;
+
+        private long bookBorrows = -1;
+
+        private long totalBorrows;
+
+        void add(String displayText, long id, long borrows) {
+            totalBorrows += borrows;
+            if (borrows > bookBorrows) {
+                text = displayText;
+                bookId = id;
+                bookBorrows = borrows;
+            }
+        }
+    }
+
+    private record Snapshot(SuggestTrie trie, String[] texts, SuggestionField[] fields, long[] bookIds,
+                            long[] borrowCounts, long builtAtMillis) {
+
+        static final Snapshot EMPTY = new Snapshot(SuggestTrie.build(new String[0], new long[0], 1),
+                new String[0], new SuggestionField[0], new long[0], new long[0], 0L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Borrow rejections by reason, and gauges for open loans and stock. The gauges query the database when
+ * scraped rather than tracking changes in memory, so they stay right with several instances behind one database.
+ */
+@Component
+public class BorrowMetrics {
+
+    private final Map<String, Counter> rejections;
+
+    private final Counter overdueSwept;
+
+    public BorrowMetrics(MeterRegistry meterRegistry, BorrowRepository borrowRepository, BookRepository bookRepository) {
+        this.rejections = Map.of(
+                BorrowRules.ALREADY_BORROWED, rejectionCounter(meterRegistry, "already_borrowed"),
+                BorrowRules.STOCK_NOT_AVAILABLE, rejectionCounter(meterRegistry, "out_of_stock"),
+                BorrowRules.MEMBER_SUSPENDED, rejectionCounter(meterRegistry, "member_suspended"));
+        this.overdueSwept = Counter.builder("library.borrow.overdue-swept")
+                .description("Open loans moved to OVERDUE by the sweeper")
+                .register(meterRegistry);
+
+        Gauge.builder("library.loans.active", borrowRepository, BorrowRepository::countByReturnDateIsNull)
+                .description("Loans not yet returned")
+                .register(meterRegistry);
+        Gauge.builder("library.books.stock", bookRepository, BookRepository::sumQuantityAvailable)
+                .description("Copies available across the catalog")
+                .register(meterRegistry);
+        Gauge.builder("library.books.out-of-stock", bookRepository,
+                        repository -> repository.countByQuantityAvailableLessThanEqual(0))
+                .description("Titles with no copy left")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a rejection given its {@link BorrowRules} message; other messages are ignored.
+     */
+    public void rejected(String reason) {
+        Counter counter = rejections.get(reason);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public void overdueSwept(long loans) {
+        overdueSwept.increment(loans);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("library.borrow.rejections")
+                .description("Borrow requests refused by a borrow rule")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,87 +1,352 @@
 package com.ft.library.service.impl;
 
+import com.ft.library.config.ConcurrencyMode;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.domain.FeeSchedule;
 import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.exception.InvalidBatchRequestException;
+import com.ft.library.exception.InvalidCursorException;
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
 import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.PageResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
 import com.ft.library.model.entity.Book;
 import com.ft.library.model.entity.BorrowEntry;
 import com.ft.library.model.entity.Member;
 import com.ft.library.model.enums.BorrowStatus;
-import com.ft.library.model.enums.MembershipStatus;
 import com.ft.library.repository.BorrowRepository;
 import com.ft.library.service.BookService;
 import com.ft.library.service.BorrowService;
 import com.ft.library.service.MemberService;
+import com.ft.library.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("library.service")
 @RequiredArgsConstructor
 public class BorrowServiceImpl implements BorrowService {
 
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final BorrowRepository borrowRepository;
 
     private final BookService bookService;
 
     private final MemberService memberService;
 
+    private final LibraryProperties libraryProperties;
+
+    private final BorrowMetrics borrowMetrics;
+
+    private final FeeSchedule feeSchedule;
+
+    private final CatalogVersion catalogVersion;
+
     @Override
     @Transactional
-    public BorrowEntry borrowBook(CreateBorrowRequest request) {
-        boolean isBookAlreadyBorrowedByMember = borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndBorrowStatus(
-                request.getBookId(), request.getMemberId(), BorrowStatus.ACTIVE
+    public BorrowResponse borrowBook(CreateBorrowRequest request) {
+        boolean isBookAlreadyBorrowedByMember = borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(
+                request.getBookId(), request.getMemberId()
         );
         if (isBookAlreadyBorrowedByMember) {
-            throw new BookNotAvailableException("Book is Already Borrowed by Member");
+            throw rejection(BorrowRules.ALREADY_BORROWED);
         }
 
-        Book requestedBook = bookService.getBookById(request.getBookId());
+        // OPTIMISTIC mode writes the stock through the versioned entity, so it needs the managed row rather than a cached copy.
+        Book requestedBook = usesConditionalUpdates()
+                ? bookService.getBookById(request.getBookId())
+                : bookService.getBookForUpdate(request.getBookId());
         if (requestedBook.getQuantityAvailable().compareTo(0) <= 0) {
-            throw new BookNotAvailableException("Book Stock Not Available");
+            throw rejection(BorrowRules.STOCK_NOT_AVAILABLE);
         }
 
         Member requesterMember = memberService.getMemberById(request.getMemberId());
-        if (MembershipStatus.SUSPENDED.equals(requesterMember.getMembershipStatus())) {
-            throw new BookNotAvailableException("Member Status is Suspended");
+        if (memberService.isMemberSuspended(requesterMember.getId())) {
+            throw rejection(BorrowRules.MEMBER_SUSPENDED);
         }
 
+        // In CONDITIONAL_UPDATE mode the check above only rejects early and the conditional update is authoritative.
+        // In OPTIMISTIC mode the versioned flush of the change below rejects concurrent writers instead.
+        if (usesConditionalUpdates() && !bookService.decreaseStock(requestedBook.getId())) {
+            throw rejection(BorrowRules.STOCK_NOT_AVAILABLE);
+        }
         requestedBook.setQuantityAvailable(requestedBook.getQuantityAvailable() - 1);
+        catalogVersion.bookChanged(requestedBook.getId());
+
         LocalDateTime now = LocalDateTime.now();
         BorrowEntry borrowEntry = BorrowEntry.builder()
                 .book(requestedBook)
                 .member(requesterMember)
                 .borrowDate(now)
-                .dueDate(now.plusDays(7))
+                .dueDate(BorrowRules.dueDate(now))
                 .returnDate(null)
                 .borrowStatus(BorrowStatus.ACTIVE)
                 .penaltyAmount(BigDecimal.ZERO)
                 .build();
         borrowRepository.save(borrowEntry);
-        return borrowEntry;
+        return BorrowResponse.from(borrowEntry);
     }
 
     @Override
     @Transactional
-    public BorrowEntry returnBook(long borrowId) {
-        BorrowEntry foundBorrowRecord = borrowRepository.findById(borrowId).orElseThrow(() -> new BookNotAvailableException("Borrow Record Not Found"));
+    public List<BorrowItemResult> borrowBooks(CreateBatchBorrowRequest request) {
+        List<Long> bookIds = request.getBookIds() == null ? List.of() : request.getBookIds();
+        int maxBatchSize = libraryProperties.getBorrow().getMaxBatchSize();
+        if (bookIds.isEmpty() || bookIds.size() > maxBatchSize) {
+            throw new InvalidBatchRequestException("Batch Must Contain Between 1 and " + maxBatchSize + " Books");
+        }
 
+        Member requesterMember = memberService.getMemberById(request.getMemberId());
+        boolean isMemberSuspended = memberService.isMemberSuspended(requesterMember.getId());
+        Map<Long, Book> booksById = bookService.getBooksByIds(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Set<Long> borrowedBookIds = new HashSet<>(borrowRepository.findOpenLoanBookIdsByMemberIdAndBookIds(
+                request.getMemberId(), bookIds));
+
+        // Same rule order as borrowBook; a repeated id counts as already borrowed by the earlier occurrence.
+        String[] rejections = new String[bookIds.size()];
+        List<Long> eligibleBookIds = new ArrayList<>();
+        for (int i = 0; i < bookIds.size(); i++) {
+            Long bookId = bookIds.get(i);
+            Book book = booksById.get(bookId);
+            if (!borrowedBookIds.add(bookId)) {
+                rejections[i] = BorrowRules.ALREADY_BORROWED;
+            } else if (book == null) {
+                rejections[i] = "Book not found";
+            } else if (book.getQuantityAvailable().compareTo(0) <= 0) {
+                rejections[i] = BorrowRules.STOCK_NOT_AVAILABLE;
+            } else if (isMemberSuspended) {
+                rejections[i] = BorrowRules.MEMBER_SUSPENDED;
+            } else {
+                eligibleBookIds.add(bookId);
+            }
+        }
+
+        boolean[] decreased = bookService.decreaseStock(eligibleBookIds);
         LocalDateTime now = LocalDateTime.now();
-        if (foundBorrowRecord.getDueDate().isBefore(now)) {
-            long daysOverdue = foundBorrowRecord.getDueDate().until(LocalDateTime.now(), ChronoUnit.DAYS);
-            foundBorrowRecord.setPenaltyAmount(BigDecimal.valueOf(daysOverdue));
-            foundBorrowRecord.setBorrowStatus(BorrowStatus.OVERDUE);
-        } else {
-            foundBorrowRecord.setBorrowStatus(BorrowStatus.RETURNED);
+        Map<Long, BorrowEntry> entriesByBookId = new HashMap<>();
+        for (int i = 0; i < eligibleBookIds.size(); i++) {
+            if (!decreased[i]) {
+                continue;
+            }
+            Book book = booksById.get(eligibleBookIds.get(i));
+            book.setQuantityAvailable(book.getQuantityAvailable() - 1);
+            entriesByBookId.put(book.getId(), BorrowEntry.builder()
+                    .book(book)
+                    .member(requesterMember)
+                    .borrowDate(now)
+                    .dueDate(BorrowRules.dueDate(now))
+                    .returnDate(null)
+                    .borrowStatus(BorrowStatus.ACTIVE)
+                    .penaltyAmount(BigDecimal.ZERO)
+                    .build());
         }
+        borrowRepository.saveAll(entriesByBookId.values());
+        catalogVersion.booksChanged(entriesByBookId.keySet());
 
-        foundBorrowRecord.getBook().setQuantityAvailable(foundBorrowRecord.getBook().getQuantityAvailable() + 1);
-        foundBorrowRecord.setReturnDate(LocalDateTime.now());
+        List<BorrowItemResult> results = new ArrayList<>(bookIds.size());
+        for (int i = 0; i < bookIds.size(); i++) {
+            Long bookId = bookIds.get(i);
+            if (rejections[i] != null) {
+                borrowMetrics.rejected(rejections[i]);
+                results.add(BorrowItemResult.error(bookId, rejections[i]));
+            } else if (entriesByBookId.containsKey(bookId)) {
+                results.add(BorrowItemResult.success(bookId, BorrowResponse.from(entriesByBookId.get(bookId))));
+            } else {
+                borrowMetrics.rejected(BorrowRules.STOCK_NOT_AVAILABLE);
+                results.add(BorrowItemResult.error(bookId, BorrowRules.STOCK_NOT_AVAILABLE));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public BorrowResponse returnBook(long borrowId) {
+        BorrowEntry foundBorrowRecord = borrowRepository.findById(borrowId).orElseThrow(() -> new BookNotAvailableException(BorrowRules.BORROW_RECORD_NOT_FOUND));
+        if (foundBorrowRecord.getReturnDate() != null) {
+            throw new BookNotAvailableException(BorrowRules.ALREADY_RETURNED);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (BorrowRules.isOverdue(foundBorrowRecord.getDueDate(), now)) {
+            long penaltyCents = feeSchedule.centsFor(BorrowRules.daysOverdue(foundBorrowRecord.getDueDate(), now));
+            foundBorrowRecord.setPenaltyCents(penaltyCents);
+            foundBorrowRecord.setPenaltyAmount(FeeSchedule.toAmount(penaltyCents));
+        }
+        foundBorrowRecord.setBorrowStatus(BorrowRules.returnStatus(foundBorrowRecord.getDueDate(), now));
+        foundBorrowRecord.setReturnDate(now);
         borrowRepository.save(foundBorrowRecord);
-        return foundBorrowRecord;
+
+        // The book stays an unloaded reference: its id comes from the loan row and the response carries only that.
+        Long bookId = foundBorrowRecord.getBook().getId();
+        if (usesConditionalUpdates()) {
+            bookService.increaseStock(bookId);
+        } else {
+            // Going through the service schedules the cache eviction for the versioned write.
+            Book returnedBook = bookService.getBookForUpdate(bookId);
+            returnedBook.setQuantityAvailable(returnedBook.getQuantityAvailable() + 1);
+        }
+        catalogVersion.bookChanged(bookId);
+        return BorrowResponse.from(foundBorrowRecord);
+    }
+
+    @Override
+    @Transactional
+    public List<ReturnItemResult> returnBooks(List<Long> borrowIds) {
+        List<Long> requestedIds = borrowIds == null ? List.of() : borrowIds;
+        int maxBatchSize = libraryProperties.getBorrow().getMaxBatchSize();
+        if (requestedIds.isEmpty() || requestedIds.size() > maxBatchSize) {
+            throw new InvalidBatchRequestException("Batch Must Contain Between 1 and " + maxBatchSize + " Borrow Records");
+        }
+
+        Map<Long, BorrowRepository.ReturnCandidate> loansById = borrowRepository.findAllForReturnByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(BorrowRepository.ReturnCandidate::getId, Function.identity()));
+
+        // Same penalty rule as returnBook, grouped so each distinct (status, penalty) pair is a single update.
+        LocalDateTime now = LocalDateTime.now();
+        String[] rejections = new String[requestedIds.size()];
+        long[] penaltyCents = new long[requestedIds.size()];
+        Set<Long> returnedIds = new HashSet<>();
+        List<Long> onTimeIds = new ArrayList<>();
+        Map<Long, List<Long>> overdueIdsByCents = new TreeMap<>();
+        Map<Long, Integer> copiesByBookId = new HashMap<>();
+        for (int i = 0; i < requestedIds.size(); i++) {
+            Long borrowId = requestedIds.get(i);
+            BorrowRepository.ReturnCandidate loan = loansById.get(borrowId);
+            if (loan == null) {
+                rejections[i] = BorrowRules.BORROW_RECORD_NOT_FOUND;
+                continue;
+            }
+            if (loan.getReturnDate() != null || !returnedIds.add(borrowId)) {
+                rejections[i] = BorrowRules.ALREADY_RETURNED;
+                continue;
+            }
+
+            if (BorrowRules.isOverdue(loan.getDueDate(), now)) {
+                penaltyCents[i] = feeSchedule.centsFor(BorrowRules.daysOverdue(loan.getDueDate(), now));
+                overdueIdsByCents.computeIfAbsent(penaltyCents[i], cents -> new ArrayList<>()).add(borrowId);
+            } else {
+                onTimeIds.add(borrowId);
+            }
+            copiesByBookId.merge(loan.getBookId(), 1, Integer::sum);
+        }
+
+        if (!onTimeIds.isEmpty()) {
+            borrowRepository.markReturned(onTimeIds, BorrowStatus.RETURNED, BigDecimal.ZERO, 0, now);
+        }
+        overdueIdsByCents.forEach((cents, ids) ->
+                borrowRepository.markReturned(ids, BorrowStatus.OVERDUE, FeeSchedule.toAmount(cents), cents, now));
+        if (!copiesByBookId.isEmpty()) {
+            bookService.increaseStock(copiesByBookId);
+            catalogVersion.booksChanged(copiesByBookId.keySet());
+        }
+
+        List<ReturnItemResult> results = new ArrayList<>(requestedIds.size());
+        for (int i = 0; i < requestedIds.size(); i++) {
+            Long borrowId = requestedIds.get(i);
+            if (rejections[i] != null) {
+                results.add(ReturnItemResult.error(borrowId, rejections[i]));
+            } else {
+                BorrowRepository.ReturnCandidate loan = loansById.get(borrowId);
+                results.add(ReturnItemResult.success(borrowId, BorrowResponse.builder()
+                        .id(borrowId)
+                        .bookId(loan.getBookId())
+                        .memberId(loan.getMemberId())
+                        .borrowDate(loan.getBorrowDate())
+                        .dueDate(loan.getDueDate())
+                        .returnDate(now)
+                        .borrowStatus(BorrowRules.returnStatus(loan.getDueDate(), now))
+                        .penaltyAmount(FeeSchedule.toAmount(penaltyCents[i]))
+                        .build()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OutstandingPenaltyResponse getOutstandingPenalty(long memberId) {
+        memberService.getMemberById(memberId);
+        BorrowRepository.OutstandingPenalty outstanding = borrowRepository.findOutstandingPenaltyByMemberId(memberId);
+        return OutstandingPenaltyResponse.builder()
+                .memberId(memberId)
+                .openLoans(outstanding.getOpenLoans())
+                .penaltyAmount(FeeSchedule.toAmount(outstanding.getPenaltyCents()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<MemberLoanResponse> getMemberLoans(long memberId, BorrowStatus status, LocalDateTime from,
+                                                           LocalDateTime to, String cursor, Integer size) {
+        memberService.getMemberById(memberId);
+        int pageSize = resolveHistoryPageSize(size);
+        LocalDateTime beforeBorrowDate = HISTORY_END;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                beforeBorrowDate = LocalDateTime.parse(position[0]);
+                beforeId = Long.parseLong(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new InvalidCursorException("Invalid Cursor");
+            }
+        }
+
+        // One extra row tells us whether another page exists without issuing a count query.
+        List<BorrowEntry> loans = borrowRepository.findMemberHistoryPage(memberId,
+                status == null ? EnumSet.allOf(BorrowStatus.class) : EnumSet.of(status),
+                from == null ? HISTORY_START : from, to == null ? HISTORY_END : to,
+                beforeBorrowDate, beforeId, Limit.of(pageSize + 1));
+        List<MemberLoanResponse> page = loans.stream().limit(pageSize).map(MemberLoanResponse::from).toList();
+        if (loans.size() <= pageSize) {
+            return PageResponse.of(page, null);
+        }
+        MemberLoanResponse last = page.get(pageSize - 1);
+        return PageResponse.of(page, CursorCodec.encode(last.getBorrowDate().toString(), String.valueOf(last.getId())));
+    }
+
+    private BookNotAvailableException rejection(String reason) {
+        borrowMetrics.rejected(reason);
+        return new BookNotAvailableException(reason);
+    }
+
+    private boolean usesConditionalUpdates() {
+        return libraryProperties.getBorrow().getConcurrencyMode() == ConcurrencyMode.CONDITIONAL_UPDATE;
+    }
+
+    private int resolveHistoryPageSize(Integer size) {
+        LibraryProperties.Members members = libraryProperties.getMembers();
+        if (size == null || size <= 0) {
+            return members.getHistoryDefaultPageSize();
+        }
+        return Math.min(size, members.getHistoryMaxPageSize());
     }
 
     /*
@@ -0,0 +1,108 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full {@code GET /v1/books} response body, serialized once and kept as bytes (plus a gzip copy) so a list
+ * request is a single write instead of a query and a Jackson pass over every book. The snapshot carries the
+ * catalog ETag read before its build, so it is never labelled newer than its content. Writes do not rebuild
+ * it inline: the refresher notices the catalog version moved and rebuilds once writes have been quiet for the
+ * debounce window, or once the snapshot is older than the max staleness when they never go quiet. Until then
+ * readers get the previous snapshot. Off by default, since it holds the whole catalog in memory twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotCache {
+
+    private final BookRepository bookRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final LibraryProperties libraryProperties;
+
+    private final CatalogVersion catalogVersion;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile CatalogSnapshot snapshot;
+
+    /**
+     * Current snapshot, or null when snapshots are disabled or the first build has not finished.
+     */
+    public CatalogSnapshot current() {
+        return libraryProperties.getCatalog().getSnapshot().isEnabled() ? snapshot : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LibraryProperties.Snapshot settings = libraryProperties.getCatalog().getSnapshot();
+        if (!settings.isEnabled() || !buildLock.tryLock()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            String etag = catalogVersion.catalogETag();
+            long lastModified = catalogVersion.lastModifiedMillis();
+            ByteArrayOutputStream json = new ByteArrayOutputStream(64 * 1024);
+            BookCatalogWriter.write(objectMapper, bookRepository,
+                    libraryProperties.getCatalog().getStreamFetchSize(), json);
+            byte[] jsonBytes = json.toByteArray();
+            byte[] gzipBytes = settings.isGzip() ? gzip(jsonBytes) : null;
+            snapshot = CatalogSnapshot.builder()
+                    .json(jsonBytes)
+                    .gzip(gzipBytes)
+                    .etag(etag)
+                    .lastModified(lastModified)
+                    .builtAtMillis(System.currentTimeMillis())
+                    .build();
+            log.info("Built catalog snapshot of {} bytes ({} gzipped) in {} ms", jsonBytes.length,
+                    gzipBytes == null ? "not" : gzipBytes.length, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${library.catalog.snapshot.refresh-interval-ms:250}",
+            initialDelayString = "${library.catalog.snapshot.refresh-interval-ms:250}")
+    @Transactional(readOnly = true)
+    public void refreshOnSchedule() {
+        LibraryProperties.Snapshot settings = libraryProperties.getCatalog().getSnapshot();
+        CatalogSnapshot current = snapshot;
+        if (!settings.isEnabled() || (current != null && current.getEtag().equals(catalogVersion.catalogETag()))) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean quiet = now - catalogVersion.lastModifiedMillis() >= settings.getDebounceMs();
+        if (current == null || quiet || now - current.getBuiltAtMillis() >= settings.getMaxStalenessMs()) {
+            rebuild();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 64 * 1024)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
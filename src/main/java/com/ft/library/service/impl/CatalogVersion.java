@@ -0,0 +1,89 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.util.LongLongHashMap;
+import com.ft.library.util.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catalog-wide change counter behind the conditional book reads. Every committed write to a book bumps the
+ * counter and stamps the book with the new value, so both the list and the single-book ETag come from memory
+ * and a matching {@code If-None-Match} is answered before any query runs. Books not written since startup
+ * share stamp 0; the counter starts over on restart, so every tag also carries the boot time and a tag from an
+ * earlier process never matches. Like the other in-memory indexes it only sees the writes of this instance.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongLongHashMap versionsByBook = new LongLongHashMap(1024, 0L);
+
+    private volatile long lastModifiedMillis = System.currentTimeMillis();
+
+    /**
+     * Bumps the catalog and the book once the surrounding transaction commits; a rollback leaves both alone.
+     */
+    public void bookChanged(long id) {
+        booksChanged(List.of(id));
+    }
+
+    public void booksChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        TransactionCallbacks.onCompletion(committed -> {
+            if (committed) {
+                bump(changed);
+            }
+        });
+    }
+
+    public String catalogETag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    public String bookETag(long id) {
+        long stamp;
+        lock.readLock().lock();
+        try {
+            stamp = versionsByBook.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return "W/\"" + epoch + "-" + id + "-" + stamp + "\"";
+    }
+
+    /**
+     * Time of the last committed catalog write, or startup. Used for single books as well: it may be later than
+     * the book's own change, never earlier.
+     */
+    public long lastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    private void bump(List<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            long next = version.incrementAndGet();
+            for (Long id : ids) {
+                if (id != 0L) {
+                    versionsByBook.put(id, next);
+                }
+            }
+            lastModifiedMillis = System.currentTimeMillis();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
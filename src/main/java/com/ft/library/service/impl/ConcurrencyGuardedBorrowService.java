@@ -0,0 +1,137 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.PageResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.service.BorrowService;
+import com.ft.library.util.StripedLock;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Wraps {@link BorrowServiceImpl} so every attempt runs in its own transaction. Optimistic lock failures
+ * are retried with full-jitter backoff, and when enabled a striped in-JVM lock keyed by book id
+ * serializes hot titles before they reach the database. Grouped returns take the same stripe and retry.
+ */
+@Service
+@Timed("library.service")
+@Primary
+public class ConcurrencyGuardedBorrowService implements BorrowService {
+
+    private final BorrowServiceImpl delegate;
+
+    private final BorrowRepository borrowRepository;
+
+    private final LibraryProperties.Borrow properties;
+
+    private final ReturnGroupCommitter returnGroupCommitter;
+
+    private final StripedLock stripedLock;
+
+    public ConcurrencyGuardedBorrowService(BorrowServiceImpl delegate,
+                                           BorrowRepository borrowRepository,
+                                           ReturnGroupCommitter returnGroupCommitter,
+                                           LibraryProperties libraryProperties) {
+        this.delegate = delegate;
+        this.borrowRepository = borrowRepository;
+        this.returnGroupCommitter = returnGroupCommitter;
+        this.properties = libraryProperties.getBorrow();
+        this.stripedLock = new StripedLock(properties.getLockStripes());
+    }
+
+    @Override
+    public BorrowResponse borrowBook(CreateBorrowRequest request) {
+        return guarded(request.getBookId(), () -> delegate.borrowBook(request));
+    }
+
+    @Override
+    public List<BorrowItemResult> borrowBooks(CreateBatchBorrowRequest request) {
+        // Batches span many titles, so they rely on the conditional updates rather than the per-book stripes.
+        return withRetry(() -> delegate.borrowBooks(request));
+    }
+
+    @Override
+    public BorrowResponse returnBook(long borrowId) {
+        Long bookId = properties.isStripedLockEnabled()
+                ? borrowRepository.findBookIdById(borrowId).orElse(null)
+                : null;
+        if (returnGroupCommitter.isEnabled()) {
+            // The stripe is held until the group commits, and a stale group member is resubmitted like any retry.
+            return guarded(bookId, () -> returnGroupCommitter.returnBook(borrowId));
+        }
+        return guarded(bookId, () -> delegate.returnBook(borrowId));
+    }
+
+    @Override
+    public List<ReturnItemResult> returnBooks(List<Long> borrowIds) {
+        return withRetry(() -> delegate.returnBooks(borrowIds));
+    }
+
+    @Override
+    public OutstandingPenaltyResponse getOutstandingPenalty(long memberId) {
+        return delegate.getOutstandingPenalty(memberId);
+    }
+
+    @Override
+    public PageResponse<MemberLoanResponse> getMemberLoans(long memberId, BorrowStatus status, LocalDateTime from,
+                                                           LocalDateTime to, String cursor, Integer size) {
+        return delegate.getMemberLoans(memberId, status, from, to, cursor, size);
+    }
+
+    private <T> T guarded(Long bookId, Supplier<T> action) {
+        if (!properties.isStripedLockEnabled() || bookId == null) {
+            return withRetry(action);
+        }
+
+        Lock lock = stripedLock.get(bookId);
+        lock.lock();
+        try {
+            return withRetry(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T withRetry(Supplier<T> action) {
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(properties.getRetryMaxDelayMs(), properties.getRetryBaseDelayMs() << Math.min(attempt, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.model.dto.response.PinningReport;
+import com.ft.library.service.DiagnosticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class DiagnosticsServiceImpl implements DiagnosticsService {
+
+    private final VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Override
+    public PinningReport getPinningReport() {
+        return virtualThreadPinningMonitor.report();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.util.IsbnNormalizer;
+import com.ft.library.util.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index from normalized ISBN-13 to book id. It is built once the application is ready and kept
+ * up to date by book writes. A hit is only a hint: callers re-check the fetched row and fall back to the
+ * exact column lookup, so a write that raced the startup rebuild costs one extra query, not a wrong answer.
+ */
+@Component
+@RequiredArgsConstructor
+public class IsbnIndex {
+
+    public static final long MISSING = -1L;
+
+    private final BookRepository bookRepository;
+
+    private final LibraryProperties libraryProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LongLongHashMap bookIdsByIsbn = new LongLongHashMap(16, MISSING);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LongLongHashMap rebuilt = new LongLongHashMap((int) Math.min(bookRepository.count(), Integer.MAX_VALUE), MISSING);
+        bookRepository.streamIsbns(libraryProperties.getCatalog().getStreamFetchSize(), (isbn, bookId) -> {
+            long isbn13 = IsbnNormalizer.toIsbn13(isbn);
+            if (isbn13 != IsbnNormalizer.INVALID) {
+                rebuilt.put(isbn13, bookId);
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            bookIdsByIsbn = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long findBookId(long isbn13) {
+        lock.readLock().lock();
+        try {
+            return bookIdsByIsbn.get(isbn13);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String isbn, long bookId) {
+        long isbn13 = IsbnNormalizer.toIsbn13(isbn);
+        if (isbn13 == IsbnNormalizer.INVALID) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            bookIdsByIsbn.put(isbn13, bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String isbn, long bookId) {
+        long isbn13 = IsbnNormalizer.toIsbn13(isbn);
+        if (isbn13 == IsbnNormalizer.INVALID) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (bookIdsByIsbn.get(isbn13) == bookId) {
+                bookIdsByIsbn.remove(isbn13);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bookIdsByIsbn.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
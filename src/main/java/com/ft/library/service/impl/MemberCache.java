@@ -0,0 +1,74 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.entity.Member;
+import com.ft.library.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for members by id, with the same copy-on-read and evict-after-completion rules as
+ * {@link BookCache}.
+ */
+@Component
+public class MemberCache {
+
+    private final boolean enabled;
+
+    private final Cache<Long, Member> membersById;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public MemberCache(LibraryProperties libraryProperties) {
+        LibraryProperties.Cache config = libraryProperties.getMembers().getCache();
+        this.enabled = config.isEnabled();
+        this.membersById = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .build();
+    }
+
+    public Optional<Member> getById(long id, Supplier<Optional<Member>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Member cached = membersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        long observed = invalidations.get();
+        Optional<Member> loaded = loader.get();
+        loaded.ifPresent(member -> {
+            membersById.put(id, copyOf(member));
+            if (invalidations.get() != observed) {
+                membersById.invalidate(id);
+            }
+        });
+        return loaded.map(MemberCache::copyOf);
+    }
+
+    public void evict(long id) {
+        TransactionCallbacks.runNowAndAfterCompletion(() -> {
+            invalidations.incrementAndGet();
+            membersById.invalidate(id);
+        });
+    }
+
+    private static Member copyOf(Member member) {
+        return Member.builder()
+                .id(member.getId())
+                .firstName(member.getFirstName())
+                .lastName(member.getLastName())
+                .email(member.getEmail())
+                .membershipDate(member.getMembershipDate())
+                .membershipStatus(member.getMembershipStatus())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.MemberRepository;
+import com.ft.library.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over registered emails so signups with a new address skip the duplicate lookup. A negative
+ * answer is definite; a positive one only means "check the table". The filter is sized at twice the member
+ * count and rebuilt in the background once insertions pass that capacity. Emails added while a rebuild runs
+ * can be missing from the new filter, so the unique index on {@code members.email} remains the final guard.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberEmailFilter {
+
+    private final MemberRepository memberRepository;
+
+    private final LibraryProperties libraryProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Spring Boot's executor, which runs on virtual threads when spring.threads.virtual.enabled is set.
+    private final TaskExecutor applicationTaskExecutor;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile BloomFilter filter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LibraryProperties.EmailFilter config = libraryProperties.getMembers().getEmailFilter();
+        if (!config.isEnabled()) {
+            return;
+        }
+        long capacity = Math.max(config.getMinCapacity(), memberRepository.count() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, config.getFalsePositiveRate());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = memberRepository.streamAllEmails()) {
+                emails.forEach(email -> rebuilt.add(normalize(email)));
+            }
+        });
+        filter = rebuilt;
+    }
+
+    /**
+     * Returns {@code false} only when the email is certainly not registered. Before the first build, or with
+     * the filter disabled, every email might be registered.
+     */
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return !libraryProperties.getMembers().getEmailFilter().isEnabled()
+                || current == null || email == null || current.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current == null || email == null) {
+            return;
+        }
+        current.add(normalize(email));
+        if (current.insertions() > current.capacity() && rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::rebuild, applicationTaskExecutor)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            log.warn("Member email filter rebuild failed", error);
+                        }
+                        rebuilding.set(false);
+                    });
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
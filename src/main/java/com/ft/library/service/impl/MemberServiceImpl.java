@@ -7,22 +7,36 @@ import com.ft.library.model.entity.Member;
 import com.ft.library.model.enums.MembershipStatus;
 import com.ft.library.repository.MemberRepository;
 import com.ft.library.service.MemberService;
+import com.ft.library.util.TransactionCallbacks;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
 @Service
+@Timed("library.service")
 @RequiredArgsConstructor
 public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
 
+    private final MemberCache memberCache;
+
+    private final SuspendedMemberIndex suspendedMemberIndex;
+
+    private final MemberEmailFilter memberEmailFilter;
+
     @Override
     public void createMember(CreateMemberRequest createMemberRequest) {
-        memberRepository.findByEmail(createMemberRequest.getEmail()).ifPresent(member -> {
-            throw new MemberAlreadyExistsException("Member Already Exists");
-        });
+        // A definite miss in the filter skips the lookup; the unique email index still rejects a racing duplicate.
+        if (memberEmailFilter.mightExist(createMemberRequest.getEmail())) {
+            memberRepository.findByEmail(createMemberRequest.getEmail()).ifPresent(member -> {
+                throw new MemberAlreadyExistsException("Member Already Exists");
+            });
+        }
 
         Member newMember = Member.builder()
                 .firstName(createMemberRequest.getFirstName())
@@ -32,12 +46,26 @@ public class MemberServiceImpl implements MemberService {
                 .membershipStatus(MembershipStatus.ACTIVE)
                 .build();
 
-        memberRepository.save(newMember);
+        try {
+            memberRepository.save(newMember);
+        } catch (DataIntegrityViolationException e) {
+            throw new MemberAlreadyExistsException("Member Already Exists");
+        }
+        memberEmailFilter.add(newMember.getEmail());
     }
 
     @Override
     public Member getMemberById(long id) {
-        return memberRepository.findById(id).orElseThrow(() -> new MemberNotFoundException("Member Not Found"));
+        return memberCache.getById(id, () -> memberRepository.findById(id))
+                .orElseThrow(() -> new MemberNotFoundException("Member Not Found"));
+    }
+
+    @Override
+    public boolean isMemberSuspended(long id) {
+        if (suspendedMemberIndex.isReady()) {
+            return suspendedMemberIndex.contains(id);
+        }
+        return MembershipStatus.SUSPENDED.equals(getMemberById(id).getMembershipStatus());
     }
 
     @Override
@@ -47,6 +75,29 @@ public class MemberServiceImpl implements MemberService {
         member.setLastName(createMemberRequest.getLastName());
         member.setEmail(createMemberRequest.getEmail());
 
+        try {
+            memberRepository.save(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new MemberAlreadyExistsException("Member Already Exists");
+        }
+        memberCache.evict(id);
+        memberEmailFilter.add(member.getEmail());
+    }
+
+    @Override
+    @Transactional
+    public void updateMembershipStatus(long id, MembershipStatus membershipStatus) {
+        Member member = memberRepository.findById(id).orElseThrow(() -> new MemberNotFoundException("Member Not Found"));
+        boolean wasSuspended = MembershipStatus.SUSPENDED.equals(member.getMembershipStatus());
+        boolean isSuspended = MembershipStatus.SUSPENDED.equals(membershipStatus);
+        member.setMembershipStatus(membershipStatus);
+
         memberRepository.save(member);
+        memberCache.evict(id);
+        // A suspension blocks borrowing before the commit; lifting one waits for it, and a rollback restores the bit.
+        if (isSuspended) {
+            suspendedMemberIndex.set(id, true);
+        }
+        TransactionCallbacks.onCompletion(committed -> suspendedMemberIndex.set(id, committed ? isSuspended : wasSuspended));
     }
 }
@@ -0,0 +1,93 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.entity.SweepCheckpoint;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.SweepCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves loans that are past due and still out from ACTIVE to OVERDUE, one chunk per transaction. A chunk reads
+ * the next keys from the open-loan due-date index after the stored checkpoint, flips them with one UPDATE and
+ * advances the checkpoint in the same commit, so a crash loses at most the chunk in flight. The checkpoint also
+ * carries over between runs: due dates are fixed at borrow time and always in the future, so each run only
+ * visits loans that fell due since the previous one. Moving the checkpoint back forces a full re-sweep.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueSweeper {
+
+    static final String CHECKPOINT = "overdue";
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BorrowRepository borrowRepository;
+
+    private final SweepCheckpointRepository sweepCheckpointRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LibraryProperties libraryProperties;
+
+    private final BorrowMetrics borrowMetrics;
+
+    @Scheduled(fixedDelayString = "${library.borrow.overdue-sweep.interval-ms:60000}",
+            initialDelayString = "${library.borrow.overdue-sweep.interval-ms:60000}")
+    public void sweepOnSchedule() {
+        if (libraryProperties.getBorrow().getOverdueSweep().isEnabled()) {
+            sweep(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Sweeps every open loan due before {@code cutoff} and returns how many were moved to OVERDUE.
+     */
+    public long sweep(LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, libraryProperties.getBorrow().getOverdueSweep().getChunkSize());
+        long started = System.nanoTime();
+        long swept = 0;
+        Chunk chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> sweepChunk(cutoff, chunkSize));
+            swept += chunk.updated();
+            borrowMetrics.overdueSwept(chunk.updated());
+        } while (chunk.scanned() == chunkSize);
+        if (swept > 0) {
+            log.info("Marked {} loans overdue in {} ms", swept, (System.nanoTime() - started) / 1_000_000);
+        }
+        return swept;
+    }
+
+    private Chunk sweepChunk(LocalDateTime cutoff, int chunkSize) {
+        SweepCheckpoint checkpoint = sweepCheckpointRepository.findForUpdateByName(CHECKPOINT)
+                .orElseGet(() -> SweepCheckpoint.builder().name(CHECKPOINT).lastDueDate(START).lastId(0L).build());
+        List<BorrowRepository.DueKey> keys = borrowRepository.findOpenLoanKeysDueBefore(
+                cutoff, checkpoint.getLastDueDate(), checkpoint.getLastId(), Limit.of(chunkSize));
+        if (keys.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+
+        // Loans already OVERDUE stay in the index until returned; the status condition skips them here.
+        int updated = borrowRepository.updateBorrowStatusOfOpenLoans(
+                keys.stream().map(BorrowRepository.DueKey::getId).toList(), BorrowStatus.ACTIVE, BorrowStatus.OVERDUE);
+        BorrowRepository.DueKey last = keys.get(keys.size() - 1);
+        checkpoint.setLastDueDate(last.getDueDate());
+        checkpoint.setLastId(last.getId());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        sweepCheckpointRepository.save(checkpoint);
+        return new Chunk(keys.size(), updated);
+    }
+
+    private record Chunk(int scanned, int updated) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.domain.FeeSchedule;
+import com.ft.library.repository.BorrowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the penalty on open overdue loans current, so outstanding balances can be read without recomputing
+ * them. A fee only moves when a loan is another whole day overdue, so every loan carries the moment its
+ * accrued penalty stops being current, and each run walks only the loans whose moment has passed, in chunks,
+ * one transaction per chunk. Each overdue loan is therefore read about once a day, spread over the day's runs,
+ * rather than on every run. Every loan read is priced from the {@link FeeSchedule} table and written with one
+ * UPDATE per distinct number of days overdue, which also moves it on to its next day. A changed schedule reaches
+ * each loan at its next day boundary. A return still computes its own final penalty, so a run that is late or
+ * skipped only leaves the outstanding balance behind for a while.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PenaltyEngine {
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BorrowRepository borrowRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final FeeSchedule feeSchedule;
+
+    private final LibraryProperties libraryProperties;
+
+    @Scheduled(fixedDelayString = "${library.penalties.accrual.interval-ms:3600000}",
+            initialDelayString = "${library.penalties.accrual.interval-ms:3600000}")
+    public void accrueOnSchedule() {
+        if (libraryProperties.getPenalties().getAccrual().isEnabled()) {
+            accrue(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Brings the penalty of every open loan whose accrued penalty went stale by {@code now} up to date and
+     * returns how many changed.
+     */
+    public long accrue(LocalDateTime now) {
+        int chunkSize = Math.max(1, libraryProperties.getPenalties().getAccrual().getChunkSize());
+        long started = System.nanoTime();
+        long scanned = 0;
+        long updated = 0;
+        LocalDateTime afterAccruedUntil = START;
+        long afterId = 0;
+        Chunk chunk;
+        do {
+            LocalDateTime chunkAfterAccruedUntil = afterAccruedUntil;
+            long chunkAfterId = afterId;
+            chunk = transactionTemplate.execute(
+                    status -> accrueChunk(now, chunkAfterAccruedUntil, chunkAfterId, chunkSize));
+            scanned += chunk.scanned();
+            updated += chunk.updated();
+            afterAccruedUntil = chunk.lastAccruedUntil();
+            afterId = chunk.lastId();
+        } while (chunk.scanned() == chunkSize);
+        if (scanned > 0) {
+            log.info("Accrued penalties on {} of {} stale overdue loans in {} ms",
+                    updated, scanned, (System.nanoTime() - started) / 1_000_000);
+        }
+        return updated;
+    }
+
+    private Chunk accrueChunk(LocalDateTime now, LocalDateTime afterAccruedUntil, long afterId, int chunkSize) {
+        List<BorrowRepository.AccruedPenalty> loans = borrowRepository.findOpenLoanPenaltiesStaleAt(
+                now, afterAccruedUntil, afterId, Limit.of(chunkSize));
+        if (loans.isEmpty()) {
+            return new Chunk(0, 0, afterAccruedUntil, afterId);
+        }
+
+        Map<Long, List<Long>> idsByDaysOverdue = new HashMap<>();
+        int changed = 0;
+        for (BorrowRepository.AccruedPenalty loan : loans) {
+            long daysOverdue = BorrowRules.daysOverdue(loan.getDueDate(), now);
+            if (feeSchedule.centsFor(daysOverdue) != loan.getPenaltyCents()) {
+                changed++;
+            }
+            idsByDaysOverdue.computeIfAbsent(daysOverdue, key -> new ArrayList<>()).add(loan.getId());
+        }
+        for (Map.Entry<Long, List<Long>> group : idsByDaysOverdue.entrySet()) {
+            long cents = feeSchedule.centsFor(group.getKey());
+            borrowRepository.updateAccruedPenalty(group.getValue(), group.getKey(), cents, FeeSchedule.toAmount(cents));
+        }
+        BorrowRepository.AccruedPenalty last = loans.get(loans.size() - 1);
+        return new Chunk(loans.size(), changed, last.getPenaltyAccruedUntil(), last.getId());
+    }
+
+    private record Chunk(int scanned, int updated, LocalDateTime lastAccruedUntil, long lastId) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects single returns arriving within a short window and commits them as one bulk return, so a
+ * drop-box burst costs one transaction per window instead of one per loan. Every caller still receives
+ * its own loan or its own exception. Callers wait at most {@code timeout-ms}; once stopped, queued and new
+ * returns fail instead of waiting for a worker that is gone.
+ */
+@Component
+public class ReturnGroupCommitter {
+
+    private static final String QUEUE_STOPPED = "Return Queue Stopped";
+
+    private final BorrowServiceImpl borrowService;
+
+    private final LibraryProperties.GroupCommit properties;
+
+    private final int maxItems;
+
+    private final BlockingQueue<PendingReturn> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public ReturnGroupCommitter(BorrowServiceImpl borrowService, LibraryProperties libraryProperties) {
+        this.borrowService = borrowService;
+        this.properties = libraryProperties.getBorrow().getGroupCommit();
+        this.maxItems = Math.max(1, Math.min(properties.getMaxItems(), libraryProperties.getBorrow().getMaxBatchSize()));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "return-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        failPending(new ArrayList<>());
+    }
+
+    public BorrowResponse returnBook(long borrowId) {
+        if (!running) {
+            throw new IllegalStateException(QUEUE_STOPPED);
+        }
+        PendingReturn pending = new PendingReturn(borrowId, new CompletableFuture<>());
+        queue.add(pending);
+        if (!running) {
+            // stop() may have drained the queue before this return was added.
+            failPending(new ArrayList<>());
+        }
+        try {
+            return pending.result().get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued means it was never committed; otherwise the worker holds it and may yet commit it.
+            throw new IllegalStateException(queue.remove(pending) ? "Return Queue Timed Out" : "Return Outcome Unknown", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new IllegalStateException("Interrupted while waiting for return", e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            List<PendingReturn> batch = new ArrayList<>(maxItems);
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs());
+                while (batch.size() < maxItems) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingReturn next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failPending(batch);
+                return;
+            }
+            commit(batch);
+        }
+        failPending(new ArrayList<>());
+    }
+
+    private void failPending(List<PendingReturn> batch) {
+        queue.drainTo(batch);
+        batch.forEach(pending -> pending.result().completeExceptionally(new IllegalStateException(QUEUE_STOPPED)));
+    }
+
+    private void commit(List<PendingReturn> batch) {
+        List<Long> borrowIds = batch.stream().map(PendingReturn::borrowId).toList();
+        List<ReturnItemResult> results;
+        try {
+            results = borrowService.returnBooks(borrowIds);
+        } catch (RuntimeException e) {
+            // A failed group must not fail its neighbours: fall back to one transaction per caller.
+            batch.forEach(this::commitSingle);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            ReturnItemResult result = results.get(i);
+            if ("Success".equals(result.getStatus())) {
+                batch.get(i).result().complete(result.getBorrow());
+            } else {
+                batch.get(i).result().completeExceptionally(new BookNotAvailableException(result.getMessage()));
+            }
+        }
+    }
+
+    private void commitSingle(PendingReturn pending) {
+        try {
+            pending.result().complete(borrowService.returnBook(pending.borrowId()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingReturn(long borrowId, CompletableFuture<BorrowResponse> result) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.MemberRepository;
+import com.ft.library.util.ConcurrentBitSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bitmap of suspended member ids, so the borrow eligibility check is a bit probe instead of a query.
+ * Ids beyond the {@code int} range, which the identity column will not reach in practice, go to a small
+ * overflow set. Until the first rebuild has run {@link #isReady()} is false and callers must ask the database.
+ * Writers share a {@link ReentrantLock} rather than a monitor because the rebuild holds it across a query, which
+ * would pin the carrier thread when running on virtual threads.
+ */
+@Component
+@RequiredArgsConstructor
+public class SuspendedMemberIndex {
+
+    private final MemberRepository memberRepository;
+
+    private final Set<Long> overflow = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile ConcurrentBitSet suspended = new ConcurrentBitSet(0);
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            List<Long> suspendedIds = memberRepository.findIdsByMembershipStatus(MembershipStatus.SUSPENDED);
+            ConcurrentBitSet rebuilt = new ConcurrentBitSet(0);
+            overflow.clear();
+            for (Long id : suspendedIds) {
+                if (id <= Integer.MAX_VALUE) {
+                    rebuilt.set(id.intValue(), true);
+                } else {
+                    overflow.add(id);
+                }
+            }
+            suspended = rebuilt;
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean contains(long memberId) {
+        if (memberId <= Integer.MAX_VALUE) {
+            return memberId >= 0 && suspended.get((int) memberId);
+        }
+        return overflow.contains(memberId);
+    }
+
+    /**
+     * Serialized with {@link #rebuild()}, so a change applied while the rebuild query runs lands on the new bitmap.
+     */
+    public void set(long memberId, boolean isSuspended) {
+        if (memberId < 0) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (memberId <= Integer.MAX_VALUE) {
+                suspended.set((int) memberId, isSuspended);
+            } else if (isSuspended) {
+                overflow.add(memberId);
+            } else {
+                overflow.remove(memberId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return suspended.cardinality() + overflow.size();
+    }
+}
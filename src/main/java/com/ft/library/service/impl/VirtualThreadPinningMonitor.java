@@ -0,0 +1,142 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.PinningReport;
+import com.ft.library.model.dto.response.PinningSiteReport;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens for JFR {@code jdk.VirtualThreadPinned} events while virtual threads are on, and groups them by the
+ * first frame from our code or the persistence stack (Hibernate, Hikari, the JDBC drivers). A virtual thread
+ * that blocks inside {@code synchronized} keeps its carrier thread, so these sites cap throughput no matter
+ * how many virtual threads are running.
+ */
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    static final String OTHER_SITES = "(other)";
+
+    private static final List<String> WATCHED_PACKAGES = List.of(
+            "com.ft.library.", "org.hibernate.", "com.zaxxer.hikari.", "org.postgresql.", "org.h2.");
+
+    private final LibraryProperties libraryProperties;
+
+    private final Environment environment;
+
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+
+    private final LongAdder events = new LongAdder();
+
+    private volatile RecordingStream recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LibraryProperties.Threads config = libraryProperties.getThreads();
+        if (!config.isPinningMonitorEnabled() || !Threading.VIRTUAL.isActive(environment) || recording != null) {
+            return;
+        }
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(config.getPinningThresholdMs()))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        recording = stream;
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream stream = recording;
+        if (stream != null) {
+            recording = null;
+            stream.close();
+        }
+    }
+
+    public PinningReport report() {
+        List<PinningSiteReport> siteReports = sites.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinningSiteReport::getTotalMillis).reversed())
+                .toList();
+        return PinningReport.builder()
+                .virtualThreads(Threading.VIRTUAL.isActive(environment))
+                .monitoring(recording != null)
+                .thresholdMillis(libraryProperties.getThreads().getPinningThresholdMs())
+                .events(events.sum())
+                .sites(siteReports)
+                .build();
+    }
+
+    private void record(RecordedEvent event) {
+        String site = pinnedAt(event.getStackTrace());
+        if (!sites.containsKey(site) && sites.size() >= libraryProperties.getThreads().getPinningMaxSites()) {
+            site = OTHER_SITES;
+        }
+        sites.computeIfAbsent(site, key -> new PinningSite()).add(event.getDuration());
+        // Counted last, so a report that shows an event also shows the site it was grouped under.
+        events.increment();
+    }
+
+    private static String pinnedAt(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return OTHER_SITES;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame pinnedFrame = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && isWatched(frame.getMethod().getType().getName()))
+                .findFirst()
+                .orElse(frames.get(0));
+        return pinnedFrame.getMethod().getType().getName() + "." + pinnedFrame.getMethod().getName()
+                + ":" + pinnedFrame.getLineNumber();
+    }
+
+    private static boolean isWatched(String className) {
+        return WATCHED_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+
+    private static final class PinningSite {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(Duration duration) {
+            long nanos = duration.toNanos();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        PinningSiteReport toReport(String frame) {
+            return PinningSiteReport.builder()
+                    .frame(frame)
+                    .count(count.sum())
+                    .totalMillis(totalNanos.sum() / 1e6)
+                    .maxMillis(maxNanos.get() / 1e6)
+                    .build();
+        }
+    }
+}
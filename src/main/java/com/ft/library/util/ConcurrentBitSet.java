@@ -0,0 +1,65 @@
+package com.ft.library.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Growable bit set with lock-free reads. Writers serialize on the instance, which is fine for data that
+ * changes rarely and is read on every request. Indexes must be non-negative {@code int}s.
+ */
+public class ConcurrentBitSet {
+
+    private volatile AtomicLongArray words;
+
+    public ConcurrentBitSet(int expectedBits) {
+        this.words = new AtomicLongArray(wordCount(Math.max(expectedBits, 64)));
+    }
+
+    public boolean get(int index) {
+        AtomicLongArray current = words;
+        int word = index >>> 6;
+        return word < current.length() && (current.get(word) & (1L << index)) != 0;
+    }
+
+    public synchronized void set(int index, boolean value) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Bit Index Must Not Be Negative");
+        }
+        int word = index >>> 6;
+        AtomicLongArray current = words;
+        if (word >= current.length()) {
+            if (!value) {
+                return;
+            }
+            current = grow(current, word + 1);
+        }
+        long mask = 1L << index;
+        long bits = current.get(word);
+        current.set(word, value ? bits | mask : bits & ~mask);
+    }
+
+    public synchronized void clear() {
+        words = new AtomicLongArray(words.length());
+    }
+
+    public int cardinality() {
+        AtomicLongArray current = words;
+        int count = 0;
+        for (int i = 0; i < current.length(); i++) {
+            count += Long.bitCount(current.get(i));
+        }
+        return count;
+    }
+
+    private AtomicLongArray grow(AtomicLongArray current, int minWords) {
+        AtomicLongArray grown = new AtomicLongArray(Math.max(minWords, current.length() << 1));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+        return grown;
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ft.library.util;
+
+/**
+ * Converts ISBN-10 and ISBN-13 strings, with or without hyphens and spaces, to the ISBN-13 value as a
+ * {@code long}. Anything that is not a well-formed ISBN with a valid check digit maps to {@link #INVALID}.
+ */
+public final class IsbnNormalizer {
+
+    public static final long INVALID = -1L;
+
+    private IsbnNormalizer() {
+    }
+
+    public static long toIsbn13(String isbn) {
+        if (isbn == null) {
+            return INVALID;
+        }
+        char[] digits = new char[13];
+        int length = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (length == digits.length) {
+                return INVALID;
+            }
+            digits[length++] = c;
+        }
+        if (length == 10) {
+            return fromIsbn10(digits);
+        }
+        if (length == 13) {
+            return fromIsbn13(digits);
+        }
+        return INVALID;
+    }
+
+    public static boolean isValid(String isbn) {
+        return toIsbn13(isbn) != INVALID;
+    }
+
+    public static String format(long isbn13) {
+        return String.format("%013d", isbn13);
+    }
+
+    private static long fromIsbn13(char[] digits) {
+        long value = 0;
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            int digit = digits[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            sum += (i % 2 == 0) ? digit : digit * 3;
+            value = value * 10 + digit;
+        }
+        return sum % 10 == 0 ? value : INVALID;
+    }
+
+    private static long fromIsbn10(char[] digits) {
+        // ISBN-10 weights run 10..1; only the check digit may be 'X' (10).
+        int sum = 0;
+        long value = 978;
+        for (int i = 0; i < 10; i++) {
+            char c = digits[i];
+            int digit;
+            if (i == 9 && (c == 'X' || c == 'x')) {
+                digit = 10;
+            } else if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else {
+                return INVALID;
+            }
+            sum += (10 - i) * digit;
+            if (i < 9) {
+                value = value * 10 + digit;
+            }
+        }
+        if (sum % 11 != 0) {
+            return INVALID;
+        }
+        return value * 10 + isbn13CheckDigit(value);
+    }
+
+    private static int isbn13CheckDigit(long first12) {
+        int sum = 0;
+        for (int i = 11; i >= 0; i--) {
+            int digit = (int) (first12 % 10);
+            sum += (i % 2 == 0) ? digit : digit * 3;
+            first12 /= 10;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,227 @@
+package com.ft.library.util;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of non-negative {@code long} postings, delta-encoded as variable-length bytes in blocks of
+ * {@value #BLOCK_SIZE}. Each block starts with its absolute first value and a skip table keeps the block heads,
+ * so a {@link Cursor} reaches a target with a binary search instead of decoding everything before it. Appending
+ * above the last value is O(1); adding below it or removing re-encodes the list, which is fine for postings that
+ * mostly grow at the end. Not thread-safe; callers guard it with their own lock.
+ */
+public class PostingList {
+
+    public static final long END = -1L;
+
+    static final int BLOCK_SIZE = 128;
+
+    private byte[] bytes = new byte[16];
+
+    private int length;
+
+    private long[] blockHeads = new long[1];
+
+    private int[] blockOffsets = new int[1];
+
+    private int blocks;
+
+    private int size;
+
+    private long last = END;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encoded bytes plus the skip table, for sizing the index.
+     */
+    public long memoryBytes() {
+        return length + (long) blocks * (Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Returns false when {@code value} was already present.
+     */
+    public boolean add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative Posting");
+        }
+        if (value > last) {
+            append(value);
+            return true;
+        }
+        long[] values = toArray();
+        int position = Arrays.binarySearch(values, value);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        long[] inserted = new long[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, insertAt);
+        inserted[insertAt] = value;
+        System.arraycopy(values, insertAt, inserted, insertAt + 1, values.length - insertAt);
+        encode(inserted, inserted.length);
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value < 0 || value > last) {
+            return false;
+        }
+        long[] values = toArray();
+        int position = Arrays.binarySearch(values, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, values.length - position - 1);
+        encode(values, values.length - 1);
+        return true;
+    }
+
+    public boolean contains(long value) {
+        return value >= 0 && cursor().advance(value) == value;
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            values[i] = cursor.next();
+        }
+        return values;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void encode(long[] values, int count) {
+        bytes = new byte[Math.max(16, count * 2)];
+        length = 0;
+        blockHeads = new long[Math.max(1, (count + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+        blockOffsets = new int[blockHeads.length];
+        blocks = 0;
+        size = 0;
+        last = END;
+        for (int i = 0; i < count; i++) {
+            append(values[i]);
+        }
+    }
+
+    private void append(long value) {
+        if (size % BLOCK_SIZE == 0) {
+            if (blocks == blockHeads.length) {
+                blockHeads = Arrays.copyOf(blockHeads, blocks * 2);
+                blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+            }
+            blockHeads[blocks] = value;
+            blockOffsets[blocks] = length;
+            blocks++;
+            writeVarLong(value);
+        } else {
+            writeVarLong(value - last);
+        }
+        last = value;
+        size++;
+    }
+
+    private void writeVarLong(long value) {
+        if (length + 10 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader. Both {@link #next()} and {@link #advance(long)} return {@link #END} once the list
+     * is exhausted.
+     */
+    public final class Cursor {
+
+        private int consumed;
+
+        private int offset;
+
+        private long current = END;
+
+        private Cursor() {
+        }
+
+        public long next() {
+            if (consumed >= size) {
+                current = END;
+                return END;
+            }
+            if (consumed % BLOCK_SIZE == 0) {
+                offset = blockOffsets[consumed / BLOCK_SIZE];
+                current = readVarLong();
+            } else {
+                current += readVarLong();
+            }
+            consumed++;
+            return current;
+        }
+
+        /**
+         * Moves to the first posting at or above {@code target} and returns it; never moves backwards.
+         */
+        public long advance(long target) {
+            if (consumed > 0 && (current == END || current >= target)) {
+                return current;
+            }
+            int currentBlock = consumed == 0 ? -1 : (consumed - 1) / BLOCK_SIZE;
+            if (currentBlock + 1 < blocks && blockHeads[currentBlock + 1] <= target) {
+                consumed = lastBlockStartingAtOrBelow(currentBlock + 1, target) * BLOCK_SIZE;
+            }
+            long value;
+            do {
+                value = next();
+            } while (value != END && value < target);
+            return value;
+        }
+
+        /**
+         * Gallops forward from block {@code from}, whose head is known to be at or below {@code target}, then
+         * binary-searches the last stretch, so nearby targets cost a couple of probes instead of a full search.
+         */
+        private int lastBlockStartingAtOrBelow(int from, long target) {
+            int low = from;
+            int step = 1;
+            while (low + step < blocks && blockHeads[low + step] <= target) {
+                low += step;
+                step <<= 1;
+            }
+            int high = Math.min(low + step, blocks) - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (blockHeads[middle] <= target) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
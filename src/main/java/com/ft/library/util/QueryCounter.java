@@ -0,0 +1,55 @@
+package com.ft.library.util;
+
+/**
+ * Per-thread tally of the JDBC statements Hibernate prepares and the entities it loads. Counting only happens
+ * between {@link #start()} and {@link #stop()}, so work outside a tracked request costs one thread-local read.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNTS.set(new Counts());
+    }
+
+    /**
+     * Ends tracking on this thread and returns what was counted since {@link #start()}.
+     */
+    public static Counts stop() {
+        Counts counts = COUNTS.get();
+        COUNTS.remove();
+        return counts == null ? new Counts() : counts;
+    }
+
+    public static void statementPrepared() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    public static void entityLoaded() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    public static final class Counts {
+
+        private long statements;
+
+        private long entityLoads;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ft.library.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash. Keys that share a stripe serialize each other, which is
+ * acceptable because the pool only needs to keep hot keys apart, not to give every key its own lock.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(long key) {
+        int hash = Long.hashCode(key);
+        hash ^= hash >>> 16;
+        return locks[hash & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
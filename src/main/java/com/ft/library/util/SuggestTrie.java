@@ -0,0 +1,302 @@
+package com.ft.library.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Immutable, path-compressed prefix trie over a fixed set of keys, answering "best {@code n} keys starting with
+ * this prefix" without touching the keys that lose. The keys are sorted once, so every node is a contiguous
+ * range of them and a node's label is just the common prefix length of its range; nodes live in parallel
+ * {@code int} arrays, at most two per key, with a node's children stored next to each other. Nodes covering more
+ * than {@code n} keys carry their top {@code n} precomputed from their children; smaller ones rank their range on
+ * the fly. A lookup walks one node per branching character of the prefix and finishes with one string compare.
+ * Thread-safe once built.
+ */
+public final class SuggestTrie {
+
+    private static final int[] NONE = new int[0];
+
+    private final String[] keys;
+
+    private final int[] entries;
+
+    private final int[] rankOfEntry;
+
+    private final int topN;
+
+    private int nodes;
+
+    private int[] depth;
+
+    private int[] low;
+
+    private int[] high;
+
+    private int[] firstChild;
+
+    private int[] childCount;
+
+    private int[] topOffset;
+
+    private int[] topCount;
+
+    private int[] tops = new int[64];
+
+    private int topsLength;
+
+    private SuggestTrie(String[] keys, int[] entries, int[] rankOfEntry, int topN) {
+        this.keys = keys;
+        this.entries = entries;
+        this.rankOfEntry = rankOfEntry;
+        this.topN = topN;
+        int capacity = Math.max(1, keys.length * 2);
+        depth = new int[capacity];
+        low = new int[capacity];
+        high = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        topOffset = new int[capacity];
+        topCount = new int[capacity];
+    }
+
+    /**
+     * Builds the trie over {@code keys[i]}, weighted by {@code weights[i]}. Lookups return indexes into these
+     * arrays, heaviest first and in key order on ties; at most {@code topN} per lookup.
+     */
+    public static SuggestTrie build(String[] keys, long[] weights, int topN) {
+        if (keys.length != weights.length) {
+            throw new IllegalArgumentException("Keys And Weights Differ In Length");
+        }
+        Integer[] byKey = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            byKey[i] = i;
+        }
+        Arrays.sort(byKey, Comparator.comparing((Integer i) -> keys[i]));
+        Integer[] byWeight = byKey.clone();
+        Arrays.sort(byWeight, Comparator.comparingLong((Integer i) -> weights[i]).reversed());
+
+        String[] sortedKeys = new String[keys.length];
+        int[] entries = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedKeys[i] = keys[byKey[i]];
+            entries[i] = byKey[i];
+        }
+        int[] rankOfEntry = new int[keys.length];
+        for (int rank = 0; rank < byWeight.length; rank++) {
+            rankOfEntry[byWeight[rank]] = rank;
+        }
+
+        SuggestTrie trie = new SuggestTrie(sortedKeys, entries, rankOfEntry, Math.max(1, topN));
+        if (keys.length > 0) {
+            trie.nodes = 1;
+            trie.fill(0, 0, keys.length, 0);
+        }
+        trie.trim();
+        return trie;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Ints held by the node arrays and the precomputed top lists, for sizing.
+     */
+    public long memoryBytes() {
+        return (long) nodes * 7 * Integer.BYTES + (long) tops.length * Integer.BYTES;
+    }
+
+    /**
+     * Indexes of the best keys starting with {@code prefix}, at most {@code limit} and never more than the
+     * {@code topN} the trie was built with.
+     */
+    public int[] top(String prefix, int limit) {
+        if (nodes == 0 || limit <= 0) {
+            return NONE;
+        }
+        int node = 0;
+        while (prefix.length() > depth[node]) {
+            node = child(node, prefix.charAt(depth[node]));
+            if (node < 0) {
+                return NONE;
+            }
+        }
+        // Only the branching characters were compared on the way down.
+        if (!keys[low[node]].startsWith(prefix)) {
+            return NONE;
+        }
+
+        int count = Math.min(limit, topN);
+        if (topOffset[node] >= 0) {
+            count = Math.min(count, topCount[node]);
+            int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = entries[tops[topOffset[node] + i]];
+            }
+            return result;
+        }
+        int[] ranked = rankRange(low[node], high[node]);
+        count = Math.min(count, ranked.length);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = entries[ranked[i]];
+        }
+        return result;
+    }
+
+    private int child(int node, char c) {
+        int d = depth[node];
+        int from = firstChild[node];
+        int to = from + childCount[node] - 1;
+        while (from <= to) {
+            int middle = (from + to) >>> 1;
+            char label = keys[low[middle]].charAt(d);
+            if (label < c) {
+                from = middle + 1;
+            } else if (label > c) {
+                to = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fills node {@code node} for sorted keys {@code [from, to)}, all sharing at least {@code minDepth} characters.
+     * Children are allocated as one block before any of them is filled, so they stay adjacent.
+     */
+    private void fill(int node, int from, int to, int minDepth) {
+        int d = Math.max(minDepth, commonPrefix(keys[from], keys[to - 1]));
+        depth[node] = d;
+        low[node] = from;
+        high[node] = to;
+
+        // Shorter keys sort first, so the keys ending exactly at this node lead the range.
+        int branchFrom = from;
+        while (branchFrom < to && keys[branchFrom].length() == d) {
+            branchFrom++;
+        }
+        int children = 0;
+        for (int i = branchFrom; i < to; i = endOfGroup(i, to, d)) {
+            children++;
+        }
+        firstChild[node] = nodes;
+        childCount[node] = children;
+        int child = nodes;
+        nodes += children;
+        ensureNodeCapacity(nodes);
+        for (int i = branchFrom; i < to; ) {
+            int end = endOfGroup(i, to, d);
+            fill(child++, i, end, d + 1);
+            i = end;
+        }
+
+        topOffset[node] = -1;
+        if (to - from > topN) {
+            precomputeTop(node, from, branchFrom);
+        }
+    }
+
+    private void precomputeTop(int node, int from, int branchFrom) {
+        int candidates = branchFrom - from;
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            candidates += topOffset[c] >= 0 ? topCount[c] : high[c] - low[c];
+        }
+        int[] pool = new int[candidates];
+        int size = 0;
+        for (int i = from; i < branchFrom; i++) {
+            pool[size++] = i;
+        }
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            if (topOffset[c] >= 0) {
+                System.arraycopy(tops, topOffset[c], pool, size, topCount[c]);
+                size += topCount[c];
+            } else {
+                for (int i = low[c]; i < high[c]; i++) {
+                    pool[size++] = i;
+                }
+            }
+        }
+        int[] ranked = sortByRank(pool);
+        int count = Math.min(topN, ranked.length);
+        if (topsLength + count > tops.length) {
+            tops = Arrays.copyOf(tops, Math.max(tops.length * 2, topsLength + count));
+        }
+        System.arraycopy(ranked, 0, tops, topsLength, count);
+        topOffset[node] = topsLength;
+        topCount[node] = count;
+        topsLength += count;
+    }
+
+    private int[] rankRange(int from, int to) {
+        int[] pool = new int[to - from];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = from + i;
+        }
+        return sortByRank(pool);
+    }
+
+    /**
+     * Sorts sorted-key positions by the rank of their entry; ranks are distinct, so this is a plain int sort.
+     */
+    private int[] sortByRank(int[] positions) {
+        long[] packed = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            packed[i] = (long) rankOfEntry[entries[positions[i]]] << 32 | positions[i];
+        }
+        Arrays.sort(packed);
+        int[] sorted = new int[positions.length];
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = (int) packed[i];
+        }
+        return sorted;
+    }
+
+    private int endOfGroup(int from, int to, int d) {
+        char c = keys[from].charAt(d);
+        int end = from + 1;
+        while (end < to && keys[end].charAt(d) == c) {
+            end++;
+        }
+        return end;
+    }
+
+    private void trim() {
+        depth = Arrays.copyOf(depth, nodes);
+        low = Arrays.copyOf(low, nodes);
+        high = Arrays.copyOf(high, nodes);
+        firstChild = Arrays.copyOf(firstChild, nodes);
+        childCount = Arrays.copyOf(childCount, nodes);
+        topOffset = Arrays.copyOf(topOffset, nodes);
+        topCount = Arrays.copyOf(topCount, nodes);
+        tops = Arrays.copyOf(tops, topsLength);
+    }
+
+    private void ensureNodeCapacity(int required) {
+        if (required <= depth.length) {
+            return;
+        }
+        int capacity = Math.max(required, depth.length * 2);
+        depth = Arrays.copyOf(depth, capacity);
+        low = Arrays.copyOf(low, capacity);
+        high = Arrays.copyOf(high, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+        topOffset = Arrays.copyOf(topOffset, capacity);
+        topCount = Arrays.copyOf(topCount, capacity);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,14 @@
+DROP INDEX idx_borrow_entries_active_member;
+CREATE INDEX idx_borrow_entries_active_member ON borrow_entries (member_id, book_id, return_date);
+
+CREATE TABLE sweep_checkpoints
+(
+    name          VARCHAR(64)  NOT NULL,
+    last_due_date TIMESTAMP(6) NOT NULL,
+    last_id       BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_sweep_checkpoints PRIMARY KEY (name)
+);
+
+INSERT INTO sweep_checkpoints (name, last_due_date, last_id, updated_at)
+VALUES ('overdue', TIMESTAMP '1970-01-01 00:00:00', 0, CURRENT_TIMESTAMP);
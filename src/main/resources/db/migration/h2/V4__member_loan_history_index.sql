@@ -0,0 +1,3 @@
+-- Serves a member's loan history newest first: the keyset position (borrow_date, id) is an index seek within
+-- the member's entries, so a page costs the same however many loans the member has.
+CREATE INDEX idx_borrow_entries_member_history ON borrow_entries (member_id, borrow_date DESC, id DESC);
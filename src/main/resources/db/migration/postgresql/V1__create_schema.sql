@@ -0,0 +1,56 @@
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE borrow_entries_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE books
+(
+    id                 BIGINT       NOT NULL,
+    title              VARCHAR(255),
+    isbn               VARCHAR(255),
+    author             VARCHAR(255),
+    quantity_available INTEGER,
+    version            BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn)
+);
+
+CREATE TABLE members
+(
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    email             VARCHAR(255),
+    membership_date   TIMESTAMP(6),
+    membership_status VARCHAR(255),
+    CONSTRAINT pk_members PRIMARY KEY (id),
+    CONSTRAINT uk_members_email UNIQUE (email)
+);
+
+CREATE TABLE borrow_entries
+(
+    id             BIGINT        NOT NULL,
+    book_id        BIGINT,
+    member_id      BIGINT,
+    borrow_date    TIMESTAMP(6),
+    due_date       TIMESTAMP(6),
+    return_date    TIMESTAMP(6),
+    borrow_status  VARCHAR(255),
+    penalty_amount NUMERIC(38, 2),
+    version        BIGINT        NOT NULL DEFAULT 0,
+    CONSTRAINT pk_borrow_entries PRIMARY KEY (id),
+    CONSTRAINT fk_borrow_entries_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_borrow_entries_member FOREIGN KEY (member_id) REFERENCES members (id)
+);
+
+-- The duplicate-loan checks on the borrow path only ever ask for ACTIVE loans, so they only need to index those;
+-- returned history never enters this index. The status arrives as a bind parameter, which PostgreSQL matches
+-- against the predicate in its custom plans (a generic plan would seq-scan and is never preferred).
+CREATE INDEX idx_borrow_entries_active_member ON borrow_entries (member_id, book_id) WHERE borrow_status = 'ACTIVE';
+
+-- Loans still out, by due date, for overdue processing.
+CREATE INDEX idx_borrow_entries_open_due ON borrow_entries (due_date) WHERE return_date IS NULL;
+
+-- Foreign key lookups from books (deletes, per-title loan queries).
+CREATE INDEX idx_borrow_entries_book ON borrow_entries (book_id);
+
+-- The suspended-member bitmap is rebuilt from this small slice of members.
+CREATE INDEX idx_members_suspended ON members (id) WHERE membership_status = 'SUSPENDED';
@@ -0,0 +1,22 @@
+-- Loans the overdue sweeper has moved to OVERDUE are still out, so the duplicate-loan checks now look for
+-- unreturned loans rather than ACTIVE ones. The index follows the predicate and still excludes returned history.
+DROP INDEX idx_borrow_entries_active_member;
+CREATE INDEX idx_borrow_entries_active_member ON borrow_entries (member_id, book_id) WHERE return_date IS NULL;
+
+-- The sweeper pages through open loans in (due_date, id) order; with id in the key each chunk is a range scan
+-- that needs no sort.
+DROP INDEX idx_borrow_entries_open_due;
+CREATE INDEX idx_borrow_entries_open_due ON borrow_entries (due_date, id) WHERE return_date IS NULL;
+
+-- Position of each set-based sweep, advanced in the same transaction as the chunk it covers.
+CREATE TABLE sweep_checkpoints
+(
+    name          VARCHAR(64)  NOT NULL,
+    last_due_date TIMESTAMP(6) NOT NULL,
+    last_id       BIGINT       NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_sweep_checkpoints PRIMARY KEY (name)
+);
+
+INSERT INTO sweep_checkpoints (name, last_due_date, last_id, updated_at)
+VALUES ('overdue', TIMESTAMP '1970-01-01 00:00:00', 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,4 @@
+-- Penalties in cents, the unit the accrual engine works in; penalty_amount carries the same value for clients.
+ALTER TABLE borrow_entries ADD COLUMN penalty_cents BIGINT NOT NULL DEFAULT 0;
+
+UPDATE borrow_entries SET penalty_cents = CAST(ROUND(penalty_amount * 100) AS BIGINT) WHERE penalty_amount IS NOT NULL;
@@ -0,0 +1,8 @@
+-- When each open loan's accrued penalty stops being current: the next whole day past its due date. The accrual
+-- run reads only loans whose moment has passed instead of every overdue loan. Rows written without it default
+-- to the epoch, so the next run prices them; existing open loans are due for a first pass at their due date.
+ALTER TABLE borrow_entries ADD COLUMN penalty_accrued_until TIMESTAMP(6) DEFAULT TIMESTAMP '1970-01-01 00:00:00';
+
+UPDATE borrow_entries SET penalty_accrued_until = due_date WHERE return_date IS NULL AND due_date IS NOT NULL;
+
+CREATE INDEX idx_borrow_entries_open_penalty ON borrow_entries (penalty_accrued_until, id) WHERE return_date IS NULL;
@@ -0,0 +1,70 @@
+package com.ft.library;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncExecutionTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncProbeConfig.class);
+
+    @Test
+    void libraryApiApplication_shouldEnableAsync() {
+        assertTrue(AnnotatedElementUtils.hasAnnotation(LibraryApiApplication.class, EnableAsync.class));
+    }
+
+    @Test
+    void asyncMethod_withVirtualThreadsEnabled_shouldRunOnVirtualThread() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            // when
+            Thread worker = context.getBean(AsyncProbe.class).currentThread().get(10, TimeUnit.SECONDS);
+
+            // then
+            assertNotSame(Thread.currentThread(), worker);
+            assertTrue(worker.isVirtual());
+        });
+    }
+
+    @Test
+    void asyncMethod_withPlatformThreads_shouldRunOnPooledPlatformThread() {
+        contextRunner.run(context -> {
+            // when
+            Thread worker = context.getBean(AsyncProbe.class).currentThread().get(10, TimeUnit.SECONDS);
+
+            // then
+            assertNotSame(Thread.currentThread(), worker);
+            assertFalse(worker.isVirtual());
+        });
+    }
+
+    static class AsyncProbe {
+
+        @Async
+        public CompletableFuture<Thread> currentThread() {
+            return CompletableFuture.completedFuture(Thread.currentThread());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAsync
+    static class AsyncProbeConfig {
+
+        @Bean
+        AsyncProbe asyncProbe() {
+            return new AsyncProbe();
+        }
+    }
+}
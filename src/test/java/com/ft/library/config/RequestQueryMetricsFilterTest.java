@@ -0,0 +1,50 @@
+package com.ft.library.config;
+
+import com.ft.library.util.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestQueryMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestQueryMetricsFilter filter = new RequestQueryMetricsFilter(meterRegistry);
+
+    @Test
+    void doFilter_whenHandlerRunsQueries_thenRecordCountsUnderRouteTemplate() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/1");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/books/{id}");
+            QueryCounter.statementPrepared();
+            QueryCounter.statementPrepared();
+            QueryCounter.entityLoaded();
+        });
+
+        // Assert
+        DistributionSummary statements = meterRegistry.get("library.request.statements")
+                .tag("method", "GET").tag("uri", "/v1/books/{id}").summary();
+        DistributionSummary entityLoads = meterRegistry.get("library.request.entity-loads")
+                .tag("method", "GET").tag("uri", "/v1/books/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, entityLoads.totalAmount());
+    }
+
+    @Test
+    void statementPrepared_whenNoRequestTracked_thenIgnored() {
+        // Act
+        QueryCounter.statementPrepared();
+
+        // Assert
+        assertEquals(0, QueryCounter.stop().getStatements());
+    }
+}
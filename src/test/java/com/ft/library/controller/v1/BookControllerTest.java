@@ -1,24 +1,47 @@
 package com.ft.library.controller.v1;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.ft.library.exception.BookNotFoundException;
+import com.ft.library.exception.InvalidCursorException;
 import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.dto.response.BookImportSummary;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.ImportFormat;
+import com.ft.library.model.enums.SuggestionField;
 import com.ft.library.service.BookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -73,6 +96,140 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.data[1].title").value("Effective Java"));
     }
 
+    @Test
+    void getAllBook_whenETagMatches_shouldReturnNotModifiedWithoutLoading() throws Exception {
+        when(bookService.getCatalogETag()).thenReturn("W/\"abc-7\"");
+
+        mockMvc.perform(get("/v1/books").header("If-None-Match", "W/\"abc-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"abc-7\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).getAllBook();
+    }
+
+    @Test
+    void getAllBook_whenETagIsStale_shouldReturnBooksWithCurrentETag() throws Exception {
+        when(bookService.getCatalogETag()).thenReturn("W/\"abc-8\"");
+        when(bookService.getCatalogLastModified()).thenReturn(1_700_000_000_000L);
+        when(bookService.getAllBook()).thenReturn(List.of(cleanCode));
+
+        mockMvc.perform(get("/v1/books").header("If-None-Match", "W/\"abc-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"abc-8\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.data.size()").value(1));
+    }
+
+    @Test
+    void getAllBook_whenSnapshotAndGzipAccepted_shouldWriteCompressedBytes() throws Exception {
+        byte[] gzip = {31, -117, 8, 0};
+        when(bookService.getCatalogSnapshot()).thenReturn(CatalogSnapshot.builder()
+                .json("{}".getBytes(StandardCharsets.UTF_8)).gzip(gzip).etag("W/\"abc-9\"").build());
+
+        mockMvc.perform(get("/v1/books").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                .andExpect(header().string("ETag", "W/\"abc-9\""))
+                .andExpect(content().bytes(gzip));
+
+        verify(bookService, never()).getAllBook();
+    }
+
+    @Test
+    void getAllBook_whenSnapshotAndGzipRefused_shouldWritePlainJson() throws Exception {
+        String json = "{\"status\":\"Success\",\"message\":\"Success\",\"data\":[]}";
+        when(bookService.getCatalogSnapshot()).thenReturn(CatalogSnapshot.builder()
+                .json(json.getBytes(StandardCharsets.UTF_8)).gzip(new byte[]{31}).etag("W/\"abc-9\"").build());
+
+        mockMvc.perform(get("/v1/books").header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.size()").value(0));
+    }
+
+    @Test
+    void getAllBook_whenCborAccepted_shouldEncodeEnvelopeAsCbor() throws Exception {
+        when(bookService.getAllBook()).thenReturn(List.of(cleanCode, effectiveJava));
+
+        byte[] body = mockMvc.perform(get("/v1/books").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode envelope = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("Success", envelope.get("status").asText());
+        assertEquals("Effective Java", envelope.get("data").get(1).get("title").asText());
+    }
+
+    @Test
+    void getAllBook_whenSmileAccepted_shouldEncodeEnvelopeAsSmile() throws Exception {
+        when(bookService.getAllBook()).thenReturn(List.of(cleanCode, effectiveJava));
+
+        byte[] body = mockMvc.perform(get("/v1/books").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode envelope = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals("Success", envelope.get("status").asText());
+        assertEquals("Effective Java", envelope.get("data").get(1).get("title").asText());
+    }
+
+    @Test
+    void getAllBook_whenProtobufAccepted_shouldEncodeWithSchemaOfDeclaredType() throws Exception {
+        when(bookService.getAllBook()).thenReturn(List.of(cleanCode, effectiveJava));
+
+        byte[] body = mockMvc.perform(get("/v1/books").accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        TypeReference<ApiResponse<List<Book>>> type = new TypeReference<>() {
+        };
+        ProtobufSchema schema = protobufMapper.generateSchemaFor(type);
+        ApiResponse<List<Book>> envelope = protobufMapper.readerFor(type).with(schema).readValue(body);
+        assertEquals(2, envelope.getData().size());
+        assertEquals("9780134685991", envelope.getData().get(1).getIsbn());
+    }
+
+    @Test
+    void getAllBook_whenAnyTypeAccepted_shouldStayJson() throws Exception {
+        when(bookService.getAllBook()).thenReturn(List.of(cleanCode));
+
+        mockMvc.perform(get("/v1/books").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data[0].title").value("Clean Code"));
+    }
+
+    @Test
+    void getBookPage_shouldReturnPageWithNextCursor() throws Exception {
+        when(bookService.getBookPage(null, 1)).thenReturn(PageResponse.of(List.of(cleanCode), "MQ"));
+
+        mockMvc.perform(get("/v1/books/page").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.items.size()").value(1))
+                .andExpect(jsonPath("$.data.items[0].title").value("Clean Code"))
+                .andExpect(jsonPath("$.data.next").value("MQ"));
+    }
+
+    @Test
+    void getBookPage_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(bookService.getBookPage("broken", null)).thenThrow(new InvalidCursorException("Invalid Cursor"));
+
+        mockMvc.perform(get("/v1/books/page").param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("Error"))
+                .andExpect(jsonPath("$.message").value("Invalid Cursor"));
+    }
+
     @Test
     void getBookById_shouldReturnBookById() throws Exception {
         when(bookService.getBookById(1L)).thenReturn(cleanCode);
@@ -85,6 +242,28 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.data.author").value("Robert C. Martin"));
     }
 
+    @Test
+    void getBookById_whenETagMatches_shouldReturnNotModifiedWithoutBody() throws Exception {
+        when(bookService.getBookById(1L)).thenReturn(cleanCode);
+        when(bookService.getBookETag(1L)).thenReturn("W/\"abc-1-3\"");
+
+        mockMvc.perform(get("/v1/books/1").header("If-None-Match", "W/\"abc-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getBookById_whenBookNotFoundAndETagMatches_shouldReturnNotFound() throws Exception {
+        when(bookService.getBookById(999L)).thenThrow(new BookNotFoundException("Book not found"));
+
+        mockMvc.perform(get("/v1/books/999").header("If-None-Match", "W/\"abc-999-0\""))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Book not found"));
+
+        verify(bookService, never()).getBookETag(999L);
+    }
+
     @Test
     void getBookById_whenBookNotFound_shouldReturnErrorMessage() throws Exception {
         when(bookService.getBookById(999L))
@@ -120,6 +299,32 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void searchBooks_shouldReturnRankedBooks() throws Exception {
+        when(bookService.searchBooks("clean code", 5)).thenReturn(List.of(cleanCode));
+
+        mockMvc.perform(get("/v1/books/search").param("q", "clean code").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data[0].title").value("Clean Code"));
+    }
+
+    @Test
+    void suggestBooks_shouldReturnSuggestions() throws Exception {
+        when(bookService.suggestBooks("cle", null)).thenReturn(List.of(BookSuggestion.builder()
+                .text("Clean Code")
+                .field(SuggestionField.TITLE)
+                .bookId(1L)
+                .borrowCount(12)
+                .build()));
+
+        mockMvc.perform(get("/v1/books/suggest").param("prefix", "cle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("Clean Code"))
+                .andExpect(jsonPath("$.data[0].field").value("TITLE"))
+                .andExpect(jsonPath("$.data[0].borrowCount").value(12));
+    }
+
     @Test
     void createBook_shouldReturnSuccess() throws Exception {
         mockMvc.perform(post("/v1/books")
@@ -131,6 +336,28 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void createBook_whenProtobufBody_shouldDecodeWithSchemaOfDeclaredType() throws Exception {
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        byte[] body = protobufMapper.writerFor(CreateBookRequest.class)
+                .with(protobufMapper.generateSchemaFor(CreateBookRequest.class))
+                .writeValueAsBytes(createBookRequest);
+
+        mockMvc.perform(post("/v1/books")
+                .contentType("application/x-protobuf")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"));
+
+        ArgumentCaptor<CreateBookRequest> captor = ArgumentCaptor.forClass(CreateBookRequest.class);
+        verify(bookService).createBook(captor.capture());
+        assertEquals("Clean Code", captor.getValue().getTitle());
+        assertEquals("9780132350884", captor.getValue().getIsbn());
+        assertEquals("Robert C. Martin", captor.getValue().getAuthor());
+        assertEquals(10, captor.getValue().getQuantityAvailable());
+    }
+
     @Test
     void createBook_whenServiceThrowException_shouldReturnErrorMessage() throws Exception {
         doThrow(new RuntimeException()).when(bookService).createBook(any(CreateBookRequest.class));
@@ -167,4 +394,42 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.message").value("Book not found"))
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importBooks_whenNdjson_shouldReturnSummary() throws Exception {
+        BookImportSummary summary = BookImportSummary.builder()
+                .inserted(2)
+                .updated(0)
+                .rejected(0)
+                .rejections(List.of())
+                .build();
+        when(bookService.importBooks(any(), eq(ImportFormat.NDJSON))).thenReturn(summary);
+
+        mockMvc.perform(post("/v1/books/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Clean Code\",\"isbn\":\"9780132350884\",\"quantityAvailable\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.inserted").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(0));
+    }
+
+    @Test
+    void getCacheStats_shouldReturnCounters() throws Exception {
+        BookCacheStats cacheStats = BookCacheStats.builder()
+                .enabled(true)
+                .size(1)
+                .hits(3)
+                .misses(1)
+                .evictions(0)
+                .hitRate(0.75)
+                .build();
+        when(bookService.getCacheStats()).thenReturn(cacheStats);
+
+        mockMvc.perform(get("/v1/books/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.hits").value(3))
+                .andExpect(jsonPath("$.data.hitRate").value(0.75));
+    }
+}
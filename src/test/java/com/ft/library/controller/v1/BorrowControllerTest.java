@@ -3,7 +3,13 @@ package com.ft.library.controller.v1;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ft.library.exception.BookNotAvailableException;
 import com.ft.library.exception.BorrowRecordNotFound;
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
 import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.request.ReturnBatchRequest;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
 import com.ft.library.model.entity.Book;
 import com.ft.library.model.entity.BorrowEntry;
 import com.ft.library.model.entity.Member;
@@ -21,9 +27,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -80,7 +88,7 @@ public class BorrowControllerTest {
     void createBorrowRequest_whenSuccess_thenReturnCreateBorrowResponse() throws Exception {
         CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
 
-        when(borrowService.borrowBook(any(CreateBorrowRequest.class))).thenReturn(borrowEntry);
+        when(borrowService.borrowBook(any(CreateBorrowRequest.class))).thenReturn(BorrowResponse.from(borrowEntry));
 
         mockMvc.perform(post("/v1/borrows")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -90,7 +98,11 @@ public class BorrowControllerTest {
                 .andExpect(jsonPath("$.message").value("Success"))
                 .andExpect(jsonPath("$.data.borrowDate").exists())
                 .andExpect(jsonPath("$.data.dueDate").exists())
-                .andExpect(jsonPath("$.data.borrowStatus").value("ACTIVE"));
+                .andExpect(jsonPath("$.data.borrowStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.data.bookId").value(1))
+                .andExpect(jsonPath("$.data.memberId").value(1))
+                .andExpect(jsonPath("$.data.book").doesNotExist())
+                .andExpect(jsonPath("$.data.member").doesNotExist());
     }
 
     @Test
@@ -135,13 +147,34 @@ public class BorrowControllerTest {
                 .andExpect(jsonPath("$.message").value("Member Status is Suspended"));
     }
 
+    @Test
+    void borrowBooks_whenSuccess_thenReturnResultPerItem() throws Exception {
+        CreateBatchBorrowRequest request = new CreateBatchBorrowRequest(1L, List.of(1L, 2L));
+
+        when(borrowService.borrowBooks(any(CreateBatchBorrowRequest.class))).thenReturn(List.of(
+                BorrowItemResult.success(1L, BorrowResponse.from(borrowEntry)),
+                BorrowItemResult.error(2L, "Book Stock Not Available")));
+
+        mockMvc.perform(post("/v1/borrows/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.size()").value(2))
+                .andExpect(jsonPath("$.data[0].bookId").value(1))
+                .andExpect(jsonPath("$.data[0].status").value("Success"))
+                .andExpect(jsonPath("$.data[0].borrow.borrowStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.data[1].status").value("Error"))
+                .andExpect(jsonPath("$.data[1].message").value("Book Stock Not Available"));
+    }
+
     @Test
     void returnBook_whenSuccess_thenReturnBorrowResponse() throws Exception {
         long borrowId = 1L;
         borrowEntry.setReturnDate(LocalDateTime.now().plusDays(3));
         borrowEntry.setBorrowStatus(BorrowStatus.RETURNED);
 
-        when(borrowService.returnBook(borrowId)).thenReturn(borrowEntry);
+        when(borrowService.returnBook(borrowId)).thenReturn(BorrowResponse.from(borrowEntry));
 
         mockMvc.perform(put("/v1/borrows/return/1"))
                 .andExpect(status().isOk())
@@ -154,6 +187,27 @@ public class BorrowControllerTest {
                 .andExpect(jsonPath("$.data.penaltyAmount").value(0));
     }
 
+    @Test
+    void returnBooks_whenSuccess_thenReturnResultPerItem() throws Exception {
+        ReturnBatchRequest request = new ReturnBatchRequest(List.of(1L, 2L));
+        borrowEntry.setReturnDate(LocalDateTime.now());
+        borrowEntry.setBorrowStatus(BorrowStatus.RETURNED);
+
+        when(borrowService.returnBooks(List.of(1L, 2L))).thenReturn(List.of(
+                ReturnItemResult.success(1L, BorrowResponse.from(borrowEntry)),
+                ReturnItemResult.error(2L, "Borrow Record Not Found")));
+
+        mockMvc.perform(put("/v1/borrows/return/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data[0].borrowId").value(1))
+                .andExpect(jsonPath("$.data[0].borrow.borrowStatus").value("RETURNED"))
+                .andExpect(jsonPath("$.data[1].status").value("Error"))
+                .andExpect(jsonPath("$.data[1].message").value("Borrow Record Not Found"));
+    }
+
     @Test
     void returnBook_whenBorrowRecordNotFound_thenReturnErrorResponse() throws Exception {
         long borrowId = 1L;
@@ -173,7 +227,7 @@ public class BorrowControllerTest {
         borrowEntry.setBorrowStatus(BorrowStatus.OVERDUE);
         borrowEntry.setPenaltyAmount(BigDecimal.valueOf(3));
 
-        when(borrowService.returnBook(borrowId)).thenReturn(borrowEntry);
+        when(borrowService.returnBook(borrowId)).thenReturn(BorrowResponse.from(borrowEntry));
 
         mockMvc.perform(put("/v1/borrows/return/1"))
                 .andExpect(status().isOk())
@@ -185,4 +239,20 @@ public class BorrowControllerTest {
                 .andExpect(jsonPath("$.data.borrowStatus").value("OVERDUE"))
                 .andExpect(jsonPath("$.data.penaltyAmount").value(3));
     }
+
+    @Test
+    void getOutstandingPenalty_whenSuccess_thenReturnPenaltySummary() throws Exception {
+        when(borrowService.getOutstandingPenalty(1L)).thenReturn(OutstandingPenaltyResponse.builder()
+                .memberId(1L)
+                .openLoans(2)
+                .penaltyAmount(new BigDecimal("4.50"))
+                .build());
+
+        mockMvc.perform(get("/v1/borrows/members/1/penalty"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.memberId").value(1))
+                .andExpect(jsonPath("$.data.openLoans").value(2))
+                .andExpect(jsonPath("$.data.penaltyAmount").value(4.5));
+    }
 }
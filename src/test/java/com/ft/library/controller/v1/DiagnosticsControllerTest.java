@@ -0,0 +1,50 @@
+package com.ft.library.controller.v1;
+
+import com.ft.library.model.dto.response.PinningReport;
+import com.ft.library.model.dto.response.PinningSiteReport;
+import com.ft.library.service.DiagnosticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DiagnosticsController.class)
+public class DiagnosticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DiagnosticsService diagnosticsService;
+
+    @Test
+    void getPinningReport_shouldReturnSites() throws Exception {
+        PinningReport report = PinningReport.builder()
+                .virtualThreads(true)
+                .monitoring(true)
+                .thresholdMillis(20)
+                .events(3)
+                .sites(List.of(PinningSiteReport.builder()
+                        .frame("com.zaxxer.hikari.pool.HikariPool.getConnection:162")
+                        .count(3)
+                        .totalMillis(90.5)
+                        .maxMillis(41.2)
+                        .build()))
+                .build();
+        when(diagnosticsService.getPinningReport()).thenReturn(report);
+
+        mockMvc.perform(get("/v1/diagnostics/pinning"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.events").value(3))
+                .andExpect(jsonPath("$.data.sites[0].frame").value("com.zaxxer.hikari.pool.HikariPool.getConnection:162"));
+    }
+}
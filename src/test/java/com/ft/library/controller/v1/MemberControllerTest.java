@@ -1,10 +1,20 @@
 package com.ft.library.controller.v1;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
 import com.ft.library.exception.MemberAlreadyExistsException;
 import com.ft.library.exception.MemberNotFoundException;
 import com.ft.library.model.dto.request.CreateMemberRequest;
+import com.ft.library.model.dto.request.UpdateMembershipStatusRequest;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.service.BorrowService;
 import com.ft.library.service.MemberService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,10 +23,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,6 +45,9 @@ public class MemberControllerTest {
     @MockitoBean
     private MemberService memberService;
 
+    @MockitoBean
+    private BorrowService borrowService;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -91,6 +110,40 @@ public class MemberControllerTest {
                 .andExpect(jsonPath("$.data.email").value("fatih@gmail.com"));
     }
 
+    @Test
+    void getMemberById_whenProtobufAccepted_shouldEncodeDatesAsIsoStrings() throws Exception {
+        // Given
+        LocalDateTime membershipDate = LocalDateTime.of(2024, 3, 1, 9, 30);
+        Member member = Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipDate(membershipDate)
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build();
+
+        // When
+        when(memberService.getMemberById(1L)).thenReturn(member);
+
+        // Then
+        byte[] body = mockMvc.perform(get("/v1/members/1").accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ProtobufMapper protobufMapper = new ProtobufMapper();
+        protobufMapper.findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TypeReference<ApiResponse<Member>> type = new TypeReference<>() {
+        };
+        ApiResponse<Member> envelope = protobufMapper.readerFor(type)
+                .with(protobufMapper.generateSchemaFor(type))
+                .readValue(body);
+        assertEquals("fatih@gmail.com", envelope.getData().getEmail());
+        assertEquals(membershipDate, envelope.getData().getMembershipDate());
+        assertEquals(MembershipStatus.ACTIVE, envelope.getData().getMembershipStatus());
+    }
+
     @Test
     void getMemberById_whenMemberNotFound_shouldReturnError() throws Exception {
         // Given
@@ -143,4 +196,48 @@ public class MemberControllerTest {
                 .andExpect(jsonPath("$.message").value("Member Not Found"))
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateMembershipStatus_shouldReturnSuccess() throws Exception {
+        // Given
+        UpdateMembershipStatusRequest request = new UpdateMembershipStatusRequest(MembershipStatus.SUSPENDED);
+
+        // Then
+        mockMvc.perform(put("/v1/members/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"));
+        verify(memberService).updateMembershipStatus(1L, MembershipStatus.SUSPENDED);
+    }
+
+    @Test
+    void getMemberLoans_shouldReturnPageWithFiltersApplied() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        MemberLoanResponse loan = MemberLoanResponse.builder()
+                .id(7L)
+                .bookId(3L)
+                .bookTitle("Clean Code")
+                .borrowDate(from.plusDays(2))
+                .dueDate(from.plusDays(9))
+                .borrowStatus(BorrowStatus.RETURNED)
+                .penaltyAmount(BigDecimal.ZERO)
+                .build();
+        when(borrowService.getMemberLoans(1L, BorrowStatus.RETURNED, from, null, "abc", 10))
+                .thenReturn(PageResponse.of(List.of(loan), "next"));
+
+        // Then
+        mockMvc.perform(get("/v1/members/1/borrows")
+                        .param("status", "RETURNED")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Success"))
+                .andExpect(jsonPath("$.data.items[0].id").value(7))
+                .andExpect(jsonPath("$.data.items[0].bookTitle").value("Clean Code"))
+                .andExpect(jsonPath("$.data.items[0].borrowStatus").value("RETURNED"))
+                .andExpect(jsonPath("$.data.next").value("next"));
+    }
+}
@@ -0,0 +1,269 @@
+package com.ft.library.controller.v1;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.MemberRepository;
+import com.ft.library.service.DiagnosticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed HTTP load in one thread mode: borrow/return cycles on a hot title whose row a background transaction
+ * keeps locking for a few hundred milliseconds at a time, a stand-in for a slow database moment, alongside
+ * catalog reads of other titles. Both modes get the same Tomcat and connection pool limits, so the difference
+ * is whether blocked borrows can starve the reads of request threads. Throughput and p99 are printed per
+ * operation; compare the two subclasses with {@code mvn test -Dtest='*ThreadLoadBenchmarkTest'
+ * -Dbenchmark.threads=true}. JUnit conditions are not inherited, so each subclass carries its own gate.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=32",
+        "spring.datasource.hikari.maximum-pool-size=32"
+})
+abstract class ThreadModeLoadBenchmark {
+
+    private static final int BORROWERS = 64;
+
+    private static final int READERS = 64;
+
+    private static final int READ_TITLES = 50;
+
+    private static final int HOT_STOCK = 1_000_000;
+
+    private static final long WARMUP_MS = 2_000;
+
+    private static final long MEASURE_MS = 10_000;
+
+    private static final long LOCK_HOLD_MS = 300;
+
+    private static final long LOCK_PAUSE_MS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private DiagnosticsService diagnosticsService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @AfterEach
+    void tearDown() {
+        borrowRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void mixedLoad_shouldReportThroughputAndTailLatency() throws Exception {
+        long hotBookId = saveBook("9780132350884", HOT_STOCK);
+        List<Long> readBookIds = IntStream.range(0, READ_TITLES)
+                .mapToObj(i -> saveBook(String.format("97801346859%02d", i), 10))
+                .toList();
+        List<Long> memberIds = IntStream.range(0, BORROWERS)
+                .mapToObj(i -> memberRepository.save(Member.builder()
+                        .firstName("Member")
+                        .lastName(String.valueOf(i))
+                        .email("member" + i + "@library.com")
+                        .membershipDate(LocalDateTime.now())
+                        .membershipStatus(MembershipStatus.ACTIVE)
+                        .build()).getId())
+                .toList();
+
+        Queue<Long> readLatencies = new ConcurrentLinkedQueue<>();
+        Queue<Long> cycleLatencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger returned = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService clients = Executors.newFixedThreadPool(BORROWERS + READERS + 1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            futures.add(clients.submit(() -> holdHotRow(hotBookId, running)));
+            for (Long memberId : memberIds) {
+                futures.add(clients.submit(() -> {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            long borrowId = borrow(hotBookId, memberId);
+                            borrowed.incrementAndGet();
+                            returnBook(borrowId);
+                            returned.incrementAndGet();
+                            if (measuring.get()) {
+                                cycleLatencies.add(System.nanoTime() - start);
+                            }
+                        } catch (IOException | IllegalStateException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < READERS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (running.get()) {
+                        long bookId = readBookIds.get(ThreadLocalRandom.current().nextInt(READ_TITLES));
+                        long start = System.nanoTime();
+                        try {
+                            send(HttpRequest.newBuilder(uri("/books/" + bookId)).GET().build());
+                            if (measuring.get()) {
+                                readLatencies.add(System.nanoTime() - start);
+                            }
+                        } catch (IOException | IllegalStateException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            Thread.sleep(WARMUP_MS);
+            measuring.set(true);
+            Thread.sleep(MEASURE_MS);
+            measuring.set(false);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            running.set(false);
+            clients.shutdown();
+        }
+
+        String mode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                ? "virtual" : "platform";
+        System.out.printf("%s threads: reads %.0f req/s (p99 %.1f ms), borrow+return %.0f cycles/s (p99 %.1f ms), %d errors%n",
+                mode,
+                readLatencies.size() / (MEASURE_MS / 1e3), p99Millis(readLatencies),
+                cycleLatencies.size() / (MEASURE_MS / 1e3), p99Millis(cycleLatencies),
+                errors.get());
+        diagnosticsService.getPinningReport().getSites().forEach(site -> System.out.printf(
+                "  pinned at %s: %d times, %.1f ms total, %.1f ms max%n",
+                site.getFrame(), site.getCount(), site.getTotalMillis(), site.getMaxMillis()));
+
+        assertFalse(readLatencies.isEmpty());
+        int remaining = bookRepository.findBookById(hotBookId).orElseThrow().getQuantityAvailable();
+        assertEquals(HOT_STOCK - (borrowed.get() - returned.get()), remaining);
+    }
+
+    private Object holdHotRow(long hotBookId, AtomicBoolean running) throws InterruptedException {
+        while (running.get()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT quantity_available FROM books WHERE id = ? FOR UPDATE",
+                        Integer.class, hotBookId);
+                try {
+                    Thread.sleep(LOCK_HOLD_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Thread.sleep(LOCK_PAUSE_MS);
+        }
+        return null;
+    }
+
+    private long borrow(long bookId, long memberId) throws IOException {
+        String body = "{\"bookId\":" + bookId + ",\"memberId\":" + memberId + "}";
+        JsonNode response = send(HttpRequest.newBuilder(uri("/borrows"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        return response.path("data").path("id").asLong();
+    }
+
+    private void returnBook(long borrowId) throws IOException {
+        send(HttpRequest.newBuilder(uri("/borrows/return/" + borrowId))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1" + path);
+    }
+
+    private long saveBook(String isbn, int quantity) {
+        return bookRepository.save(Book.builder()
+                .title("Book " + isbn)
+                .isbn(isbn)
+                .author("Author")
+                .quantityAvailable(quantity)
+                .build()).getId();
+    }
+
+    private static double p99Millis(Queue<Long> latencies) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ft.library.controller.v1;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+@EnabledIfSystemProperty(named = "benchmark.threads", matches = "true")
+class VirtualThreadLoadBenchmarkTest extends ThreadModeLoadBenchmark {
+}
@@ -0,0 +1,47 @@
+package com.ft.library.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of successful calls and a count per failure kind for one endpoint. Failures are keyed by HTTP
+ * status and the {@code message} of the error body, which identifies the {@code GlobalExceptionHandler}
+ * mapping that produced it, or by exception class when the request never got a response.
+ */
+class EndpointStats {
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private final LatencyHistogram errorLatencies = new LatencyHistogram();
+
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void success(long nanos) {
+        latencies.record(nanos);
+    }
+
+    void failure(String kind, long nanos) {
+        errorLatencies.record(nanos);
+        errors.computeIfAbsent(kind, key -> new LongAdder()).increment();
+    }
+
+    LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    LatencyHistogram errorLatencies() {
+        return errorLatencies;
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errors.forEach((kind, count) -> snapshot.put(kind, count.sum()));
+        return snapshot;
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
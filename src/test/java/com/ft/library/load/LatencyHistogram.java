@@ -0,0 +1,92 @@
+package com.ft.library.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets: each power-of-two range of microseconds is split into
+ * 16 sub-buckets, so any recorded value is reported within about 6% of its true value, up to about two hours.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int RANGES = 30;
+
+    private final AtomicLongArray counts = new AtomicLongArray(RANGES * SUB_BUCKETS);
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucketOf(micros));
+        total.increment();
+        maxMicros.accumulate(micros);
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1e3;
+    }
+
+    double percentileMillis(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(bucket), maxMicros.get()) / 1e3;
+            }
+        }
+        return maxMillis();
+    }
+
+    /**
+     * Non-empty buckets as upper bound in milliseconds to count, for plotting.
+     */
+    Map<Double, Long> buckets() {
+        Map<Double, Long> buckets = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            long bucketCount = counts.get(bucket);
+            if (bucketCount > 0) {
+                buckets.put(upperBoundMicros(bucket) / 1e3, bucketCount);
+            }
+        }
+        return buckets;
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int range = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        if (range >= RANGES) {
+            return RANGES * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) (micros >>> (range - 1)) - SUB_BUCKETS;
+        return range * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        int range = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+        if (range == 0) {
+            return subBucket;
+        }
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (range - 1)) - 1;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ft.library.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues a scenario's arrivals on schedule, each on its own virtual thread, so a slow server makes requests
+ * pile up instead of slowing the arrival rate down. Latency is measured from the scheduled arrival, not from
+ * when the request was sent, which keeps client-side queueing in the numbers. Arrivals during the warmup
+ * exercise the server but are not recorded.
+ */
+class LoadGenerator {
+
+    private static final int MAX_IN_FLIGHT = 20_000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadReport run(LoadScenario scenario, ScenarioState state) {
+        Operation[] operations = scenario.mix().keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += scenario.mix().get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new EndpointStats());
+        }
+        LongAdder arrivals = new LongAdder();
+        LongAdder skipped = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        double meanGapNanos = 1e9 / scenario.arrivalsPerSecond();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next < end) {
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduled = next;
+                boolean measured = scheduled >= measureFrom;
+                next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+
+                int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+                int index = 0;
+                while (cumulativeWeights[index] <= roll) {
+                    index++;
+                }
+                Operation operation = operations[index];
+                if (measured) {
+                    arrivals.increment();
+                }
+                if (inFlight.get() >= MAX_IN_FLIGHT) {
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        execute(operation, state, stats.get(operation), scheduled, measured, skipped);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+        return new LoadReport(scenario, stats, arrivals.sum(), skipped.sum(), dropped.sum());
+    }
+
+    private void execute(Operation operation, ScenarioState state, EndpointStats stats, long scheduled,
+                         boolean measured, LongAdder skipped) {
+        HttpRequest request = operation.request(state);
+        if (request == null) {
+            if (measured) {
+                skipped.increment();
+            }
+            return;
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - scheduled;
+            if (response.statusCode() < 400) {
+                operation.onSuccess(state, response.body());
+                if (measured) {
+                    stats.success(latency);
+                }
+            } else if (measured) {
+                stats.failure(response.statusCode() + " " + errorMessage(response.body()), latency);
+            }
+        } catch (IOException e) {
+            if (measured) {
+                stats.failure(e.getClass().getSimpleName(), System.nanoTime() - scheduled);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String errorMessage(String body) {
+        try {
+            JsonNode message = objectMapper.readTree(body).path("message");
+            return message.isTextual() ? message.asText() : "(no message)";
+        } catch (IOException e) {
+            return "(unparseable body)";
+        }
+    }
+}
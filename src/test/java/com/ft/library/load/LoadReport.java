@@ -0,0 +1,91 @@
+package com.ft.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Per-endpoint results of one scenario run. {@link #print()} writes a table to standard out and
+ * {@link #write(Path)} saves the same numbers, with the histogram buckets, as JSON for comparing runs.
+ */
+class LoadReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LoadScenario scenario;
+
+    private final Map<Operation, EndpointStats> stats;
+
+    private final long arrivals;
+
+    private final long skipped;
+
+    private final long dropped;
+
+    LoadReport(LoadScenario scenario, Map<Operation, EndpointStats> stats, long arrivals, long skipped, long dropped) {
+        this.scenario = scenario;
+        this.stats = stats;
+        this.arrivals = arrivals;
+        this.skipped = skipped;
+        this.dropped = dropped;
+    }
+
+    EndpointStats stats(Operation operation) {
+        return stats.get(operation);
+    }
+
+    long completed() {
+        return stats.values().stream().mapToLong(endpoint -> endpoint.latencies().count() + endpoint.errorCount()).sum();
+    }
+
+    void print() {
+        double seconds = scenario.duration().toMillis() / 1e3;
+        System.out.printf("%n%s: %.0f arrivals/s for %ds, %d arrivals, %d skipped, %d dropped by the client%n",
+                scenario.name(), scenario.arrivalsPerSecond(), scenario.duration().toSeconds(), arrivals, skipped, dropped);
+        System.out.printf("%-30s %9s %9s %10s %10s %10s %10s %8s%n",
+                "endpoint", "ok", "ok/s", "p50", "p90", "p99", "max", "errors");
+        stats.forEach((operation, endpoint) -> {
+            LatencyHistogram latencies = endpoint.latencies();
+            System.out.printf("%-30s %9d %9.1f %8.1fms %8.1fms %8.1fms %8.1fms %8d%n",
+                    operation.endpoint(), latencies.count(), latencies.count() / seconds,
+                    latencies.percentileMillis(0.50), latencies.percentileMillis(0.90),
+                    latencies.percentileMillis(0.99), latencies.maxMillis(), endpoint.errorCount());
+            endpoint.errors().forEach((kind, count) -> System.out.printf("%-30s %9s %-40s %d%n", "", "", kind, count));
+        });
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ObjectNode root = OBJECT_MAPPER.createObjectNode()
+                .put("scenario", scenario.name())
+                .put("arrivalsPerSecond", scenario.arrivalsPerSecond())
+                .put("warmupSeconds", scenario.warmup().toSeconds())
+                .put("durationSeconds", scenario.duration().toSeconds())
+                .put("arrivals", arrivals)
+                .put("skipped", skipped)
+                .put("dropped", dropped);
+        ObjectNode endpoints = root.putObject("endpoints");
+        stats.forEach((operation, endpoint) -> {
+            LatencyHistogram latencies = endpoint.latencies();
+            ObjectNode node = endpoints.putObject(operation.endpoint())
+                    .put("count", latencies.count())
+                    .put("p50Millis", latencies.percentileMillis(0.50))
+                    .put("p90Millis", latencies.percentileMillis(0.90))
+                    .put("p99Millis", latencies.percentileMillis(0.99))
+                    .put("p999Millis", latencies.percentileMillis(0.999))
+                    .put("maxMillis", latencies.maxMillis())
+                    .put("errorCount", endpoint.errorCount())
+                    .put("errorP99Millis", endpoint.errorLatencies().percentileMillis(0.99));
+            ObjectNode errors = node.putObject("errors");
+            endpoint.errors().forEach(errors::put);
+            ObjectNode buckets = node.putObject("bucketsMillis");
+            latencies.buckets().forEach((upperBound, count) -> buckets.put(String.valueOf(upperBound), count));
+        });
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve(scenario.name() + ".json").toFile(), root);
+    }
+}
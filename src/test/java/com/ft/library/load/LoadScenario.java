@@ -0,0 +1,36 @@
+package com.ft.library.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An open-model workload: requests arrive at {@code arrivalsPerSecond} on a Poisson schedule whatever the
+ * response times, and each arrival is an operation drawn by weight from {@code mix}.
+ */
+record LoadScenario(String name, double arrivalsPerSecond, Duration warmup, Duration duration,
+                    Map<Operation, Integer> mix) {
+
+    /**
+     * Overrides from system properties: {@code load.rate}, {@code load.warmup-seconds},
+     * {@code load.duration-seconds} and {@code load.mix}, e.g. {@code BORROW:5,RETURN:5,BOOK_BY_ID:90}.
+     */
+    LoadScenario withOverrides() {
+        double rate = Double.parseDouble(System.getProperty("load.rate", String.valueOf(arrivalsPerSecond)));
+        Duration warmupOverride = Duration.ofSeconds(Long.getLong("load.warmup-seconds", warmup.toSeconds()));
+        Duration durationOverride = Duration.ofSeconds(Long.getLong("load.duration-seconds", duration.toSeconds()));
+        String mixOverride = System.getProperty("load.mix");
+        return new LoadScenario(name, rate, warmupOverride, durationOverride,
+                mixOverride == null ? mix : parseMix(mixOverride));
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> parsed = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] weighted = part.trim().split(":");
+            parsed.put(Operation.valueOf(weighted[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weighted[1].trim()));
+        }
+        return parsed;
+    }
+}
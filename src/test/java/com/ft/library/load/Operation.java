@@ -0,0 +1,127 @@
+package com.ft.library.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The calls a scenario can mix, each reported under its route template.
+ */
+enum Operation {
+
+    BOOK_BY_ID("GET /v1/books/{id}") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            return get(state, "/v1/books/" + state.anyBookId());
+        }
+    },
+
+    BOOK_BY_ISBN("GET /v1/books/isbn/{isbn}") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            return get(state, "/v1/books/isbn/" + state.anyIsbn());
+        }
+    },
+
+    /**
+     * Walks the catalog one page per call with a shared cursor, wrapping to the start after the last page.
+     */
+    BOOK_PAGE("GET /v1/books/page") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            String cursor = state.pageCursor.get();
+            return get(state, cursor == null ? "/v1/books/page"
+                    : "/v1/books/page?cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void onSuccess(ScenarioState state, String body) throws JsonProcessingException {
+            JsonNode next = OBJECT_MAPPER.readTree(body).path("data").path("next");
+            state.pageCursor.set(next.isTextual() ? next.asText() : null);
+        }
+    },
+
+    MEMBER_BY_ID("GET /v1/members/{id}") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            return get(state, "/v1/members/" + state.anyMemberId());
+        }
+    },
+
+    MEMBER_SIGNUP("POST /v1/members") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            long signup = state.signups.incrementAndGet();
+            return post(state, "/v1/members",
+                    "{\"firstName\":\"Load\",\"lastName\":\"" + signup + "\",\"email\":\"signup" + signup + "@load.test\"}");
+        }
+    },
+
+    /**
+     * Borrows one of the scenario's hot titles for a random member.
+     */
+    BORROW("POST /v1/borrows") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            return post(state, "/v1/borrows",
+                    "{\"bookId\":" + state.hotBookId() + ",\"memberId\":" + state.anyMemberId() + "}");
+        }
+
+        @Override
+        void onSuccess(ScenarioState state, String body) throws JsonProcessingException {
+            state.openLoans.add(OBJECT_MAPPER.readTree(body).path("data").path("id").asLong());
+        }
+    },
+
+    /**
+     * Returns the oldest loan opened during the run; skipped while there is none.
+     */
+    RETURN("PUT /v1/borrows/return/{id}") {
+        @Override
+        HttpRequest request(ScenarioState state) {
+            Long borrowId = state.openLoans.poll();
+            if (borrowId == null) {
+                return null;
+            }
+            return HttpRequest.newBuilder(URI.create(state.baseUrl + "/v1/borrows/return/" + borrowId))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * The request to send, or {@code null} when the state offers nothing to act on yet.
+     */
+    abstract HttpRequest request(ScenarioState state);
+
+    void onSuccess(ScenarioState state, String body) throws JsonProcessingException {
+    }
+
+    private static HttpRequest get(ScenarioState state, String path) {
+        return HttpRequest.newBuilder(URI.create(state.baseUrl + path)).GET().build();
+    }
+
+    private static HttpRequest post(ScenarioState state, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(state.baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
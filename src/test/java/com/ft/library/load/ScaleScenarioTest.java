@@ -0,0 +1,141 @@
+package com.ft.library.load;
+
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Scale scenarios against the app on the embedded database, driven by {@link LoadGenerator} at a fixed arrival
+ * rate. Run them with {@code mvn test -Dtest=ScaleScenarioTest -Dload.scenarios=all}, or name some of
+ * {@code borrow-storm,catalog-peak,mixed}; {@link LoadScenario#withOverrides()} lists the knobs for rate, length
+ * and mix. Each run prints a table per endpoint and writes {@code target/load/<scenario>.json}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "load.scenarios", matches = ".+")
+class ScaleScenarioTest {
+
+    private static final int TITLES = 2_000;
+
+    private static final int MEMBERS = 1_000;
+
+    private static final Path RESULTS = Path.of("target", "load");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    private final LoadGenerator loadGenerator = new LoadGenerator();
+
+    @AfterEach
+    void tearDown() {
+        borrowRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    /**
+     * A new release everyone wants: borrows and returns all land on one title with less stock than borrowers,
+     * so the conditional stock update and the duplicate-loan check are both under contention.
+     */
+    @Test
+    void borrowStorm() throws Exception {
+        run(new LoadScenario("borrow-storm", 300, Duration.ofSeconds(5), Duration.ofSeconds(30),
+                Map.of(Operation.BORROW, 55, Operation.RETURN, 40, Operation.BOOK_BY_ID, 5)), 1, 200);
+    }
+
+    /**
+     * Catalog browsing at peak: paging, lookups by id and ISBN, and a trickle of signups.
+     */
+    @Test
+    void catalogPeak() throws Exception {
+        run(new LoadScenario("catalog-peak", 1_500, Duration.ofSeconds(5), Duration.ofSeconds(30),
+                Map.of(Operation.BOOK_PAGE, 20, Operation.BOOK_BY_ID, 50, Operation.BOOK_BY_ISBN, 25,
+                        Operation.MEMBER_SIGNUP, 5)), 0, 10);
+    }
+
+    /**
+     * A normal day: mostly reads, with borrows and returns spread over a few dozen popular titles.
+     */
+    @Test
+    void mixed() throws Exception {
+        run(new LoadScenario("mixed", 600, Duration.ofSeconds(5), Duration.ofSeconds(30),
+                Map.of(Operation.BOOK_BY_ID, 40, Operation.BOOK_BY_ISBN, 15, Operation.BOOK_PAGE, 10,
+                        Operation.MEMBER_BY_ID, 15, Operation.MEMBER_SIGNUP, 4, Operation.BORROW, 8,
+                        Operation.RETURN, 8)), 50, 20);
+    }
+
+    private void run(LoadScenario defaults, int hotTitles, int hotStock) throws Exception {
+        assumeTrue(selected(defaults.name()), defaults.name() + " not selected by load.scenarios");
+        LoadScenario scenario = defaults.withOverrides();
+
+        List<Book> books = bookRepository.saveAll(IntStream.range(0, TITLES)
+                .mapToObj(i -> Book.builder()
+                        .title("Title " + i)
+                        .isbn(String.format("978%010d", i))
+                        .author("Author " + i % 200)
+                        .quantityAvailable(i < hotTitles ? hotStock : 10)
+                        .build())
+                .toList());
+        List<Long> memberIds = memberRepository.saveAll(IntStream.range(0, MEMBERS)
+                        .mapToObj(i -> Member.builder()
+                                .firstName("Member")
+                                .lastName(String.valueOf(i))
+                                .email("member" + i + "@load.test")
+                                .membershipDate(LocalDateTime.now())
+                                .membershipStatus(MembershipStatus.ACTIVE)
+                                .build())
+                        .toList())
+                .stream()
+                .map(Member::getId)
+                .toList();
+        List<Long> bookIds = books.stream().map(Book::getId).toList();
+        ScenarioState state = new ScenarioState("http://localhost:" + port + "/api",
+                bookIds,
+                books.stream().map(Book::getIsbn).toList(),
+                hotTitles == 0 ? bookIds : bookIds.subList(0, hotTitles),
+                memberIds);
+
+        LoadReport report = loadGenerator.run(scenario, state);
+        report.print();
+        report.write(RESULTS);
+
+        assertTrue(report.completed() > 0);
+    }
+
+    private static boolean selected(String scenario) {
+        String selection = System.getProperty("load.scenarios", "");
+        return "all".equals(selection) || Arrays.asList(selection.split(",")).contains(scenario);
+    }
+}
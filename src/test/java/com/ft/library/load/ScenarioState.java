@@ -0,0 +1,59 @@
+package com.ft.library.load;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Data the operations draw from: the seeded catalog and members, the titles a scenario concentrates on,
+ * and loans opened during the run so returns have something to return.
+ */
+class ScenarioState {
+
+    final String baseUrl;
+
+    final List<Long> bookIds;
+
+    final List<String> isbns;
+
+    final List<Long> hotBookIds;
+
+    final List<Long> memberIds;
+
+    final Queue<Long> openLoans = new ConcurrentLinkedQueue<>();
+
+    final AtomicLong signups = new AtomicLong();
+
+    final AtomicReference<String> pageCursor = new AtomicReference<>();
+
+    ScenarioState(String baseUrl, List<Long> bookIds, List<String> isbns, List<Long> hotBookIds, List<Long> memberIds) {
+        this.baseUrl = baseUrl;
+        this.bookIds = bookIds;
+        this.isbns = isbns;
+        this.hotBookIds = hotBookIds;
+        this.memberIds = memberIds;
+    }
+
+    long anyBookId() {
+        return pick(bookIds);
+    }
+
+    String anyIsbn() {
+        return pick(isbns);
+    }
+
+    long hotBookId() {
+        return pick(hotBookIds);
+    }
+
+    long anyMemberId() {
+        return pick(memberIds);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
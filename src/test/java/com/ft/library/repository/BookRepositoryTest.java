@@ -5,8 +5,10 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,16 +25,20 @@ public class BookRepositoryTest {
     @Autowired
     private TestEntityManager testEntityManager;
 
+    private Book cleanCode;
+
+    private Book effectiveJava;
+
     @BeforeEach
     void setup() {
-        Book cleanCode = Book.builder()
+        cleanCode = Book.builder()
                 .title("Clean Code")
                 .isbn("9780132350884")
                 .author("Robert C. Martin")
                 .quantityAvailable(10)
                 .build();
 
-        Book effectiveJava = Book.builder()
+        effectiveJava = Book.builder()
                 .title("Effective Java")
                 .isbn("9780134685991")
                 .author("Joshua Bloch")
@@ -51,7 +57,7 @@ public class BookRepositoryTest {
     @Test
     @Order(1)
     void getBookById_shouldReturnBook() {
-        Book book = bookRepository.findBookById(1L).orElse(null);
+        Book book = bookRepository.findBookById(cleanCode.getId()).orElse(null);
 
         assertNotNull(book);
         assertEquals("Clean Code", book.getTitle());
@@ -59,7 +65,7 @@ public class BookRepositoryTest {
         assertEquals("Robert C. Martin", book.getAuthor());
         assertEquals(10, book.getQuantityAvailable());
 
-        Book book2 = bookRepository.findBookById(2L).orElse(null);
+        Book book2 = bookRepository.findBookById(effectiveJava.getId()).orElse(null);
 
         assertNotNull(book2);
         assertEquals("Effective Java", book2.getTitle());
@@ -90,4 +96,46 @@ public class BookRepositoryTest {
         assertEquals(10, book.getQuantityAvailable());
     }
 
-}
\ No newline at end of file
+    @Test
+    @Order(4)
+    void findByIdGreaterThan_shouldReturnRowsAfterKeyInIdOrder() {
+        List<Book> all = bookRepository.findAll();
+        Long firstId = all.stream().map(Book::getId).min(Long::compare).orElseThrow();
+
+        List<Book> page = bookRepository.findByIdGreaterThanOrderByIdAsc(firstId, Limit.of(10));
+
+        assertThat(page).extracting(Book::getId).isSorted().allMatch(id -> id > firstId);
+        assertThat(page).extracting(Book::getTitle).contains("Effective Java");
+    }
+
+    @Test
+    @Order(5)
+    void streamAll_shouldVisitEveryRow() {
+        testEntityManager.flush();
+        List<Book> visited = new ArrayList<>();
+
+        bookRepository.streamAll(1, visited::add);
+
+        assertThat(visited).hasSize(2);
+        assertThat(visited).extracting(Book::getTitle).containsExactly("Clean Code", "Effective Java");
+    }
+
+    @Test
+    @Order(6)
+    void decrementQuantityAvailableBatch_shouldReportOneCountPerId() {
+        Book lastCopy = testEntityManager.persist(Book.builder()
+                .title("Refactoring")
+                .isbn("9780134757599")
+                .author("Martin Fowler")
+                .quantityAvailable(0)
+                .build());
+        Book cleanCode = bookRepository.findBookByIsbn("9780132350884").orElseThrow();
+
+        int[] counts = bookRepository.decrementQuantityAvailableBatch(List.of(cleanCode.getId(), lastCopy.getId()));
+
+        assertArrayEquals(new int[]{1, 0}, counts);
+        assertEquals(9, bookRepository.findBookById(cleanCode.getId()).orElseThrow().getQuantityAvailable());
+        assertEquals(0, bookRepository.findBookById(lastCopy.getId()).orElseThrow().getQuantityAvailable());
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.ft.library.repository;
+
+import com.ft.library.model.entity.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stock invariants of the conditional increment and decrement under concurrent callers. The comparison with a
+ * read-modify-write decrement prints throughput and runs on request, e.g. {@code mvn test
+ * -Dtest=BookStockConcurrencyTest -Dbenchmark.stock-decrements=10000}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookStockConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    private static final int STOCK = 100;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void decrementQuantityAvailable_underContention_shouldNeverOversell() throws Exception {
+        Long bookId = saveBook(STOCK);
+        AtomicInteger successes = new AtomicInteger();
+
+        runConcurrently(ATTEMPTS_PER_THREAD, () -> {
+            if (bookRepository.decrementQuantityAvailable(bookId) > 0) {
+                successes.incrementAndGet();
+            }
+            return null;
+        });
+
+        Book book = bookRepository.findBookById(bookId).orElseThrow();
+        assertEquals(STOCK, successes.get());
+        assertEquals(0, book.getQuantityAvailable());
+    }
+
+    @Test
+    void incrementQuantityAvailable_underContention_shouldNotLoseUpdates() throws Exception {
+        Long bookId = saveBook(0);
+
+        runConcurrently(ATTEMPTS_PER_THREAD, () -> bookRepository.incrementQuantityAvailable(bookId));
+
+        Book book = bookRepository.findBookById(bookId).orElseThrow();
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, book.getQuantityAvailable());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.stock-decrements", matches = "\\d+")
+    void conditionalDecrement_comparedToReadModifyWrite() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int attemptsPerThread = Math.max(1, Integer.parseInt(System.getProperty("benchmark.stock-decrements")) / THREADS);
+        int total = THREADS * attemptsPerThread;
+
+        Long legacyBookId = saveBook(total);
+        AtomicInteger legacyErrors = new AtomicInteger();
+        long legacyStart = System.nanoTime();
+        runConcurrently(attemptsPerThread, () -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Book book = bookRepository.findBookById(legacyBookId).orElseThrow();
+                    if (book.getQuantityAvailable() > 0) {
+                        book.setQuantityAvailable(book.getQuantityAvailable() - 1);
+                    }
+                });
+            } catch (RuntimeException e) {
+                legacyErrors.incrementAndGet();
+            }
+            return null;
+        });
+        long legacyNanos = System.nanoTime() - legacyStart;
+        int legacyRemaining = bookRepository.findBookById(legacyBookId).orElseThrow().getQuantityAvailable();
+
+        Long atomicBookId = saveBook(total, "9780134685991");
+        long atomicStart = System.nanoTime();
+        runConcurrently(attemptsPerThread, () -> bookRepository.decrementQuantityAvailable(atomicBookId));
+        long atomicNanos = System.nanoTime() - atomicStart;
+        int atomicRemaining = bookRepository.findBookById(atomicBookId).orElseThrow().getQuantityAvailable();
+
+        System.out.printf("read-modify-write: %.0f ops/s, %d lost updates, %d errors%n",
+                total / (legacyNanos / 1e9), legacyRemaining, legacyErrors.get());
+        System.out.printf("conditional update: %.0f ops/s, %d lost updates%n",
+                total / (atomicNanos / 1e9), atomicRemaining);
+
+        assertTrue(legacyRemaining >= 0);
+        assertEquals(0, atomicRemaining);
+    }
+
+    private Long saveBook(int quantity) {
+        return saveBook(quantity, "9780132350884");
+    }
+
+    private Long saveBook(int quantity, String isbn) {
+        return bookRepository.save(Book.builder()
+                .title("Clean Code")
+                .isbn(isbn)
+                .author("Robert C. Martin")
+                .quantityAvailable(quantity)
+                .build()).getId();
+    }
+
+    private void runConcurrently(int attemptsPerThread, Callable<?> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                        task.call();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
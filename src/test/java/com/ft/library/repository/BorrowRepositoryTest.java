@@ -5,16 +5,21 @@ import com.ft.library.model.entity.BorrowEntry;
 import com.ft.library.model.entity.Member;
 import com.ft.library.model.enums.BorrowStatus;
 import com.ft.library.model.enums.MembershipStatus;
+import jakarta.persistence.PersistenceUnitUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -113,18 +118,130 @@ public class BorrowRepositoryTest {
     }
 
     @Test
-    void existsByBookAndMemberAndBorrowStatus_shouldReturnTrue() {
+    void findBorrowRecordById_shouldLeaveBookAndMemberUnloaded() {
+        // Given
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // When
+        BorrowEntry foundRecord = borrowRepository.findById(borrowEntry.getId()).orElseThrow();
+
+        // Then
+        PersistenceUnitUtil persistenceUnitUtil =
+                testEntityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        assertFalse(persistenceUnitUtil.isLoaded(foundRecord, "book"));
+        assertFalse(persistenceUnitUtil.isLoaded(foundRecord, "member"));
+    }
+
+    @Test
+    void existsOpenLoanByBookAndMember_shouldReturnTrue() {
+        // When & Then
+        assertTrue(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(book.getId(), member.getId()));
+    }
+
+    @Test
+    void existsOpenLoanByBookAndMember_whenSweptToOverdue_shouldReturnTrue() {
+        // Given
+        borrowEntry.setBorrowStatus(BorrowStatus.OVERDUE);
+        testEntityManager.persist(borrowEntry);
         // When & Then
-        assertTrue(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndBorrowStatus(book.getId(), member.getId(), BorrowStatus.ACTIVE));
+        assertTrue(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(book.getId(), member.getId()));
     }
 
     @Test
-    void existsByBookAndMemberAndBorrowStatus_whenBorrowStatusIsDifferent_shouldReturnFalse() {
+    void existsOpenLoanByBookAndMember_whenReturned_shouldReturnFalse() {
         // Given
         borrowEntry.setBorrowStatus(BorrowStatus.RETURNED);
+        borrowEntry.setReturnDate(LocalDateTime.now());
         testEntityManager.persist(borrowEntry);
         // When & Then
-        assertFalse(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndBorrowStatus(book.getId(), member.getId(), BorrowStatus.ACTIVE));
+        assertFalse(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(book.getId(), member.getId()));
+    }
+
+    @Test
+    void findOpenLoanBookIdsByMemberIdAndBookIds_shouldReturnOnlyOpenLoans() {
+        // When
+        List<Long> borrowedBookIds = borrowRepository.findOpenLoanBookIdsByMemberIdAndBookIds(
+                member.getId(), List.of(book.getId(), book.getId() + 1000));
+
+        // Then
+        assertEquals(List.of(book.getId()), borrowedBookIds);
     }
 
+    @Test
+    void markReturned_shouldUpdateOnlyUnreturnedRows() {
+        // Given
+        LocalDateTime returnDate = LocalDateTime.now();
+        List<BorrowRepository.ReturnCandidate> locked = borrowRepository.findAllForReturnByIdIn(List.of(borrowEntry.getId()));
+
+        // When
+        int updated = borrowRepository.markReturned(List.of(borrowEntry.getId()), BorrowStatus.RETURNED, BigDecimal.ZERO, 0L, returnDate);
+        int updatedAgain = borrowRepository.markReturned(List.of(borrowEntry.getId()), BorrowStatus.RETURNED, BigDecimal.ZERO, 0L, returnDate);
+
+        // Then
+        assertEquals(1, locked.size());
+        assertEquals(book.getId(), locked.get(0).getBookId());
+        assertEquals(member.getId(), locked.get(0).getMemberId());
+        assertEquals(1, updated);
+        assertEquals(0, updatedAgain);
+        BorrowEntry foundRecord = testEntityManager.find(BorrowEntry.class, borrowEntry.getId());
+        assertEquals(BorrowStatus.RETURNED, foundRecord.getBorrowStatus());
+        assertNotNull(foundRecord.getReturnDate());
+    }
+
+    @Test
+    void findMemberHistoryPage_shouldSeekNewestFirstWithBookFetched() {
+        // Given
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(30);
+        BorrowEntry oldest = persistLoan(base, BorrowStatus.RETURNED);
+        BorrowEntry sameTimeLowerId = persistLoan(base.plusDays(1), BorrowStatus.RETURNED);
+        BorrowEntry sameTimeHigherId = persistLoan(base.plusDays(1), BorrowStatus.OVERDUE);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // When
+        List<BorrowEntry> firstPage = borrowRepository.findMemberHistoryPage(member.getId(),
+                EnumSet.allOf(BorrowStatus.class), base, base.plusDays(2),
+                LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE, Limit.of(2));
+        BorrowEntry last = firstPage.get(1);
+        List<BorrowEntry> secondPage = borrowRepository.findMemberHistoryPage(member.getId(),
+                EnumSet.allOf(BorrowStatus.class), base, base.plusDays(2),
+                last.getBorrowDate(), last.getId(), Limit.of(2));
+        List<BorrowEntry> returnedOnly = borrowRepository.findMemberHistoryPage(member.getId(),
+                EnumSet.of(BorrowStatus.RETURNED), base, base.plusDays(2),
+                LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE, Limit.of(10));
+
+        // Then
+        assertEquals(List.of(sameTimeHigherId.getId(), sameTimeLowerId.getId()),
+                firstPage.stream().map(BorrowEntry::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.stream().map(BorrowEntry::getId).toList());
+        assertEquals(List.of(sameTimeLowerId.getId(), oldest.getId()),
+                returnedOnly.stream().map(BorrowEntry::getId).toList());
+        assertTrue(testEntityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(firstPage.get(0), "book"));
+        assertEquals("Clean Code", firstPage.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void countBorrowsByBook_shouldCountEveryLoanOfEachBook() {
+        persistLoan(LocalDateTime.now().minusDays(10), BorrowStatus.RETURNED);
+        testEntityManager.flush();
+
+        List<BorrowRepository.BookBorrowCount> counts = borrowRepository.countBorrowsByBook();
+
+        assertEquals(1, counts.size());
+        assertEquals(book.getId(), counts.get(0).getBookId());
+        assertEquals(2L, counts.get(0).getBorrows());
+    }
+
+    private BorrowEntry persistLoan(LocalDateTime borrowDate, BorrowStatus borrowStatus) {
+        return testEntityManager.persist(BorrowEntry.builder()
+                .member(member)
+                .book(book)
+                .borrowDate(borrowDate)
+                .dueDate(borrowDate.plusDays(7))
+                .returnDate(borrowStatus == BorrowStatus.RETURNED ? borrowDate.plusDays(3) : null)
+                .penaltyAmount(BigDecimal.ZERO)
+                .borrowStatus(borrowStatus).build());
+    }
 }
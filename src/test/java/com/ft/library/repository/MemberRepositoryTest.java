@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -117,4 +118,29 @@ class MemberRepositoryTest {
         // Then
         assertTrue(found.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findIdsByMembershipStatus_shouldReturnOnlyMatchingIds() {
+        // Given
+        Member active = Member.builder()
+                .firstName("Fatih")
+                .email("fatih@gmail.com")
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .membershipDate(LocalDateTime.now())
+                .build();
+        Member suspended = Member.builder()
+                .firstName("John")
+                .email("john@gmail.com")
+                .membershipStatus(MembershipStatus.SUSPENDED)
+                .membershipDate(LocalDateTime.now())
+                .build();
+        testEntityManager.persist(active);
+        testEntityManager.persist(suspended);
+
+        // When
+        List<Long> suspendedIds = memberRepository.findIdsByMembershipStatus(MembershipStatus.SUSPENDED);
+
+        // Then
+        assertEquals(List.of(suspended.getId()), suspendedIds);
+    }
+}
@@ -0,0 +1,214 @@
+package com.ft.library.repository;
+
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls each repository access path, captures the SQL Hibernate generated for it and runs that through the
+ * embedded database's EXPLAIN, checking that the plan goes through the index the migrations created for it
+ * rather than scanning the table. Parameters are bound as NULL: H2 fixes the plan when the statement is
+ * prepared, from its shape alone. The context is discarded afterwards because the fixture advances identity
+ * columns that other repository tests rely on.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DirtiesContext
+@Import(SchemaIndexUsageTest.SqlCaptureConfig.class)
+class SchemaIndexUsageTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    private Book book;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            Book saved = testEntityManager.persist(Book.builder()
+                    .title("Book " + i)
+                    .isbn("97801323508" + String.format("%02d", i))
+                    .author("Author " + i)
+                    .quantityAvailable(5)
+                    .build());
+            Member registered = testEntityManager.persist(Member.builder()
+                    .firstName("First " + i)
+                    .lastName("Last " + i)
+                    .email("member" + i + "@gmail.com")
+                    .membershipStatus(i % 5 == 0 ? MembershipStatus.SUSPENDED : MembershipStatus.ACTIVE)
+                    .membershipDate(LocalDateTime.now())
+                    .build());
+            testEntityManager.persist(BorrowEntry.builder()
+                    .book(saved)
+                    .member(registered)
+                    .borrowDate(LocalDateTime.now())
+                    .dueDate(LocalDateTime.now().plusDays(14))
+                    .borrowStatus(BorrowStatus.ACTIVE)
+                    .build());
+            book = saved;
+            member = registered;
+        }
+        testEntityManager.flush();
+    }
+
+    @Test
+    void findBookByIsbn_shouldUseIsbnUniqueIndex() {
+        assertPlanUses(() -> bookRepository.findBookByIsbn("9780132350800"), "UK_BOOKS_ISBN");
+    }
+
+    @Test
+    void findByEmail_shouldUseEmailUniqueIndex() {
+        assertPlanUses(() -> memberRepository.findByEmail("member1@gmail.com"), "UK_MEMBERS_EMAIL");
+    }
+
+    @Test
+    void existsBorrowRecord_shouldUseActiveLoanIndex() {
+        assertPlanUses(() -> borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(book.getId(), member.getId()),
+                "IDX_BORROW_ENTRIES_ACTIVE_MEMBER");
+    }
+
+    @Test
+    void findOpenLoanBookIds_shouldUseActiveLoanIndex() {
+        assertPlanUses(() -> borrowRepository.findOpenLoanBookIdsByMemberIdAndBookIds(member.getId(),
+                        List.of(book.getId(), book.getId() - 1)),
+                "IDX_BORROW_ENTRIES_ACTIVE_MEMBER");
+    }
+
+    @Test
+    void overdueSweepKeys_shouldUseOpenDueIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertPlanUses(() -> borrowRepository.findOpenLoanKeysDueBefore(now, now.minusYears(1), 0L, Limit.of(100)),
+                "IDX_BORROW_ENTRIES_OPEN_DUE");
+    }
+
+    @Test
+    void penaltyAccrualWalk_shouldUseOpenPenaltyIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertPlanUses(() -> borrowRepository.findOpenLoanPenaltiesStaleAt(now, now.minusYears(1), 0L, Limit.of(100)),
+                "IDX_BORROW_ENTRIES_OPEN_PENALTY");
+    }
+
+    @Test
+    void memberHistoryPage_shouldUseHistoryIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertPlanUses(() -> borrowRepository.findMemberHistoryPage(member.getId(), EnumSet.allOf(BorrowStatus.class),
+                        now.minusYears(1), now, now, Long.MAX_VALUE, Limit.of(10)),
+                "IDX_BORROW_ENTRIES_MEMBER_HISTORY");
+    }
+
+    @Test
+    void findIdsByMembershipStatus_shouldUseStatusIndex() {
+        assertPlanUses(() -> memberRepository.findIdsByMembershipStatus(MembershipStatus.SUSPENDED), "IDX_MEMBERS_SUSPENDED");
+    }
+
+    @Test
+    void keysetPage_shouldSeekOnPrimaryKey() {
+        String plan = planOf(() -> bookRepository.findByIdGreaterThanOrderByIdAsc(book.getId(), Limit.of(10)));
+
+        // H2 keeps a single BIGINT primary key as the row key, so a seek shows up as a bounded table scan.
+        assertTrue(plan.contains("TABLESCAN: ID >") || plan.contains("PRIMARY_KEY"), plan);
+    }
+
+    private void assertPlanUses(Runnable repositoryCall, String indexName) {
+        String plan = planOf(repositoryCall);
+        assertTrue(plan.contains(indexName), () -> "Expected " + indexName + " in plan:\n" + plan);
+    }
+
+    private String planOf(Runnable repositoryCall) {
+        testEntityManager.clear();
+        sqlRecorder.clear();
+        repositoryCall.run();
+        List<String> statements = sqlRecorder.statements();
+        assertEquals(1, statements.size(), () -> "Expected one statement, got " + statements);
+        return explain(statements.get(0));
+    }
+
+    private String explain(String sql) {
+        return testEntityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1).toUpperCase(Locale.ROOT);
+                }
+            }
+        });
+    }
+
+    static class SqlRecorder implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlRecordingCustomizer(SqlRecorder sqlRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlRecorder);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Query latency of the title/author index over a synthetic catalog. Indexing a million titles takes a few
+ * seconds, so it only runs on request, e.g. {@code mvn test -Dtest=BookSearchIndexBenchmarkTest
+ * -Dbenchmark.search-books=1000000}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.search-books", matches = "\\d+")
+public class BookSearchIndexBenchmarkTest {
+
+    private static final String[] WORDS = {
+            "the", "of", "and", "history", "java", "clean", "code", "war", "peace", "garden", "night", "river",
+            "design", "patterns", "secret", "city", "empire", "ocean", "silent", "winter", "summer", "shadow",
+            "kingdom", "light", "stone", "journey", "machine", "learning", "guide", "complete", "modern", "art"
+    };
+
+    private static final String[] QUERIES = {"java", "the history", "clean code", "silent winter river", "art guide"};
+
+    private static final int ROUNDS = 2_000;
+
+    @Test
+    void search_overLargeCatalog_shouldAnswerWithinAMillisecond() {
+        int books = Integer.parseInt(System.getProperty("benchmark.search-books"));
+        BookSearchIndex index = new BookSearchIndex(mock(BookRepository.class), new LibraryProperties());
+        SplittableRandom random = new SplittableRandom(42);
+        long indexStarted = System.nanoTime();
+        for (long id = 1; id <= books; id++) {
+            StringBuilder title = new StringBuilder();
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            title.append("volume").append(id % 10_000);
+            index.put(id, title.toString(), "Author " + random.nextInt(50_000));
+        }
+        System.out.printf("indexed %d books in %d ms: %d terms, %.1f MB of postings%n", books,
+                (System.nanoTime() - indexStarted) / 1_000_000, index.terms(), index.memoryBytes() / 1e6);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            index.search(QUERIES[i % QUERIES.length], 20);
+        }
+        double worstMedianMicros = 0;
+        for (String query : QUERIES) {
+            long[] nanos = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                long started = System.nanoTime();
+                index.search(query, 20);
+                nanos[i] = System.nanoTime() - started;
+            }
+            Arrays.sort(nanos);
+            double median = nanos[ROUNDS / 2] / 1e3;
+            System.out.printf("%-22s p50 %8.1f us, p99 %8.1f us%n", query, median, nanos[ROUNDS * 99 / 100] / 1e3);
+            worstMedianMicros = Math.max(worstMedianMicros, median);
+        }
+
+        double worstMedian = worstMedianMicros;
+        assertTrue(worstMedian < 1_000, () -> "median query took " + worstMedian + " us");
+    }
+}
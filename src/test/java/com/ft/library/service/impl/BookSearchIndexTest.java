@@ -0,0 +1,115 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.entity.Book;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.util.PostingList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    @Test
+    void tokenize_shouldCaseFoldStripAccentsAndSplitOnPunctuation() {
+        assertEquals(Set.of("fatih", "buyukguclu"), BookSearchIndex.tokenize("Fatih BÜYÜKGÜÇLÜ"));
+        assertEquals(Set.of("c", "programming", "2nd", "edition"), BookSearchIndex.tokenize("C Programming (2nd Edition)"));
+        assertTrue(BookSearchIndex.tokenize("  -- ").isEmpty());
+    }
+
+    @Test
+    void rebuild_thenSearch_shouldRequireEveryTermAndRankTitleHitsFirst() {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(1);
+            consumer.accept(book(1L, "Clean Code", "Robert C. Martin"));
+            consumer.accept(book(2L, "Refactoring", "Martin Fowler"));
+            consumer.accept(book(3L, "Clean Architecture", "Robert C. Martin"));
+            consumer.accept(book(4L, "Martin Eden", "Jack London"));
+            consumer.accept(book(5L, "Effective Java", "Joshua Bloch"));
+            return null;
+        }).when(bookRepository).streamAll(anyInt(), any());
+
+        bookSearchIndex.rebuild();
+
+        // "martin" in a title outranks "martin" in an author; equal scores keep id order.
+        assertArrayEquals(new long[]{4L, 1L, 2L, 3L}, bookSearchIndex.search("MARTIN", 10));
+        assertArrayEquals(new long[]{1L, 3L}, bookSearchIndex.search("clean martin", 10));
+        assertArrayEquals(new long[]{4L, 1L}, bookSearchIndex.search("martin", 2));
+        assertEquals(0, bookSearchIndex.search("clean java", 10).length);
+        assertEquals(0, bookSearchIndex.search("unknown", 10).length);
+        assertEquals(0, bookSearchIndex.search("", 10).length);
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateIncrementally() {
+        bookSearchIndex.put(7L, "Clean Code", "Robert C. Martin");
+        bookSearchIndex.put(3L, "Code Complete", "Steve McConnell");
+
+        assertArrayEquals(new long[]{3L, 7L}, bookSearchIndex.search("code", 10));
+
+        bookSearchIndex.remove(7L, "Clean Code", "Robert C. Martin");
+        bookSearchIndex.put(7L, "Clean Architecture", "Robert C. Martin");
+
+        assertArrayEquals(new long[]{3L}, bookSearchIndex.search("code", 10));
+        assertArrayEquals(new long[]{7L}, bookSearchIndex.search("architecture", 10));
+        assertEquals(0, bookSearchIndex.search("complete architecture", 10).length);
+    }
+
+    @Test
+    void search_whenPostingsSpanManyBlocks_shouldSeekToCommonIds() {
+        for (long id = 1; id <= 5_000; id++) {
+            String title = (id % 3 == 0 ? "Common " : "") + (id % 1_000 == 0 ? "Rare " : "") + "Title " + id;
+            bookSearchIndex.put(id, title, "Author");
+        }
+
+        assertArrayEquals(new long[]{3_000L}, bookSearchIndex.search("rare common", 10));
+        assertArrayEquals(new long[]{1_000L, 2_000L, 3_000L, 4_000L, 5_000L}, bookSearchIndex.search("title rare", 10));
+        assertArrayEquals(new long[]{3L, 6L, 9L}, bookSearchIndex.search("common author", 3));
+    }
+
+    @Test
+    void postingList_shouldEncodeOutOfOrderAddsAndRemovals() {
+        PostingList postings = new PostingList();
+        for (long value = 0; value < 1_000; value += 2) {
+            postings.add(value);
+        }
+        postings.add(501);
+        postings.add(500);
+        postings.remove(0);
+
+        assertEquals(500, postings.size());
+        assertTrue(postings.contains(501));
+        assertFalse(postings.contains(0));
+        PostingList.Cursor cursor = postings.cursor();
+        assertEquals(500, cursor.advance(499));
+        assertEquals(501, cursor.next());
+        assertEquals(998, cursor.advance(997));
+        assertEquals(PostingList.END, cursor.next());
+        assertTrue(postings.memoryBytes() < 500L * Long.BYTES);
+    }
+
+    private static Book book(long id, String title, String author) {
+        return Book.builder().id(id).title(title).author(author).build();
+    }
+}
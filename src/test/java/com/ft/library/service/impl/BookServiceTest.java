@@ -1,22 +1,44 @@
 package com.ft.library.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.BookAlreadyExistsException;
 import com.ft.library.exception.BookNotFoundException;
+import com.ft.library.exception.InvalidCursorException;
 import com.ft.library.model.dto.request.CreateBookRequest;
+import com.ft.library.model.dto.response.BookCacheStats;
+import com.ft.library.model.dto.response.BookImportSummary;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.dto.response.PageResponse;
 import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.ImportFormat;
+import com.ft.library.model.enums.SuggestionField;
 import com.ft.library.repository.BookRepository;
+import com.ft.library.util.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +47,33 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private BookImportWriter bookImportWriter;
+
+    @Spy
+    private BookCache bookCache = new BookCache(new LibraryProperties());
+
+    @Mock
+    private IsbnIndex isbnIndex;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CatalogSnapshotCache catalogSnapshotCache;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -73,20 +122,31 @@ class BookServiceTest {
 
     @Test
     void createBook_shouldCreateBook() {
-        when(bookRepository.save(any(Book.class))).thenReturn(existingBook);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(existingBook);
 
         bookService.createBook(createBookRequest);
 
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).saveAndFlush(any(Book.class));
+        verify(bookSuggestIndex).markStale();
     }
 
     @Test
     void createBook_whenRepositoryThrowException_shouldThrowException() {
-        when(bookRepository.save(any(Book.class))).thenThrow(new RuntimeException());
+        when(bookRepository.saveAndFlush(any(Book.class))).thenThrow(new RuntimeException());
 
         assertThrows(RuntimeException.class, () -> bookService.createBook(createBookRequest));
     }
 
+    @Test
+    void createBook_whenIsbnAlreadyExists_shouldThrowBookAlreadyExistsException() {
+        when(bookRepository.saveAndFlush(any(Book.class))).thenThrow(new DataIntegrityViolationException("uk_books_isbn"));
+
+        BookAlreadyExistsException exception = assertThrows(BookAlreadyExistsException.class, () -> bookService.createBook(createBookRequest));
+
+        assertEquals("Book Already Exists", exception.getMessage());
+        verifyNoInteractions(isbnIndex);
+    }
+
     @Test
     void getAllBook_shouldReturnAllBooks() {
         when(bookRepository.findAll()).thenReturn(savedBooks);
@@ -110,6 +170,65 @@ class BookServiceTest {
         assertTrue(allBook.isEmpty());
     }
 
+    @Test
+    void getBookPage_whenMoreRowsExist_shouldReturnNextCursor() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), argThat(limit -> limit.max() == 2))).thenReturn(new ArrayList<>(savedBooks));
+
+        PageResponse<Book> page = bookService.getBookPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Clean Code", page.getItems().get(0).getTitle());
+        assertEquals(1L, CursorCodec.decodeLong(page.getNext()));
+    }
+
+    @Test
+    void getBookPage_whenLastPage_shouldReturnNullCursor() {
+        String cursor = CursorCodec.encode("1");
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), argThat(limit -> limit.max() == 21))).thenReturn(List.of(savedBooks.get(1)));
+
+        PageResponse<Book> page = bookService.getBookPage(cursor, null);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Effective Java", page.getItems().get(0).getTitle());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void getBookPage_whenSizeExceedsMax_shouldCapPageSize() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), argThat(limit -> limit.max() == 101))).thenReturn(new ArrayList<>());
+
+        PageResponse<Book> page = bookService.getBookPage(null, 5000);
+
+        verify(bookRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), argThat(limit -> limit.max() == 101));
+        assertTrue(page.getItems().isEmpty());
+    }
+
+    @Test
+    void getBookPage_whenCursorInvalid_shouldThrowException() {
+        InvalidCursorException exception = assertThrows(InvalidCursorException.class, () -> bookService.getBookPage("not-a-cursor", 10));
+
+        assertEquals("Invalid Cursor", exception.getMessage());
+        verify(bookRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void streamAllBook_shouldWriteApiResponseEnvelope() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(1);
+            savedBooks.forEach(consumer);
+            return null;
+        }).when(bookRepository).streamAll(anyInt(), any());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        bookService.streamAllBook(outputStream);
+
+        String json = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"status\":\"Success\",\"message\":\"Success\",\"data\":["));
+        assertTrue(json.contains("\"title\":\"Clean Code\""));
+        assertTrue(json.contains("\"title\":\"Effective Java\""));
+        assertTrue(json.endsWith("]}"));
+    }
+
     @Test
     void getBookById_shouldReturnBook() {
         when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
@@ -132,6 +251,69 @@ class BookServiceTest {
         assertEquals("Book not found", exception.getMessage());
     }
 
+    @Test
+    void getBookById_whenCached_shouldSkipRepositoryAndReturnCopy() {
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+
+        Book first = bookService.getBookById(1L);
+        first.setQuantityAvailable(0);
+        Book second = bookService.getBookById(1L);
+
+        verify(bookRepository, times(1)).findBookById(1L);
+        assertNotSame(first, second);
+        assertEquals(10, second.getQuantityAvailable());
+    }
+
+    @Test
+    void getBookByIsbn_whenLoadedById_shouldHitCache() {
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+        when(isbnIndex.findBookId(9780132350884L)).thenReturn(1L);
+
+        bookService.getBookById(1L);
+        Book book = bookService.getBookByIsbn("9780132350884");
+
+        verify(bookRepository, never()).findBookByIsbn(any());
+        assertEquals("Clean Code", book.getTitle());
+        BookCacheStats stats = bookService.getCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void decreaseStock_shouldEvictCachedBook() {
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+        when(bookRepository.decrementQuantityAvailable(1L)).thenReturn(1);
+
+        bookService.getBookById(1L);
+        bookService.decreaseStock(1L);
+        bookService.getBookById(1L);
+
+        verify(bookRepository, times(2)).findBookById(1L);
+    }
+
+    @Test
+    void getBookByIsbn_whenIsbn10Hyphenated_shouldProbeIndexByIsbn13() {
+        when(isbnIndex.findBookId(9780132350884L)).thenReturn(1L);
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+
+        Book book = bookService.getBookByIsbn("0-13-235088-2");
+
+        assertEquals("Clean Code", book.getTitle());
+        verify(bookRepository, never()).findBookByIsbn(any());
+    }
+
+    @Test
+    void getBookByIsbn_whenIndexStale_shouldFallBackToColumnLookup() {
+        when(isbnIndex.findBookId(9780134685991L)).thenReturn(1L);
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+        when(bookRepository.findBookByIsbn("9780134685991")).thenReturn(Optional.of(savedBooks.get(1)));
+
+        Book book = bookService.getBookByIsbn("9780134685991");
+
+        assertEquals("Effective Java", book.getTitle());
+        verify(isbnIndex).put("9780134685991", 2L);
+    }
+
     @Test
     void getBookByIsbn_shouldReturnBook() {
         when(bookRepository.findBookByIsbn("9780132350884")).thenReturn(Optional.of(savedBooks.get(0)));
@@ -157,12 +339,12 @@ class BookServiceTest {
     @Test
     void updateBook_shouldUpdateBook() {
         when(bookRepository.findBookById(1L)).thenReturn(Optional.of(existingBook));
-        when(bookRepository.save(any(Book.class))).thenReturn(existingBook);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(existingBook);
 
         bookService.updateBook(1L, updateBookRequest);
 
         verify(bookRepository, times(1)).findBookById(1L);
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).saveAndFlush(any(Book.class));
 
         assertEquals(existingBook.getTitle(), updateBookRequest.getTitle());
         assertEquals(existingBook.getIsbn(), updateBookRequest.getIsbn());
@@ -170,6 +352,55 @@ class BookServiceTest {
         assertEquals(existingBook.getQuantityAvailable(), updateBookRequest.getQuantityAvailable());
     }
 
+    @Test
+    void updateBook_whenIsbnChanged_shouldEvictOldIsbn() {
+        when(bookRepository.findBookByIsbn("9780132350884")).thenReturn(Optional.of(savedBooks.get(0)), Optional.empty());
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+        when(isbnIndex.findBookId(anyLong())).thenReturn(IsbnIndex.MISSING);
+
+        bookService.getBookByIsbn("9780132350884");
+        bookService.updateBook(1L, new CreateBookRequest("Clean Code", "9780132350891", "Robert C. Martin", 10));
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookByIsbn("9780132350884"));
+        verify(bookRepository, times(2)).findBookByIsbn("9780132350884");
+        verify(isbnIndex).remove("9780132350884", 1L);
+        verify(isbnIndex).put("9780132350891", 1L);
+    }
+
+    @Test
+    void updateBook_shouldReindexTitleAndAuthor() {
+        when(bookRepository.findBookById(1L)).thenReturn(Optional.of(savedBooks.get(0)));
+
+        bookService.updateBook(1L, new CreateBookRequest("Clean Architecture", "9780132350884", "Robert C. Martin", 10));
+
+        verify(bookSearchIndex).remove(1L, "Clean Code", "Robert C. Martin");
+        verify(bookSearchIndex).put(1L, "Clean Architecture", "Robert C. Martin");
+        verify(catalogVersion).bookChanged(1L);
+    }
+
+    @Test
+    void searchBooks_shouldKeepIndexOrderAndDropRowsThatNoLongerMatch() {
+        Book architecture = Book.builder().id(3L).title("Clean Architecture").author("Robert C. Martin").build();
+        Book renamed = Book.builder().id(2L).title("Refactoring").author("Martin Fowler").build();
+        when(bookSearchIndex.search("clean martin", 20)).thenReturn(new long[]{3L, 2L, 1L});
+        when(bookRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(savedBooks.get(0), renamed, architecture));
+
+        List<Book> books = bookService.searchBooks("clean martin", null);
+
+        assertEquals(List.of(3L, 1L), books.stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void suggestBooks_shouldCapSizeAtPrecomputedTopN() {
+        libraryProperties.getCatalog().getSuggest().setTopN(5);
+        BookSuggestion suggestion = BookSuggestion.builder().text("Clean Code").field(SuggestionField.TITLE).build();
+        when(bookSuggestIndex.suggest("cle", 5)).thenReturn(List.of(suggestion));
+
+        assertEquals(List.of(suggestion), bookService.suggestBooks("cle", 50));
+        bookService.suggestBooks("cle", null);
+        verify(bookSuggestIndex, times(2)).suggest("cle", 5);
+    }
+
     @Test
     void updateBook_whenBookNotFound_shouldThrowException() {
         when(bookRepository.findBookById(999L)).thenReturn(Optional.empty());
@@ -179,4 +410,141 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findBookById(999L);
         assertEquals("Book not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void decreaseStock_whenRowUpdated_shouldReturnTrue() {
+        when(bookRepository.decrementQuantityAvailable(1L)).thenReturn(1);
+
+        assertTrue(bookService.decreaseStock(1L));
+    }
+
+    @Test
+    void decreaseStock_whenOutOfStock_shouldReturnFalse() {
+        when(bookRepository.decrementQuantityAvailable(1L)).thenReturn(0);
+
+        assertFalse(bookService.decreaseStock(1L));
+    }
+
+    @Test
+    void increaseStock_shouldDelegateToConditionalUpdate() {
+        when(bookRepository.incrementQuantityAvailable(1L)).thenReturn(1);
+
+        assertTrue(bookService.increaseStock(1L));
+        verify(bookRepository, times(1)).incrementQuantityAvailable(1L);
+    }
+
+    @Test
+    void decreaseStock_whenBatch_shouldMapUpdateCounts() {
+        when(bookRepository.decrementQuantityAvailableBatch(List.of(1L, 2L))).thenReturn(new int[]{1, 0});
+
+        boolean[] decreased = bookService.decreaseStock(List.of(1L, 2L));
+
+        assertArrayEquals(new boolean[]{true, false}, decreased);
+    }
+
+    @Test
+    void decreaseStock_whenBatchEmpty_shouldSkipRepository() {
+        boolean[] decreased = bookService.decreaseStock(List.of());
+
+        assertEquals(0, decreased.length);
+        verify(bookRepository, never()).decrementQuantityAvailableBatch(any());
+    }
+
+    @Test
+    void importBooks_whenCsv_shouldUpsertInBatches() throws Exception {
+        libraryProperties.getCatalog().setImportBatchSize(2);
+        String csv = """
+                title,isbn,author,quantityAvailable
+                Clean Code,9780132350884,Robert C. Martin,10
+                "Refactoring, 2nd Edition",9780134757599,Martin Fowler,3
+                Effective Java,9780134685991,Joshua Bloch,5
+                """;
+        List<List<String>> batches = new ArrayList<>();
+        when(bookImportWriter.upsert(any())).thenAnswer(invocation -> {
+            Collection<CreateBookRequest> rows = invocation.getArgument(0);
+            batches.add(rows.stream().map(CreateBookRequest::getIsbn).toList());
+            return new BookImportWriter.UpsertCounts(rows.size(), 0);
+        });
+
+        BookImportSummary summary = bookService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertEquals(3, summary.getInserted());
+        assertEquals(0, summary.getRejected());
+        assertEquals(List.of(List.of("9780132350884", "9780134757599"), List.of("9780134685991")), batches);
+    }
+
+    @Test
+    void importBooks_whenNdjson_shouldCollapseDuplicateIsbnWithinBatch() throws Exception {
+        String ndjson = """
+                {"title":"Clean Code","isbn":"9780132350884","author":"Robert C. Martin","quantityAvailable":10}
+
+                {"title":"Clean Code","isbn":"9780132350884","author":"Robert C. Martin","quantityAvailable":12}
+                """;
+        when(bookImportWriter.upsert(any())).thenAnswer(invocation -> {
+            Collection<CreateBookRequest> rows = invocation.getArgument(0);
+            assertEquals(12, rows.iterator().next().getQuantityAvailable());
+            return new BookImportWriter.UpsertCounts(rows.size(), 0);
+        });
+
+        BookImportSummary summary = bookService.importBooks(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        assertEquals(1, summary.getInserted());
+        assertEquals(0, summary.getUpdated());
+        assertEquals(1, summary.getDuplicates());
+        verify(bookImportWriter, times(1)).upsert(any());
+    }
+
+    @Test
+    void importBooks_whenIsbnRepeatsWithinChunk_shouldCountItAsDuplicateNotUpdate() throws Exception {
+        libraryProperties.getCatalog().setImportBatchSize(3);
+        String csv = """
+                title,isbn,author,quantityAvailable
+                Clean Code,9780132350884,Robert C. Martin,10
+                Effective Java,9780134685991,Joshua Bloch,5
+                Clean Code,9780132350884,Robert C. Martin,11
+                Clean Code,9780132350884,Robert C. Martin,12
+                Effective Java,9780134685991,Joshua Bloch,6
+                Refactoring,9780134757599,Martin Fowler,3
+                """;
+        Set<String> existingIsbns = Set.of("9780134685991");
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(bookImportWriter.upsert(any())).thenAnswer(invocation -> {
+            Collection<CreateBookRequest> rows = invocation.getArgument(0);
+            chunkSizes.add(rows.size());
+            int updated = (int) rows.stream().filter(row -> existingIsbns.contains(row.getIsbn())).count();
+            return new BookImportWriter.UpsertCounts(rows.size() - updated, updated);
+        });
+
+        BookImportSummary summary = bookService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertEquals(2, summary.getInserted());
+        assertEquals(1, summary.getUpdated());
+        assertEquals(3, summary.getDuplicates());
+        assertEquals(0, summary.getRejected());
+        assertEquals(List.of(3), chunkSizes);
+    }
+
+    @Test
+    void importBooks_whenRowsInvalid_shouldReportRejectionsWithLineNumbers() throws Exception {
+        String csv = """
+                title,isbn,author,quantityAvailable
+                ,9780132350884,Robert C. Martin,10
+                Effective Java,9780134685991,Joshua Bloch,many
+                Effective Java,9780134685991
+                """;
+
+        BookImportSummary summary = bookService.importBooks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertEquals(0, summary.getInserted());
+        assertEquals(3, summary.getRejected());
+        assertEquals(2, summary.getRejections().get(0).getLine());
+        assertEquals("Missing Title", summary.getRejections().get(0).getReason());
+        assertEquals("Invalid Quantity", summary.getRejections().get(1).getReason());
+        assertEquals("Missing Columns", summary.getRejections().get(2).getReason());
+        verify(bookImportWriter, never()).upsert(any());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.util.SuggestTrie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Build time, footprint and per-keystroke latency of the suggestion trie over a synthetic catalog. Building a
+ * million keys takes several seconds, so it only runs on request, e.g. {@code mvn test
+ * -Dtest=BookSuggestBenchmarkTest -Dbenchmark.suggest-keys=1000000}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.suggest-keys", matches = "\\d+")
+public class BookSuggestBenchmarkTest {
+
+    private static final String[] WORDS = {
+            "the", "of", "and", "history", "java", "clean", "code", "war", "peace", "garden", "night", "river",
+            "design", "patterns", "secret", "city", "empire", "ocean", "silent", "winter", "summer", "shadow",
+            "kingdom", "light", "stone", "journey", "machine", "learning", "guide", "complete", "modern", "art"
+    };
+
+    private static final String[] KEYSTROKES = {"t", "th", "the", "the h", "the hist", "java c", "silent winter r", "zzz"};
+
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    void top_overLargeCatalog_shouldAnswerInMicroseconds() {
+        int size = Integer.parseInt(System.getProperty("benchmark.suggest-keys"));
+        SplittableRandom random = new SplittableRandom(42);
+        String[] keys = new String[size];
+        long[] borrows = new long[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder key = new StringBuilder();
+            int words = 2 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                key.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            keys[i] = key.append(i).toString();
+            borrows[i] = random.nextInt(1_000);
+        }
+
+        long buildStarted = System.nanoTime();
+        SuggestTrie trie = SuggestTrie.build(keys, borrows, 10);
+        System.out.printf("built %d keys in %d ms: %d nodes, %.1f MB%n", size,
+                (System.nanoTime() - buildStarted) / 1_000_000, trie.nodeCount(), trie.memoryBytes() / 1e6);
+
+        for (int i = 0; i < ROUNDS * 5; i++) {
+            trie.top(KEYSTROKES[i % KEYSTROKES.length], 10);
+        }
+        double worstP99Micros = 0;
+        for (String prefix : KEYSTROKES) {
+            long[] nanos = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                long started = System.nanoTime();
+                trie.top(prefix, 10);
+                nanos[i] = System.nanoTime() - started;
+            }
+            Arrays.sort(nanos);
+            double p99 = nanos[ROUNDS * 99 / 100] / 1e3;
+            System.out.printf("%-18s p50 %6.2f us, p99 %6.2f us%n", "'" + prefix + "'", nanos[ROUNDS / 2] / 1e3, p99);
+            worstP99Micros = Math.max(worstP99Micros, p99);
+        }
+
+        double worstP99 = worstP99Micros;
+        assertTrue(worstP99 < 100, () -> "p99 lookup took " + worstP99 + " us");
+    }
+}
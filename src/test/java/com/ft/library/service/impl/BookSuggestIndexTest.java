@@ -0,0 +1,172 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.BookSuggestion;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.enums.SuggestionField;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.util.SuggestTrie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BorrowRepository borrowRepository;
+
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @InjectMocks
+    private BookSuggestIndex bookSuggestIndex;
+
+    @Test
+    void suggest_shouldRankTitlesAndAuthorsByBorrowCount() {
+        givenCatalog(
+                List.of(book(1L, "Clean Code", "Robert C. Martin"),
+                        book(2L, "Clean Architecture", "Robert C. Martin"),
+                        book(3L, "Cleaner Code", "Someone Else"),
+                        book(4L, "Refactoring", "Martin Fowler")),
+                List.of(new BorrowCount(1L, 5), new BorrowCount(2L, 9), new BorrowCount(4L, 1)));
+
+        bookSuggestIndex.rebuild();
+
+        List<BookSuggestion> clean = bookSuggestIndex.suggest("CLEAN", 10);
+        assertEquals(List.of("Clean Architecture", "Clean Code", "Cleaner Code"), texts(clean));
+        assertEquals(2L, clean.get(0).getBookId());
+        assertEquals(9L, clean.get(0).getBorrowCount());
+
+        List<BookSuggestion> robert = bookSuggestIndex.suggest("rob", 10);
+        assertEquals(1, robert.size());
+        assertEquals(SuggestionField.AUTHOR, robert.get(0).getField());
+        assertNull(robert.get(0).getBookId());
+        assertEquals(14L, robert.get(0).getBorrowCount());
+
+        assertEquals(List.of("Clean Code"), texts(bookSuggestIndex.suggest("clean  code", 10)));
+        assertEquals(List.of("Clean Architecture", "Clean Code"), texts(bookSuggestIndex.suggest("clean ", 10)));
+        assertEquals(List.of("Clean Architecture"), texts(bookSuggestIndex.suggest("clean", 1)));
+        assertTrue(bookSuggestIndex.suggest("java", 10).isEmpty());
+        assertTrue(bookSuggestIndex.suggest(" - ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldFoldAccentsAndCollapseSharedTitles() {
+        givenCatalog(
+                List.of(book(1L, "Eylül", "Mehmet Rauf"),
+                        book(2L, "Eylul", "Mehmet Rauf"),
+                        book(3L, "EYLÜL", "Mehmet Rauf")),
+                List.of(new BorrowCount(1L, 2), new BorrowCount(3L, 7)));
+
+        bookSuggestIndex.rebuild();
+
+        List<BookSuggestion> suggestions = bookSuggestIndex.suggest("eylü", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(3L, suggestions.get(0).getBookId());
+        assertEquals("EYLÜL", suggestions.get(0).getText());
+        assertEquals(9L, suggestions.get(0).getBorrowCount());
+        assertEquals(9L, bookSuggestIndex.suggest("mehmet r", 10).get(0).getBorrowCount());
+    }
+
+    @Test
+    void refreshOnSchedule_shouldRebuildOnlyWhenStaleOrOld() {
+        givenCatalog(List.of(book(1L, "Clean Code", "Robert C. Martin")), List.of());
+        bookSuggestIndex.rebuild();
+
+        bookSuggestIndex.refreshOnSchedule();
+        verify(bookRepository, times(1)).streamAll(anyInt(), any());
+
+        bookSuggestIndex.markStale();
+        assertTrue(bookSuggestIndex.isStale());
+        bookSuggestIndex.refreshOnSchedule();
+        verify(bookRepository, times(2)).streamAll(anyInt(), any());
+        assertFalse(bookSuggestIndex.isStale());
+
+        libraryProperties.getCatalog().getSuggest().setMaxAgeMs(0);
+        bookSuggestIndex.refreshOnSchedule();
+        verify(bookRepository, times(3)).streamAll(anyInt(), any());
+    }
+
+    @Test
+    void suggestTrie_shouldMatchBruteForceTopN() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 100; round++) {
+            int size = random.nextInt(200);
+            String[] keys = new String[size];
+            long[] weights = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = randomText(random, random.nextInt(6));
+                weights[i] = random.nextInt(20);
+            }
+            int topN = 1 + random.nextInt(6);
+            SuggestTrie trie = SuggestTrie.build(keys, weights, topN);
+
+            for (int query = 0; query < 50; query++) {
+                String prefix = randomText(random, random.nextInt(5));
+                int limit = 1 + random.nextInt(8);
+                List<String> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    if (keys[i].startsWith(prefix)) {
+                        expected.add(weights[i] + ":" + keys[i]);
+                    }
+                }
+                expected.sort(Comparator.comparingLong((String entry) -> -Long.parseLong(entry.split(":")[0]))
+                        .thenComparing(entry -> entry.substring(entry.indexOf(':') + 1)));
+                expected = expected.subList(0, Math.min(Math.min(limit, topN), expected.size()));
+
+                List<String> actual = new ArrayList<>();
+                for (int hit : trie.top(prefix, limit)) {
+                    actual.add(weights[hit] + ":" + keys[hit]);
+                }
+                assertEquals(expected, actual, "prefix '" + prefix + "'");
+            }
+        }
+    }
+
+    private void givenCatalog(List<Book> books, List<BorrowRepository.BookBorrowCount> counts) {
+        when(borrowRepository.countBorrowsByBook()).thenReturn(counts);
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(1);
+            books.forEach(consumer);
+            return null;
+        }).when(bookRepository).streamAll(anyInt(), any());
+    }
+
+    private static List<String> texts(List<BookSuggestion> suggestions) {
+        return suggestions.stream().map(BookSuggestion::getText).toList();
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    private static Book book(long id, String title, String author) {
+        return Book.builder().id(id).title(title).author(author).build();
+    }
+
+    private record BorrowCount(Long getBookId, long getBorrows) implements BorrowRepository.BookBorrowCount {
+    }
+}
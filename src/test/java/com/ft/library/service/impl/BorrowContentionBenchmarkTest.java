@@ -0,0 +1,136 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.ConcurrencyMode;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.MemberRepository;
+import com.ft.library.service.BorrowService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Borrow storm on a single title under each concurrency mode. Throughput and conflict counts are printed
+ * for comparison; the assertions only guard the stock invariants. Runs on request, e.g. {@code mvn test
+ * -Dtest=BorrowContentionBenchmarkTest -Dbenchmark.borrow-members=256}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark.borrow-members", matches = "\\d+")
+public class BorrowContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+
+    private static final int STOCK = 32;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private LibraryProperties libraryProperties;
+
+    @AfterEach
+    void tearDown() {
+        libraryProperties.getBorrow().setConcurrencyMode(ConcurrencyMode.CONDITIONAL_UPDATE);
+        libraryProperties.getBorrow().setStripedLockEnabled(false);
+        borrowRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"CONDITIONAL_UPDATE, false", "OPTIMISTIC, false", "OPTIMISTIC, true"})
+    void borrowStorm_shouldKeepStockConsistent(ConcurrencyMode mode, boolean stripedLock) throws Exception {
+        libraryProperties.getBorrow().setConcurrencyMode(mode);
+        libraryProperties.getBorrow().setStripedLockEnabled(stripedLock);
+        int members = Integer.parseInt(System.getProperty("benchmark.borrow-members"));
+
+        Long bookId = bookRepository.save(Book.builder()
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(STOCK)
+                .build()).getId();
+        List<Long> memberIds = IntStream.range(0, members)
+                .mapToObj(i -> memberRepository.save(Member.builder()
+                        .firstName("Member")
+                        .lastName(String.valueOf(i))
+                        .email("member" + i + "@library.com")
+                        .membershipDate(LocalDateTime.now())
+                        .membershipStatus(MembershipStatus.ACTIVE)
+                        .build()).getId())
+                .toList();
+
+        Queue<Long> borrowIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = memberIds.stream()
+                    .<Future<?>>map(memberId -> executor.submit(() -> {
+                        try {
+                            BorrowResponse entry = borrowService.borrowBook(new CreateBorrowRequest(bookId, memberId));
+                            borrowIds.add(entry.getId());
+                        } catch (BookNotAvailableException e) {
+                            rejected.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("%s (striped lock %s): %.0f borrows/s, %d granted, %d out of stock, %d conflicts%n",
+                mode, stripedLock, members / (elapsedNanos / 1e9), borrowIds.size(), rejected.get(), failed.get());
+
+        int remaining = bookRepository.findBookById(bookId).orElseThrow().getQuantityAvailable();
+        assertTrue(borrowIds.size() <= STOCK);
+        assertEquals(STOCK - borrowIds.size(), remaining);
+
+        for (Long borrowId : borrowIds) {
+            borrowService.returnBook(borrowId);
+        }
+        assertEquals(STOCK, bookRepository.findBookById(bookId).orElseThrow().getQuantityAvailable());
+    }
+}
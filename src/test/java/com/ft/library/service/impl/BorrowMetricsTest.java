@@ -0,0 +1,62 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.domain.BorrowRules;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BorrowMetricsTest {
+
+    @Mock
+    private BorrowRepository borrowRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BorrowMetrics borrowMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        borrowMetrics = new BorrowMetrics(meterRegistry, borrowRepository, bookRepository);
+    }
+
+    @Test
+    void rejected_whenBorrowRule_thenCountUnderReason() {
+        // Act
+        borrowMetrics.rejected(BorrowRules.STOCK_NOT_AVAILABLE);
+        borrowMetrics.rejected(BorrowRules.STOCK_NOT_AVAILABLE);
+        borrowMetrics.rejected(BorrowRules.MEMBER_SUSPENDED);
+        borrowMetrics.rejected("Book not found");
+
+        // Assert
+        assertEquals(2, meterRegistry.get("library.borrow.rejections").tag("reason", "out_of_stock").counter().count());
+        assertEquals(1, meterRegistry.get("library.borrow.rejections").tag("reason", "member_suspended").counter().count());
+        assertEquals(0, meterRegistry.get("library.borrow.rejections").tag("reason", "already_borrowed").counter().count());
+        assertEquals(3, meterRegistry.get("library.borrow.rejections").counters().size());
+    }
+
+    @Test
+    void gauges_whenScraped_thenQueryRepositories() {
+        // Arrange
+        when(borrowRepository.countByReturnDateIsNull()).thenReturn(12L);
+        when(bookRepository.sumQuantityAvailable()).thenReturn(340L);
+        when(bookRepository.countByQuantityAvailableLessThanEqual(0)).thenReturn(3L);
+
+        // Act & Assert
+        assertEquals(12, meterRegistry.get("library.loans.active").gauge().value());
+        assertEquals(340, meterRegistry.get("library.books.stock").gauge().value());
+        assertEquals(3, meterRegistry.get("library.books.out-of-stock").gauge().value());
+    }
+}
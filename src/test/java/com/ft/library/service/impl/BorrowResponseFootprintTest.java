@@ -0,0 +1,135 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.MemberRepository;
+import com.ft.library.service.BorrowService;
+import com.ft.library.util.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * What a borrow and a return cost in statements, loaded entities and response bytes now that loans come back
+ * as {@link BorrowResponse} with lazy book and member associations. The bytes are compared against the same
+ * loan serialized with its book and member embedded, the shape the endpoints returned before. Counts are averaged
+ * over the requested number of borrow/return cycles; runs on request, e.g. {@code mvn test
+ * -Dtest=BorrowResponseFootprintTest -Dbenchmark.borrow-cycles=100}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark.borrow-cycles", matches = "\\d+")
+public class BorrowResponseFootprintTest {
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        borrowRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void borrowAndReturn_shouldLoadOnlyTheLoanAndSerializeIdsOnly() throws Exception {
+        Book book = bookRepository.save(Book.builder()
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(5)
+                .build());
+        Member member = memberRepository.save(Member.builder()
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipDate(LocalDateTime.now())
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build());
+
+        int cycles = Math.max(1, Integer.parseInt(System.getProperty("benchmark.borrow-cycles")));
+        long borrowStatements = 0;
+        long borrowEntityLoads = 0;
+        long returnStatements = 0;
+        long returnEntityLoads = 0;
+        BorrowResponse returned = null;
+        for (int i = 0; i < cycles; i++) {
+            QueryCounter.start();
+            BorrowResponse borrowed = borrowService.borrowBook(new CreateBorrowRequest(book.getId(), member.getId()));
+            QueryCounter.Counts borrowCounts = QueryCounter.stop();
+            borrowStatements += borrowCounts.getStatements();
+            borrowEntityLoads += borrowCounts.getEntityLoads();
+
+            QueryCounter.start();
+            returned = borrowService.returnBook(borrowed.getId());
+            QueryCounter.Counts returnCounts = QueryCounter.stop();
+            returnStatements += returnCounts.getStatements();
+            returnEntityLoads += returnCounts.getEntityLoads();
+        }
+
+        QueryCounter.start();
+        borrowService.returnBooks(List.of(borrowService.borrowBook(
+                new CreateBorrowRequest(book.getId(), member.getId())).getId()));
+        QueryCounter.Counts borrowAndBatchReturnCounts = QueryCounter.stop();
+
+        BorrowEntry withGraph = BorrowEntry.builder()
+                .id(returned.getId())
+                .book(bookRepository.findBookById(book.getId()).orElseThrow())
+                .member(memberRepository.findById(member.getId()).orElseThrow())
+                .borrowDate(returned.getBorrowDate())
+                .dueDate(returned.getDueDate())
+                .returnDate(returned.getReturnDate())
+                .borrowStatus(returned.getBorrowStatus())
+                .penaltyAmount(returned.getPenaltyAmount())
+                .version(1L)
+                .build();
+        int graphBytes = objectMapper.writeValueAsBytes(ApiResponse.of("Success", "Success", withGraph)).length;
+        int responseBytes = objectMapper.writeValueAsBytes(ApiResponse.of("Success", "Success", returned)).length;
+
+        System.out.printf("borrow: %.1f statements, %.1f entities loaded per call over %d cycles%n",
+                (double) borrowStatements / cycles, (double) borrowEntityLoads / cycles, cycles);
+        System.out.printf("return: %.1f statements, %.1f entities loaded per call over %d cycles%n",
+                (double) returnStatements / cycles, (double) returnEntityLoads / cycles, cycles);
+        System.out.printf("borrow + batch return: %d statements, %d entities loaded%n",
+                borrowAndBatchReturnCounts.getStatements(), borrowAndBatchReturnCounts.getEntityLoads());
+        System.out.printf("response body: %d bytes with book and member embedded, %d bytes with ids%n",
+                graphBytes, responseBytes);
+
+        // Only the loan row itself: the book and member were loaded eagerly alongside it before.
+        assertEquals(cycles, returnEntityLoads);
+        assertEquals(book.getId(), returned.getBookId());
+        assertEquals(member.getId(), returned.getMemberId());
+        assertTrue(responseBytes < graphBytes);
+        assertFalse(objectMapper.writeValueAsString(returned).contains("\"book\""));
+    }
+}
@@ -1,7 +1,19 @@
 package com.ft.library.service.impl;
 
+import com.ft.library.config.ConcurrencyMode;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.domain.FeeSchedule;
 import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.exception.InvalidBatchRequestException;
+import com.ft.library.exception.InvalidCursorException;
+import com.ft.library.model.dto.request.CreateBatchBorrowRequest;
 import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowItemResult;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.MemberLoanResponse;
+import com.ft.library.model.dto.response.OutstandingPenaltyResponse;
+import com.ft.library.model.dto.response.PageResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
 import com.ft.library.model.entity.Book;
 import com.ft.library.model.entity.BorrowEntry;
 import com.ft.library.model.entity.Member;
@@ -10,15 +22,21 @@ import com.ft.library.model.enums.MembershipStatus;
 import com.ft.library.repository.BorrowRepository;
 import com.ft.library.service.BookService;
 import com.ft.library.service.MemberService;
+import com.ft.library.util.CursorCodec;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +54,18 @@ public class BorrowServiceTest {
     @Mock
     private MemberService memberService;
 
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @Mock
+    private BorrowMetrics borrowMetrics;
+
+    @Spy
+    private FeeSchedule feeSchedule = FeeSchedule.DEFAULT;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private BorrowServiceImpl borrowService;
 
@@ -60,9 +90,10 @@ public class BorrowServiceTest {
 
         when(bookService.getBookById(1L)).thenReturn(book);
         when(memberService.getMemberById(1L)).thenReturn(member);
+        when(bookService.decreaseStock(1L)).thenReturn(true);
 
         // Act
-        BorrowEntry response = borrowService.borrowBook(request);
+        BorrowResponse response = borrowService.borrowBook(request);
 
         // Assert
         assertEquals(9, book.getQuantityAvailable());
@@ -70,18 +101,50 @@ public class BorrowServiceTest {
         assertEquals(borrowDate.plusDays(7).truncatedTo(ChronoUnit.SECONDS), response.getDueDate().truncatedTo(ChronoUnit.SECONDS));
         assertEquals(BorrowStatus.ACTIVE, response.getBorrowStatus());
         verify(bookService, times(1)).getBookById(1L);
+        verify(bookService, times(1)).decreaseStock(1L);
         verify(memberService, times(1)).getMemberById(1L);
+        verify(catalogVersion).bookChanged(1L);
+    }
+
+    @Test
+    void borrowBook_whenConditionalDecrementFails_thenThrowException() {
+        // Arrange
+        CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
+        Book book = Book.builder()
+                .id(1L)
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(1)
+                .build();
+        Member member = Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build();
+        when(bookService.getBookById(1L)).thenReturn(book);
+        when(memberService.getMemberById(1L)).thenReturn(member);
+        when(bookService.decreaseStock(1L)).thenReturn(false);
+
+        // Act & Assert
+        BookNotAvailableException exception = assertThrows(BookNotAvailableException.class, () -> borrowService.borrowBook(request));
+        assertEquals("Book Stock Not Available", exception.getMessage());
+        assertEquals(1, book.getQuantityAvailable());
+        verify(borrowRepository, never()).save(any());
     }
 
     @Test
     void borrowBook_whenBookAlreadyBorrowed_thenThrowException() {
         // Arrange
         CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
-        when(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndBorrowStatus(request.getBookId(), request.getMemberId(), BorrowStatus.ACTIVE)).thenReturn(true);
+        when(borrowRepository.existsBorrowRecordByBookIdAndMemberIdAndReturnDateIsNull(request.getBookId(), request.getMemberId())).thenReturn(true);
 
         // Act & Assert
         BookNotAvailableException exception = assertThrows(BookNotAvailableException.class, () -> borrowService.borrowBook(request));
         assertEquals("Book is Already Borrowed by Member", exception.getMessage());
+        verify(borrowMetrics).rejected("Book is Already Borrowed by Member");
         verify(bookService, never()).getBookById(anyLong());
         verify(memberService, never()).getMemberById(anyLong());
         verify(borrowRepository, never()).save(any());
@@ -127,10 +190,12 @@ public class BorrowServiceTest {
                 .build();
         when(memberService.getMemberById(1L)).thenReturn(member);
         when(bookService.getBookById(1L)).thenReturn(book);
+        when(memberService.isMemberSuspended(1L)).thenReturn(true);
 
         // Act & Assert
         BookNotAvailableException exception = assertThrows(BookNotAvailableException.class, () -> borrowService.borrowBook(request));
         assertEquals("Member Status is Suspended", exception.getMessage());
+        verify(borrowMetrics).rejected("Member Status is Suspended");
         verify(borrowRepository, never()).save(any());
     }
 
@@ -167,14 +232,15 @@ public class BorrowServiceTest {
         when(borrowRepository.findById(borrowRecordId)).thenReturn(Optional.of(borrowEntry));
 
         // Act
-        BorrowEntry response = borrowService.returnBook(borrowRecordId);
+        BorrowResponse response = borrowService.returnBook(borrowRecordId);
 
         // Assert
         assertEquals(returnDate, borrowEntry.getReturnDate().truncatedTo(ChronoUnit.SECONDS));
         assertEquals(BorrowStatus.RETURNED, borrowEntry.getBorrowStatus());
         assertEquals(BigDecimal.ZERO, borrowEntry.getPenaltyAmount());
 
-        assertEquals(1, book.getQuantityAvailable());
+        assertEquals(0, book.getQuantityAvailable());
+        verify(bookService, times(1)).increaseStock(1L);
         assertEquals(MembershipStatus.ACTIVE, member.getMembershipStatus());
 
         assertEquals(borrowEntry.getBorrowDate(), response.getBorrowDate());
@@ -182,6 +248,179 @@ public class BorrowServiceTest {
         assertEquals(borrowEntry.getDueDate(), response.getDueDate());
         assertEquals(borrowEntry.getBorrowStatus(), response.getBorrowStatus());
         assertEquals(borrowEntry.getPenaltyAmount(), response.getPenaltyAmount());
+        assertEquals(1L, response.getBookId());
+        assertEquals(1L, response.getMemberId());
+    }
+
+    @Test
+    void borrowBook_whenOptimisticMode_thenSkipConditionalUpdate() {
+        // Arrange
+        libraryProperties.getBorrow().setConcurrencyMode(ConcurrencyMode.OPTIMISTIC);
+        CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
+        Book book = Book.builder()
+                .id(1L)
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(10)
+                .build();
+        Member member = Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build();
+        when(bookService.getBookForUpdate(1L)).thenReturn(book);
+        when(memberService.getMemberById(1L)).thenReturn(member);
+
+        // Act
+        BorrowResponse response = borrowService.borrowBook(request);
+
+        // Assert
+        assertEquals(9, book.getQuantityAvailable());
+        assertEquals(BorrowStatus.ACTIVE, response.getBorrowStatus());
+        verify(bookService, never()).decreaseStock(anyLong());
+        verify(bookService, never()).getBookById(anyLong());
+        verify(borrowRepository, times(1)).save(any());
+    }
+
+    @Test
+    void returnBook_whenAlreadyReturned_thenThrowException() {
+        // Arrange
+        long borrowRecordId = 1L;
+        BorrowEntry borrowEntry = BorrowEntry.builder()
+                .id(borrowRecordId)
+                .borrowDate(LocalDateTime.now().minusDays(3))
+                .dueDate(LocalDateTime.now().plusDays(4))
+                .returnDate(LocalDateTime.now().minusDays(1))
+                .penaltyAmount(BigDecimal.ZERO)
+                .borrowStatus(BorrowStatus.RETURNED)
+                .build();
+        when(borrowRepository.findById(borrowRecordId)).thenReturn(Optional.of(borrowEntry));
+
+        // Act & Assert
+        BookNotAvailableException exception = assertThrows(BookNotAvailableException.class, () -> borrowService.returnBook(borrowRecordId));
+        assertEquals("Book is Already Returned", exception.getMessage());
+        verify(bookService, never()).increaseStock(anyLong());
+        verify(borrowRepository, never()).save(any());
+    }
+
+    @Test
+    void borrowBooks_whenMixedItems_thenReturnResultPerItem() {
+        // Arrange
+        CreateBatchBorrowRequest request = new CreateBatchBorrowRequest(1L, List.of(1L, 2L, 3L, 4L, 1L));
+        Book cleanCode = Book.builder().id(1L).title("Clean Code").quantityAvailable(10).build();
+        Book effectiveJava = Book.builder().id(2L).title("Effective Java").quantityAvailable(0).build();
+        Book refactoring = Book.builder().id(3L).title("Refactoring").quantityAvailable(3).build();
+        Member member = Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build();
+        when(memberService.getMemberById(1L)).thenReturn(member);
+        when(bookService.getBooksByIds(request.getBookIds())).thenReturn(List.of(cleanCode, effectiveJava, refactoring));
+        when(borrowRepository.findOpenLoanBookIdsByMemberIdAndBookIds(1L, request.getBookIds()))
+                .thenReturn(List.of(3L));
+        when(bookService.decreaseStock(List.of(1L))).thenReturn(new boolean[]{true});
+
+        // Act
+        List<BorrowItemResult> results = borrowService.borrowBooks(request);
+
+        // Assert
+        assertEquals(5, results.size());
+        assertEquals("Success", results.get(0).getStatus());
+        assertEquals(BorrowStatus.ACTIVE, results.get(0).getBorrow().getBorrowStatus());
+        assertEquals("Book Stock Not Available", results.get(1).getMessage());
+        assertEquals("Book is Already Borrowed by Member", results.get(2).getMessage());
+        assertEquals("Book not found", results.get(3).getMessage());
+        assertEquals("Book is Already Borrowed by Member", results.get(4).getMessage());
+        assertEquals(9, cleanCode.getQuantityAvailable());
+        verify(borrowRepository, times(1)).saveAll(anyCollection());
+    }
+
+    @Test
+    void borrowBooks_whenConditionalDecrementLosesRace_thenReportStockNotAvailable() {
+        // Arrange
+        CreateBatchBorrowRequest request = new CreateBatchBorrowRequest(1L, List.of(1L));
+        Book cleanCode = Book.builder().id(1L).title("Clean Code").quantityAvailable(1).build();
+        Member member = Member.builder().id(1L).membershipStatus(MembershipStatus.ACTIVE).build();
+        when(memberService.getMemberById(1L)).thenReturn(member);
+        when(bookService.getBooksByIds(request.getBookIds())).thenReturn(List.of(cleanCode));
+        when(bookService.decreaseStock(List.of(1L))).thenReturn(new boolean[]{false});
+
+        // Act
+        List<BorrowItemResult> results = borrowService.borrowBooks(request);
+
+        // Assert
+        assertEquals("Error", results.get(0).getStatus());
+        assertEquals("Book Stock Not Available", results.get(0).getMessage());
+        assertEquals(1, cleanCode.getQuantityAvailable());
+        verify(borrowMetrics).rejected("Book Stock Not Available");
+    }
+
+    @Test
+    void borrowBooks_whenMemberSuspended_thenRejectEveryItem() {
+        // Arrange
+        CreateBatchBorrowRequest request = new CreateBatchBorrowRequest(1L, List.of(1L));
+        Book cleanCode = Book.builder().id(1L).title("Clean Code").quantityAvailable(1).build();
+        Member member = Member.builder().id(1L).membershipStatus(MembershipStatus.SUSPENDED).build();
+        when(memberService.getMemberById(1L)).thenReturn(member);
+        when(memberService.isMemberSuspended(1L)).thenReturn(true);
+        when(bookService.getBooksByIds(request.getBookIds())).thenReturn(List.of(cleanCode));
+        when(bookService.decreaseStock(List.of())).thenReturn(new boolean[0]);
+
+        // Act
+        List<BorrowItemResult> results = borrowService.borrowBooks(request);
+
+        // Assert
+        assertEquals("Member Status is Suspended", results.get(0).getMessage());
+        assertNull(results.get(0).getBorrow());
+    }
+
+    @Test
+    void borrowBooks_whenBatchEmpty_thenThrowException() {
+        // Arrange
+        CreateBatchBorrowRequest request = new CreateBatchBorrowRequest(1L, List.of());
+
+        // Act & Assert
+        assertThrows(InvalidBatchRequestException.class, () -> borrowService.borrowBooks(request));
+        verify(memberService, never()).getMemberById(anyLong());
+    }
+
+    @Test
+    void returnBooks_whenMixedItems_thenApplySetBasedUpdates() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        BorrowRepository.ReturnCandidate onTime = new ReturnCandidate(
+                10L, 1L, 1L, now.minusDays(2), now.plusDays(5), null);
+        BorrowRepository.ReturnCandidate overdue = new ReturnCandidate(
+                11L, 1L, 1L, now.minusDays(10), now.minusDays(3).minusHours(1), null);
+        BorrowRepository.ReturnCandidate alreadyReturned = new ReturnCandidate(
+                12L, 2L, 1L, now.minusDays(2), now.plusDays(5), now.minusDays(1));
+        List<Long> borrowIds = List.of(10L, 11L, 12L, 13L, 10L);
+        when(borrowRepository.findAllForReturnByIdIn(borrowIds)).thenReturn(List.of(onTime, overdue, alreadyReturned));
+
+        // Act
+        List<ReturnItemResult> results = borrowService.returnBooks(borrowIds);
+
+        // Assert
+        assertEquals("Success", results.get(0).getStatus());
+        assertEquals(BorrowStatus.RETURNED, results.get(0).getBorrow().getBorrowStatus());
+        assertEquals("Success", results.get(1).getStatus());
+        assertEquals(BorrowStatus.OVERDUE, results.get(1).getBorrow().getBorrowStatus());
+        assertEquals(BigDecimal.valueOf(3), results.get(1).getBorrow().getPenaltyAmount());
+        assertEquals("Book is Already Returned", results.get(2).getMessage());
+        assertEquals("Borrow Record Not Found", results.get(3).getMessage());
+        assertEquals("Book is Already Returned", results.get(4).getMessage());
+        assertEquals(1L, results.get(1).getBorrow().getBookId());
+        assertNotNull(results.get(1).getBorrow().getReturnDate());
+
+        verify(borrowRepository).markReturned(eq(List.of(10L)), eq(BorrowStatus.RETURNED), eq(BigDecimal.ZERO), eq(0L), any(LocalDateTime.class));
+        verify(borrowRepository).markReturned(eq(List.of(11L)), eq(BorrowStatus.OVERDUE), eq(BigDecimal.valueOf(3)), eq(300L), any(LocalDateTime.class));
+        verify(bookService).increaseStock(Map.of(1L, 2));
     }
 
     @Test
@@ -228,14 +467,15 @@ public class BorrowServiceTest {
         when(borrowRepository.findById(borrowRecordId)).thenReturn(Optional.of(borrowEntry));
 
         // Act
-        BorrowEntry response = borrowService.returnBook(borrowRecordId);
+        BorrowResponse response = borrowService.returnBook(borrowRecordId);
 
         // Assert
         assertEquals(returnDate, borrowEntry.getReturnDate().truncatedTo(ChronoUnit.SECONDS));
         assertEquals(BorrowStatus.OVERDUE, borrowEntry.getBorrowStatus());
         assertEquals(BigDecimal.valueOf(3), borrowEntry.getPenaltyAmount());
 
-        assertEquals(1, book.getQuantityAvailable());
+        assertEquals(0, book.getQuantityAvailable());
+        verify(bookService, times(1)).increaseStock(1L);
         assertEquals(MembershipStatus.ACTIVE, member.getMembershipStatus());
 
         assertEquals(borrowEntry.getBorrowDate(), response.getBorrowDate());
@@ -243,6 +483,99 @@ public class BorrowServiceTest {
         assertEquals(borrowEntry.getDueDate(), response.getDueDate());
         assertEquals(borrowEntry.getBorrowStatus(), response.getBorrowStatus());
         assertEquals(borrowEntry.getPenaltyAmount(), response.getPenaltyAmount());
+        assertEquals(300L, borrowEntry.getPenaltyCents());
+        assertEquals(1L, response.getBookId());
+    }
+
+    @Test
+    void returnBook_whenTieredScheduleAndCap_thenChargeScheduledPenalty() {
+        // Arrange
+        BorrowServiceImpl tieredService = new BorrowServiceImpl(borrowRepository, bookService, memberService,
+                libraryProperties, borrowMetrics,
+                FeeSchedule.compile(List.of(new FeeSchedule.Tier(1, 50), new FeeSchedule.Tier(3, 125)), 30, 250),
+                catalogVersion);
+        LocalDateTime now = LocalDateTime.now();
+        Book book = Book.builder().id(1L).quantityAvailable(0).build();
+        BorrowEntry borrowEntry = BorrowEntry.builder()
+                .id(1L)
+                .book(book)
+                .borrowDate(now.minusDays(10))
+                .dueDate(now.minusDays(3).minusHours(1))
+                .penaltyAmount(BigDecimal.ZERO)
+                .borrowStatus(BorrowStatus.ACTIVE)
+                .build();
+
+        when(borrowRepository.findById(1L)).thenReturn(Optional.of(borrowEntry));
+
+        // Act
+        tieredService.returnBook(1L);
+
+        // Assert
+        // 50 + 50 + 125 = 225 cents after three days; a fourth day would pass the 250 cap.
+        assertEquals(225L, borrowEntry.getPenaltyCents());
+        assertEquals(new BigDecimal("2.25"), borrowEntry.getPenaltyAmount());
+        assertEquals(BorrowStatus.OVERDUE, borrowEntry.getBorrowStatus());
+    }
+
+    @Test
+    void getOutstandingPenalty_whenMemberHasOpenLoans_thenReturnSummedAmount() {
+        // Arrange
+        BorrowRepository.OutstandingPenalty outstanding = mock(BorrowRepository.OutstandingPenalty.class);
+        when(outstanding.getOpenLoans()).thenReturn(2L);
+        when(outstanding.getPenaltyCents()).thenReturn(450L);
+        when(borrowRepository.findOutstandingPenaltyByMemberId(1L)).thenReturn(outstanding);
+
+        // Act
+        OutstandingPenaltyResponse response = borrowService.getOutstandingPenalty(1L);
+
+        // Assert
+        verify(memberService).getMemberById(1L);
+        assertEquals(1L, response.getMemberId());
+        assertEquals(2L, response.getOpenLoans());
+        assertEquals(new BigDecimal("4.50"), response.getPenaltyAmount());
+    }
+
+    @Test
+    void getMemberLoans_whenMoreRowsThanPage_thenReturnCursorAtLastItem() {
+        // Arrange
+        LocalDateTime borrowDate = LocalDateTime.of(2026, 3, 1, 10, 0);
+        Book book = Book.builder().id(7L).title("Clean Code").build();
+        List<BorrowEntry> rows = List.of(
+                BorrowEntry.builder().id(12L).book(book).borrowDate(borrowDate)
+                        .borrowStatus(BorrowStatus.RETURNED).build(),
+                BorrowEntry.builder().id(11L).book(book).borrowDate(borrowDate.minusDays(1))
+                        .borrowStatus(BorrowStatus.RETURNED).build(),
+                BorrowEntry.builder().id(10L).book(book).borrowDate(borrowDate.minusDays(2))
+                        .borrowStatus(BorrowStatus.RETURNED).build());
+        when(borrowRepository.findMemberHistoryPage(eq(1L), eq(EnumSet.of(BorrowStatus.RETURNED)), any(), any(),
+                eq(borrowDate.plusDays(1)), eq(20L), any(Limit.class))).thenReturn(rows);
+
+        // Act
+        PageResponse<MemberLoanResponse> page = borrowService.getMemberLoans(1L, BorrowStatus.RETURNED, null, null,
+                CursorCodec.encode(borrowDate.plusDays(1).toString(), "20"), 2);
+
+        // Assert
+        verify(memberService).getMemberById(1L);
+        assertEquals(List.of(12L, 11L), page.getItems().stream().map(MemberLoanResponse::getId).toList());
+        assertEquals("Clean Code", page.getItems().get(0).getBookTitle());
+        assertArrayEquals(new String[]{borrowDate.minusDays(1).toString(), "11"},
+                CursorCodec.decode(page.getNext(), 2));
+    }
+
+    @Test
+    void getMemberLoans_whenCursorIsNotAPosition_thenThrowInvalidCursor() {
+        // Arrange
+        String cursor = CursorCodec.encode("yesterday", "11");
+
+        // Act & Assert
+        assertThrows(InvalidCursorException.class,
+                () -> borrowService.getMemberLoans(1L, null, null, null, cursor, null));
+        verify(borrowRepository, never()).findMemberHistoryPage(anyLong(), any(), any(), any(), any(), any(), any());
+    }
+
+    private record ReturnCandidate(Long getId, Long getBookId, Long getMemberId, LocalDateTime getBorrowDate,
+                                   LocalDateTime getDueDate, LocalDateTime getReturnDate)
+            implements BorrowRepository.ReturnCandidate {
     }
 
     /*
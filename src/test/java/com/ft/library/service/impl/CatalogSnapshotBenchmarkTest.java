@@ -0,0 +1,92 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.model.dto.response.ApiResponse;
+import com.ft.library.model.entity.Book;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CPU time and heap allocation of one {@code GET /v1/books} body: Jackson serializing the loaded books, as the
+ * default path does, against writing the pre-serialized snapshot bytes. Both write into a discarding stream so
+ * only the response work is measured, not the socket. Runs on request, e.g. {@code mvn test
+ * -Dtest=CatalogSnapshotBenchmarkTest -Dbenchmark.catalog-books=10000}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.catalog-books", matches = "\\d+")
+public class CatalogSnapshotBenchmarkTest {
+
+    private static final int ROUNDS = 200;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void snapshotWrite_shouldCostAFractionOfSerializing() throws Exception {
+        int size = Integer.parseInt(System.getProperty("benchmark.catalog-books"));
+        List<Book> books = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            books.add(Book.builder().id(i).title("Title " + i).isbn(String.valueOf(9_780_000_000_000L + i))
+                    .author("Author " + i % 1_000).quantityAvailable((int) (i % 7)).version(i % 3).build());
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        objectMapper.writeValue(serialized, ApiResponse.of("Success", "Success", books));
+        byte[] snapshot = serialized.toByteArray();
+        // ObjectMapper closes its target after each value, which a plain null stream rejects on the next write.
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+            }
+        };
+
+        Cost serializing = measure(() -> objectMapper.writeValue(sink, ApiResponse.of("Success", "Success", books)));
+        Cost writingSnapshot = measure(() -> sink.write(snapshot));
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(snapshot);
+        }
+        System.out.printf("%d books, %d bytes per body, %d gzipped%n", size, snapshot.length, gzipped.size());
+        System.out.printf("serialize: %8.1f us cpu, %10d bytes allocated per request%n",
+                serializing.cpuNanos() / 1e3, serializing.allocatedBytes());
+        System.out.printf("snapshot:  %8.1f us cpu, %10d bytes allocated per request%n",
+                writingSnapshot.cpuNanos() / 1e3, writingSnapshot.allocatedBytes());
+
+        assertTrue(writingSnapshot.cpuNanos() * 10 < serializing.cpuNanos(),
+                () -> "snapshot write took " + writingSnapshot.cpuNanos() + " ns of cpu");
+    }
+
+    private Cost measure(Body body) throws IOException {
+        for (int i = 0; i < ROUNDS; i++) {
+            body.write();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUNDS; i++) {
+            body.write();
+        }
+        return new Cost((threads.getCurrentThreadCpuTime() - cpuBefore) / ROUNDS,
+                (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / ROUNDS);
+    }
+
+    private interface Body {
+        void write() throws IOException;
+    }
+
+    private record Cost(long cpuNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.ft.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.CatalogSnapshot;
+import com.ft.library.model.entity.Book;
+import com.ft.library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotCacheTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @InjectMocks
+    private CatalogSnapshotCache catalogSnapshotCache;
+
+    @BeforeEach
+    void setup() {
+        libraryProperties.getCatalog().getSnapshot().setEnabled(true);
+    }
+
+    @Test
+    void rebuild_shouldKeepEnvelopeBytesAndMatchingGzip() throws Exception {
+        givenCatalog(List.of(Book.builder().id(1L).title("Clean Code").author("Robert C. Martin").build()));
+
+        catalogSnapshotCache.rebuild();
+
+        CatalogSnapshot snapshot = catalogSnapshotCache.current();
+        String json = new String(snapshot.getJson(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"status\":\"Success\",\"message\":\"Success\",\"data\":[{"));
+        assertTrue(json.contains("\"title\":\"Clean Code\""));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+            assertArrayEquals(snapshot.getJson(), gzip.readAllBytes());
+        }
+        assertEquals(catalogVersion.catalogETag(), snapshot.getEtag());
+    }
+
+    @Test
+    void refreshOnSchedule_shouldWaitForQuietCatalogBeforeRebuilding() {
+        givenCatalog(List.of());
+        catalogSnapshotCache.rebuild();
+
+        catalogSnapshotCache.refreshOnSchedule();
+        verify(bookRepository, times(1)).streamAll(anyInt(), any());
+
+        libraryProperties.getCatalog().getSnapshot().setDebounceMs(60_000);
+        catalogVersion.bookChanged(1L);
+        catalogSnapshotCache.refreshOnSchedule();
+        verify(bookRepository, times(1)).streamAll(anyInt(), any());
+
+        libraryProperties.getCatalog().getSnapshot().setDebounceMs(0);
+        catalogSnapshotCache.refreshOnSchedule();
+        verify(bookRepository, times(2)).streamAll(anyInt(), any());
+        assertEquals(catalogVersion.catalogETag(), catalogSnapshotCache.current().getEtag());
+    }
+
+    @Test
+    void current_whenDisabled_shouldReturnNull() {
+        givenCatalog(List.of());
+        catalogSnapshotCache.rebuild();
+
+        libraryProperties.getCatalog().getSnapshot().setEnabled(false);
+
+        assertNull(catalogSnapshotCache.current());
+    }
+
+    private void givenCatalog(List<Book> books) {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(1);
+            books.forEach(consumer);
+            return null;
+        }).when(bookRepository).streamAll(anyInt(), any());
+    }
+}
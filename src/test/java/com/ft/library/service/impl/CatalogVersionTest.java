@@ -0,0 +1,61 @@
+package com.ft.library.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bookChanged_withoutTransaction_shouldBumpCatalogAndOnlyThatBook() {
+        String catalog = catalogVersion.catalogETag();
+        String book1 = catalogVersion.bookETag(1L);
+        String book2 = catalogVersion.bookETag(2L);
+
+        catalogVersion.bookChanged(1L);
+
+        assertNotEquals(catalog, catalogVersion.catalogETag());
+        assertNotEquals(book1, catalogVersion.bookETag(1L));
+        assertEquals(book2, catalogVersion.bookETag(2L));
+        assertTrue(catalogVersion.catalogETag().startsWith("W/\""));
+    }
+
+    @Test
+    void booksChanged_shouldWaitForCommitAndIgnoreRollback() {
+        String catalog = catalogVersion.catalogETag();
+        String book = catalogVersion.bookETag(3L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalogVersion.booksChanged(List.of(3L, 4L));
+        assertEquals(catalog, catalogVersion.catalogETag());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(catalog, catalogVersion.catalogETag());
+        assertEquals(book, catalogVersion.bookETag(3L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalogVersion.booksChanged(List.of(3L, 4L));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertNotEquals(catalog, catalogVersion.catalogETag());
+        assertNotEquals(book, catalogVersion.bookETag(3L));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,170 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.request.CreateBorrowRequest;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.repository.BorrowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyGuardedBorrowServiceTest {
+
+    @Mock
+    private BorrowServiceImpl delegate;
+
+    @Mock
+    private BorrowRepository borrowRepository;
+
+    @Mock
+    private ReturnGroupCommitter returnGroupCommitter;
+
+    private LibraryProperties libraryProperties;
+
+    @BeforeEach
+    void setUp() {
+        libraryProperties = new LibraryProperties();
+        libraryProperties.getBorrow().setMaxAttempts(3);
+        libraryProperties.getBorrow().setRetryBaseDelayMs(0);
+    }
+
+    @Test
+    void borrowBook_whenOptimisticFailureThenSuccess_thenRetry() {
+        // Arrange
+        CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
+        BorrowResponse borrowResponse = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.ACTIVE).build();
+        when(delegate.borrowBook(request))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn(borrowResponse);
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        BorrowResponse response = service.borrowBook(request);
+
+        // Assert
+        assertSame(borrowResponse, response);
+        verify(delegate, times(2)).borrowBook(request);
+    }
+
+    @Test
+    void borrowBook_whenRetriesExhausted_thenRethrow() {
+        // Arrange
+        CreateBorrowRequest request = new CreateBorrowRequest(1L, 1L);
+        when(delegate.borrowBook(request)).thenThrow(new OptimisticLockingFailureException("stale"));
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> service.borrowBook(request));
+        verify(delegate, times(3)).borrowBook(request);
+    }
+
+    @Test
+    void returnBook_whenStripedLockDisabled_thenSkipBookLookup() {
+        // Arrange
+        BorrowResponse borrowResponse = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(delegate.returnBook(1L)).thenReturn(borrowResponse);
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        service.returnBook(1L);
+
+        // Assert
+        verify(borrowRepository, never()).findBookIdById(anyLong());
+    }
+
+    @Test
+    void returnBook_whenStripedLockEnabled_thenLockOnBookId() {
+        // Arrange
+        libraryProperties.getBorrow().setStripedLockEnabled(true);
+        BorrowResponse borrowResponse = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(borrowRepository.findBookIdById(1L)).thenReturn(Optional.of(7L));
+        when(delegate.returnBook(1L)).thenReturn(borrowResponse);
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        BorrowResponse response = service.returnBook(1L);
+
+        // Assert
+        assertSame(borrowResponse, response);
+        verify(borrowRepository, times(1)).findBookIdById(1L);
+    }
+
+    @Test
+    void returnBook_whenGroupCommitEnabled_thenRouteThroughQueue() {
+        // Arrange
+        BorrowResponse borrowResponse = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(returnGroupCommitter.isEnabled()).thenReturn(true);
+        when(returnGroupCommitter.returnBook(1L)).thenReturn(borrowResponse);
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        BorrowResponse response = service.returnBook(1L);
+
+        // Assert
+        assertSame(borrowResponse, response);
+        verify(delegate, never()).returnBook(anyLong());
+    }
+
+    @Test
+    void returnBook_whenGroupedReturnIsStale_thenResubmit() {
+        // Arrange
+        BorrowResponse borrowResponse = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(returnGroupCommitter.isEnabled()).thenReturn(true);
+        when(returnGroupCommitter.returnBook(1L))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn(borrowResponse);
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        BorrowResponse response = service.returnBook(1L);
+
+        // Assert
+        assertSame(borrowResponse, response);
+        verify(returnGroupCommitter, times(2)).returnBook(1L);
+    }
+
+    @Test
+    void returnBook_whenGroupedWithStripedLock_thenBorrowOfSameBookWaitsForTheGroup() throws Exception {
+        // Arrange
+        libraryProperties.getBorrow().setStripedLockEnabled(true);
+        CreateBorrowRequest request = new CreateBorrowRequest(7L, 1L);
+        CountDownLatch returning = new CountDownLatch(1);
+        AtomicBoolean returnInFlight = new AtomicBoolean();
+        when(returnGroupCommitter.isEnabled()).thenReturn(true);
+        when(borrowRepository.findBookIdById(1L)).thenReturn(Optional.of(7L));
+        when(returnGroupCommitter.returnBook(1L)).thenAnswer(invocation -> {
+            returnInFlight.set(true);
+            returning.countDown();
+            Thread.sleep(100);
+            returnInFlight.set(false);
+            return BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        });
+        when(delegate.borrowBook(request)).thenAnswer(invocation -> BorrowResponse.builder()
+                .id(2L).borrowStatus(returnInFlight.get() ? BorrowStatus.OVERDUE : BorrowStatus.ACTIVE).build());
+        ConcurrencyGuardedBorrowService service = new ConcurrencyGuardedBorrowService(delegate, borrowRepository, returnGroupCommitter, libraryProperties);
+
+        // Act
+        CompletableFuture<BorrowResponse> returned = CompletableFuture.supplyAsync(() -> service.returnBook(1L));
+        assertTrue(returning.await(5, TimeUnit.SECONDS));
+        BorrowResponse borrowed = service.borrowBook(request);
+
+        // Assert
+        assertEquals(BorrowStatus.ACTIVE, borrowed.getBorrowStatus(), "borrow ran while the grouped return held the stripe");
+        assertEquals(BorrowStatus.RETURNED, returned.get(5, TimeUnit.SECONDS).getBorrowStatus());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.ObjLongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IsbnIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @InjectMocks
+    private IsbnIndex isbnIndex;
+
+    @Test
+    void rebuild_shouldIndexNormalizedIsbnsAndSkipInvalidOnes() {
+        when(bookRepository.count()).thenReturn(3L);
+        doAnswer(invocation -> {
+            ObjLongConsumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("978-0-13-235088-4", 1L);
+            consumer.accept("0134685997", 2L);
+            consumer.accept("not-an-isbn", 3L);
+            return null;
+        }).when(bookRepository).streamIsbns(anyInt(), any());
+
+        isbnIndex.rebuild();
+
+        assertEquals(2, isbnIndex.size());
+        assertEquals(1L, isbnIndex.findBookId(9780132350884L));
+        assertEquals(2L, isbnIndex.findBookId(9780134685991L));
+    }
+
+    @Test
+    void remove_whenIsbnPointsToAnotherBook_shouldKeepEntry() {
+        isbnIndex.put("9780132350884", 1L);
+
+        isbnIndex.remove("9780132350884", 2L);
+        assertEquals(1L, isbnIndex.findBookId(9780132350884L));
+
+        isbnIndex.remove("0-13-235088-2", 1L);
+        assertEquals(IsbnIndex.MISSING, isbnIndex.findBookId(9780132350884L));
+    }
+
+    @Test
+    void put_whenManyEntries_shouldGrowAndSurviveRemovals() {
+        for (long i = 0; i < 10_000; i++) {
+            isbnIndex.put(String.valueOf(isbn13(979_000_000_000L + i)), i + 1);
+        }
+        for (long i = 0; i < 10_000; i += 2) {
+            isbnIndex.remove(String.valueOf(isbn13(979_000_000_000L + i)), i + 1);
+        }
+
+        assertEquals(5_000, isbnIndex.size());
+        for (long i = 0; i < 10_000; i++) {
+            long expected = i % 2 == 0 ? IsbnIndex.MISSING : i + 1;
+            assertEquals(expected, isbnIndex.findBookId(isbn13(979_000_000_000L + i)));
+        }
+    }
+
+    private static long isbn13(long first12) {
+        return first12 * 10 + checkDigit(first12);
+    }
+
+    private static int checkDigit(long first12) {
+        int sum = 0;
+        for (int i = 11; i >= 0; i--) {
+            int digit = (int) (first12 % 10);
+            sum += (i % 2 == 0) ? digit : digit * 3;
+            first12 /= 10;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
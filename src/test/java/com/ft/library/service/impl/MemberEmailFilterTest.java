@@ -0,0 +1,81 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemberEmailFilterTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Spy
+    private LibraryProperties libraryProperties = new LibraryProperties();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskExecutor applicationTaskExecutor;
+
+    @InjectMocks
+    private MemberEmailFilter memberEmailFilter;
+
+    @Test
+    void mightExist_beforeRebuild_shouldAlwaysAllowLookup() {
+        assertTrue(memberEmailFilter.mightExist("fatih@gmail.com"));
+    }
+
+    @Test
+    void rebuild_shouldContainExistingEmailsIgnoringCase() {
+        // given
+        when(memberRepository.count()).thenReturn(2L);
+        when(memberRepository.streamAllEmails()).thenReturn(Stream.of("fatih@gmail.com", "John@Gmail.com"));
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        memberEmailFilter.rebuild();
+        memberEmailFilter.add("new@gmail.com");
+
+        // then
+        assertTrue(memberEmailFilter.mightExist("fatih@gmail.com"));
+        assertTrue(memberEmailFilter.mightExist("john@gmail.com"));
+        assertTrue(memberEmailFilter.mightExist("new@gmail.com"));
+        long falsePositives = Stream.iterate(0, i -> i + 1).limit(1_000)
+                .filter(i -> memberEmailFilter.mightExist("absent" + i + "@gmail.com"))
+                .count();
+        assertTrue(falsePositives < 50);
+    }
+
+    @Test
+    void mightExist_whenDisabled_shouldAlwaysAllowLookup() {
+        // given
+        libraryProperties.getMembers().getEmailFilter().setEnabled(false);
+
+        // when
+        memberEmailFilter.rebuild();
+
+        // then
+        assertTrue(memberEmailFilter.mightExist("absent@gmail.com"));
+        verifyNoInteractions(memberRepository);
+    }
+}
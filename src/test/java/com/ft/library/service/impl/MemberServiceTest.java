@@ -1,5 +1,6 @@
 package com.ft.library.service.impl;
 
+import com.ft.library.config.LibraryProperties;
 import com.ft.library.exception.MemberAlreadyExistsException;
 import com.ft.library.exception.MemberNotFoundException;
 import com.ft.library.model.dto.request.CreateMemberRequest;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -24,6 +27,15 @@ public class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Spy
+    private MemberCache memberCache = new MemberCache(new LibraryProperties());
+
+    @Mock
+    private SuspendedMemberIndex suspendedMemberIndex;
+
+    @Mock
+    private MemberEmailFilter memberEmailFilter;
+
     @InjectMocks
     private MemberServiceImpl memberService;
 
@@ -31,6 +43,7 @@ public class MemberServiceTest {
     void createMember_shouldCreateMember() {
         // given
         CreateMemberRequest createMemberRequest = new CreateMemberRequest("Fatih", "Büyükgüçlü", "fatih@gmail.com");
+        when(memberEmailFilter.mightExist(createMemberRequest.getEmail())).thenReturn(true);
         when(memberRepository.findByEmail(createMemberRequest.getEmail())).thenReturn(Optional.empty());
 
         // when
@@ -56,6 +69,7 @@ public class MemberServiceTest {
                 .firstName("John")
                 .lastName("Doe")
                 .email("fatih@gmail.com").build();
+        when(memberEmailFilter.mightExist(createMemberRequest.getEmail())).thenReturn(true);
         when(memberRepository.findByEmail(createMemberRequest.getEmail())).thenReturn(Optional.of(existingMember));
 
         // when
@@ -66,6 +80,36 @@ public class MemberServiceTest {
         verify(memberRepository, never()).save(any(Member.class));
     }
 
+    @Test
+    void createMember_whenEmailFilterRulesOutEmail_shouldSkipLookup() {
+        // given
+        CreateMemberRequest createMemberRequest = new CreateMemberRequest("Fatih", "Büyükgüçlü", "fatih@gmail.com");
+        when(memberEmailFilter.mightExist(createMemberRequest.getEmail())).thenReturn(false);
+
+        // when
+        memberService.createMember(createMemberRequest);
+
+        // then
+        verify(memberRepository, never()).findByEmail(any());
+        verify(memberRepository).save(any(Member.class));
+        verify(memberEmailFilter).add("fatih@gmail.com");
+    }
+
+    @Test
+    void createMember_whenUniqueIndexRejectsEmail_shouldThrowException() {
+        // given
+        CreateMemberRequest createMemberRequest = new CreateMemberRequest("Fatih", "Büyükgüçlü", "fatih@gmail.com");
+        when(memberEmailFilter.mightExist(createMemberRequest.getEmail())).thenReturn(false);
+        when(memberRepository.save(any(Member.class))).thenThrow(new DataIntegrityViolationException("uk_members_email"));
+
+        // when
+        MemberAlreadyExistsException exception = assertThrows(MemberAlreadyExistsException.class, () -> memberService.createMember(createMemberRequest));
+
+        // then
+        assertEquals("Member Already Exists", exception.getMessage());
+        verify(memberEmailFilter, never()).add(any());
+    }
+
     @Test
     void getMemberById_shouldReturnMember() {
         // given
@@ -146,4 +190,66 @@ public class MemberServiceTest {
         verify(memberRepository, never()).save(any(Member.class));
     }
 
+    @Test
+    void getMemberById_whenCalledTwice_shouldServeSecondReadFromCache() {
+        // given
+        Member member = Member.builder()
+                .id(1L)
+                .firstName("Fatih")
+                .membershipStatus(MembershipStatus.ACTIVE).build();
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+
+        // when
+        Member first = memberService.getMemberById(1L);
+        first.setMembershipStatus(MembershipStatus.SUSPENDED);
+        Member second = memberService.getMemberById(1L);
+
+        // then
+        verify(memberRepository, times(1)).findById(1L);
+        assertEquals(MembershipStatus.ACTIVE, second.getMembershipStatus());
+    }
+
+    @Test
+    void isMemberSuspended_whenIndexReady_shouldNotQueryDatabase() {
+        // given
+        when(suspendedMemberIndex.isReady()).thenReturn(true);
+        when(suspendedMemberIndex.contains(7L)).thenReturn(true);
+
+        // when
+        boolean suspended = memberService.isMemberSuspended(7L);
+
+        // then
+        assertTrue(suspended);
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    void isMemberSuspended_whenIndexNotReady_shouldFallBackToMemberStatus() {
+        // given
+        Member member = Member.builder().id(1L).membershipStatus(MembershipStatus.SUSPENDED).build();
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+
+        // when
+        boolean suspended = memberService.isMemberSuspended(1L);
+
+        // then
+        assertTrue(suspended);
+    }
+
+    @Test
+    void updateMembershipStatus_shouldUpdateIndexAndEvictCachedMember() {
+        // given
+        Member member = Member.builder().id(1L).membershipStatus(MembershipStatus.ACTIVE).build();
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+        memberService.getMemberById(1L);
+
+        // when
+        memberService.updateMembershipStatus(1L, MembershipStatus.SUSPENDED);
+
+        // then
+        verify(suspendedMemberIndex, atLeastOnce()).set(1L, true);
+        verify(suspendedMemberIndex, never()).set(1L, false);
+        assertEquals(MembershipStatus.SUSPENDED, memberService.getMemberById(1L).getMembershipStatus());
+        verify(memberRepository, times(3)).findById(1L);
+    }
 }
@@ -0,0 +1,93 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.MemberAlreadyExistsException;
+import com.ft.library.model.dto.request.CreateMemberRequest;
+import com.ft.library.service.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Signup throughput against a large member table, with and without the email filter. Seeding a million rows
+ * takes a while, so it only runs on request, e.g. {@code mvn test -Dtest=MemberSignupBenchmarkTest
+ * -Dbenchmark.members=1000000}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark.members", matches = "\\d+")
+public class MemberSignupBenchmarkTest {
+
+    private static final int SIGNUPS = 2_000;
+
+    private static final int SEED_BATCH = 10_000;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberEmailFilter memberEmailFilter;
+
+    @Autowired
+    private LibraryProperties libraryProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        libraryProperties.getMembers().getEmailFilter().setEnabled(true);
+        jdbcTemplate.update("DELETE FROM members");
+    }
+
+    @Test
+    void signup_withLargeMemberTable_shouldBeFasterWithEmailFilter() {
+        int existingMembers = Integer.parseInt(System.getProperty("benchmark.members"));
+        seedMembers(existingMembers);
+        memberEmailFilter.rebuild();
+
+        libraryProperties.getMembers().getEmailFilter().setEnabled(false);
+        double withoutFilter = signupsPerSecond("baseline");
+        libraryProperties.getMembers().getEmailFilter().setEnabled(true);
+        double withFilter = signupsPerSecond("filtered");
+
+        System.out.printf("%d existing members: %.0f signups/s without filter, %.0f signups/s with filter%n",
+                existingMembers, withoutFilter, withFilter);
+
+        assertThrows(MemberAlreadyExistsException.class,
+                () -> memberService.createMember(new CreateMemberRequest("Member", "0", "member0@library.com")));
+    }
+
+    private double signupsPerSecond(String prefix) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SIGNUPS; i++) {
+            memberService.createMember(new CreateMemberRequest("New", String.valueOf(i), prefix + i + "@signup.com"));
+        }
+        return SIGNUPS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void seedMembers(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int offset = 0; offset < count; offset += SEED_BATCH) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+            for (int i = offset; i < Math.min(count, offset + SEED_BATCH); i++) {
+                rows.add(new Object[]{"Member", String.valueOf(i), "member" + i + "@library.com", now, "ACTIVE"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO members (first_name, last_name, email, membership_date, membership_status) "
+                    + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+}
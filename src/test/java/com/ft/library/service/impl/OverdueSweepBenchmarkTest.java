@@ -0,0 +1,108 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BookRepository;
+import com.ft.library.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Overdue sweep over a large loan table: one loan in ten is still out, with due dates spread over the past year
+ * and the coming week. Prints the first full sweep and an incremental one an hour later, e.g. {@code mvn test
+ * -Dtest=OverdueSweepBenchmarkTest -Dbenchmark.loans=10000000} (give the JVM a few GB for the embedded database).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark.loans", matches = "\\d+")
+public class OverdueSweepBenchmarkTest {
+
+    private static final int SEED_BATCH = 1_000_000;
+
+    private static final long SPREAD_MINUTES = 60 * 24 * 372;
+
+    private static final long UPCOMING_MINUTES = 60 * 24 * 7;
+
+    @Autowired
+    private OverdueSweeper overdueSweeper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM borrow_entries");
+        jdbcTemplate.update("UPDATE sweep_checkpoints SET last_due_date = TIMESTAMP '1970-01-01 00:00:00', last_id = 0");
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void sweep_withLargeLoanTable_shouldOnlyTouchOpenLoans() {
+        long loans = Long.parseLong(System.getProperty("benchmark.loans"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        seedLoans(loans, now);
+        long expected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM borrow_entries WHERE return_date IS NULL AND due_date < ?", Long.class,
+                Timestamp.valueOf(now));
+
+        long start = System.nanoTime();
+        long swept = overdueSweeper.sweep(now);
+        double fullSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        long sweptLater = overdueSweeper.sweep(now.plusHours(1));
+        double incrementalMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("%d loans: first sweep moved %d in %.2f s, an hour later %d more in %.1f ms%n",
+                loans, swept, fullSeconds, sweptLater, incrementalMillis);
+        assertEquals(expected, swept);
+    }
+
+    private void seedLoans(long count, LocalDateTime now) {
+        Long bookId = bookRepository.save(Book.builder()
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(10)
+                .build()).getId();
+        Long memberId = memberRepository.save(Member.builder()
+                .firstName("Member")
+                .lastName("0")
+                .email("member0@library.com")
+                .membershipDate(now)
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build()).getId();
+        // Ids far above the sequence, due dates spread minute by minute from a year ago to a week ahead.
+        for (long offset = 0; offset < count; offset += SEED_BATCH) {
+            jdbcTemplate.update("INSERT INTO borrow_entries (id, book_id, member_id, borrow_date, due_date, return_date, "
+                            + "borrow_status, penalty_amount, version) "
+                            + "SELECT 1000000000 + X, ?, ?, DATEADD(DAY, -7, D), D, "
+                            + "CASE WHEN MOD(X, 10) = 0 THEN NULL ELSE D END, "
+                            + "CASE WHEN MOD(X, 10) = 0 THEN 'ACTIVE' ELSE 'RETURNED' END, 0, 0 "
+                            + "FROM (SELECT X, DATEADD(MINUTE, MOD(X, ?) - ?, ?) AS D FROM SYSTEM_RANGE(?, ?))",
+                    bookId, memberId, SPREAD_MINUTES, SPREAD_MINUTES - UPCOMING_MINUTES, Timestamp.valueOf(now),
+                    offset + 1, Math.min(count, offset + SEED_BATCH));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.entity.SweepCheckpoint;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BorrowRepository;
+import com.ft.library.repository.SweepCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class OverdueSweeperTest {
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private SweepCheckpointRepository sweepCheckpointRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OverdueSweeper overdueSweeper;
+
+    private LocalDateTime now;
+
+    private Book book;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        LibraryProperties libraryProperties = new LibraryProperties();
+        libraryProperties.getBorrow().getOverdueSweep().setChunkSize(2);
+        overdueSweeper = new OverdueSweeper(borrowRepository, sweepCheckpointRepository,
+                new TransactionTemplate(transactionManager), libraryProperties, mock(BorrowMetrics.class));
+
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        book = testEntityManager.persist(Book.builder()
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(10)
+                .build());
+        member = testEntityManager.persist(Member.builder()
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipDate(now)
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    void sweep_whenLoansPastDue_thenMarkOnlyOpenActiveOnesOverdue() {
+        // Arrange
+        List<Long> pastDue = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            pastDue.add(loan(now.minusDays(i), null, BorrowStatus.ACTIVE));
+        }
+        Long alreadyOverdue = loan(now.minusDays(2), null, BorrowStatus.OVERDUE);
+        Long returned = loan(now.minusDays(3), now.minusDays(1), BorrowStatus.OVERDUE);
+        Long notDue = loan(now.plusDays(3), null, BorrowStatus.ACTIVE);
+
+        // Act
+        long swept = overdueSweeper.sweep(now);
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(5, swept);
+        pastDue.forEach(id -> assertEquals(BorrowStatus.OVERDUE, status(id)));
+        assertEquals(BorrowStatus.OVERDUE, status(alreadyOverdue));
+        assertEquals(BorrowStatus.OVERDUE, status(returned));
+        assertEquals(BorrowStatus.ACTIVE, status(notDue));
+        assertEquals(now.minusDays(1), checkpoint().getLastDueDate());
+    }
+
+    @Test
+    void sweep_whenRunAgain_thenOnlyVisitLoansDueSinceLastRun() {
+        // Arrange
+        loan(now.minusDays(2), null, BorrowStatus.ACTIVE);
+        overdueSweeper.sweep(now.minusDays(1));
+        Long dueSince = loan(now.minusHours(1), null, BorrowStatus.ACTIVE);
+
+        // Act
+        long swept = overdueSweeper.sweep(now);
+        long sweptAgain = overdueSweeper.sweep(now);
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(1, swept);
+        assertEquals(0, sweptAgain);
+        assertEquals(BorrowStatus.OVERDUE, status(dueSince));
+        assertEquals(dueSince, checkpoint().getLastId());
+    }
+
+    @Test
+    void sweep_whenCheckpointPartway_thenResumeAfterIt() {
+        // Arrange
+        Long beforeCheckpoint = loan(now.minusDays(3), null, BorrowStatus.ACTIVE);
+        Long afterCheckpoint = loan(now.minusDays(1), null, BorrowStatus.ACTIVE);
+        SweepCheckpoint checkpoint = checkpoint();
+        checkpoint.setLastDueDate(now.minusDays(3));
+        checkpoint.setLastId(beforeCheckpoint);
+        testEntityManager.flush();
+
+        // Act
+        long swept = overdueSweeper.sweep(now);
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(1, swept);
+        assertEquals(BorrowStatus.ACTIVE, status(beforeCheckpoint));
+        assertEquals(BorrowStatus.OVERDUE, status(afterCheckpoint));
+    }
+
+    private Long loan(LocalDateTime dueDate, LocalDateTime returnDate, BorrowStatus borrowStatus) {
+        return testEntityManager.persist(BorrowEntry.builder()
+                .book(book)
+                .member(member)
+                .borrowDate(dueDate.minusDays(7))
+                .dueDate(dueDate)
+                .returnDate(returnDate)
+                .borrowStatus(borrowStatus)
+                .penaltyAmount(BigDecimal.ZERO)
+                .build()).getId();
+    }
+
+    private BorrowStatus status(Long borrowId) {
+        return borrowRepository.findById(borrowId).orElseThrow().getBorrowStatus();
+    }
+
+    private SweepCheckpoint checkpoint() {
+        return sweepCheckpointRepository.findById(OverdueSweeper.CHECKPOINT).orElseThrow();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.domain.FeeSchedule;
+import com.ft.library.model.entity.Book;
+import com.ft.library.model.entity.BorrowEntry;
+import com.ft.library.model.entity.Member;
+import com.ft.library.model.enums.BorrowStatus;
+import com.ft.library.model.enums.MembershipStatus;
+import com.ft.library.repository.BorrowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class PenaltyEngineTest {
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PenaltyEngine penaltyEngine;
+
+    private LocalDateTime now;
+
+    private Book book;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        LibraryProperties libraryProperties = new LibraryProperties();
+        libraryProperties.getPenalties().getAccrual().setChunkSize(2);
+        FeeSchedule feeSchedule = FeeSchedule.compile(
+                List.of(new FeeSchedule.Tier(1, 50), new FeeSchedule.Tier(4, 200)), 10, 1_000);
+        penaltyEngine = new PenaltyEngine(borrowRepository, new TransactionTemplate(transactionManager),
+                feeSchedule, libraryProperties);
+
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        book = testEntityManager.persist(Book.builder()
+                .title("Clean Code")
+                .isbn("9780132350884")
+                .author("Robert C. Martin")
+                .quantityAvailable(10)
+                .build());
+        member = testEntityManager.persist(Member.builder()
+                .firstName("Fatih")
+                .lastName("Büyükgüçlü")
+                .email("fatih@gmail.com")
+                .membershipDate(now)
+                .membershipStatus(MembershipStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    void accrue_whenOpenLoansOverdue_thenChargeScheduleAcrossChunks() {
+        // Arrange
+        Long twoDays = loan(now.minusDays(2), null);
+        Long fiveDays = loan(now.minusDays(5), null);
+        Long twentyDays = loan(now.minusDays(20), null);
+        Long sameDay = loan(now.minusHours(3), null);
+        Long notDue = loan(now.plusDays(3), null);
+        Long returned = loan(now.minusDays(6), now.minusDays(1));
+
+        // Act
+        long updated = penaltyEngine.accrue(now);
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(3, updated);
+        assertEquals(100L, cents(twoDays));
+        assertEquals(0, new BigDecimal("1.00").compareTo(amount(twoDays)));
+        // 3 days at 50, then 2 days at 200.
+        assertEquals(550L, cents(fiveDays));
+        assertEquals(0, new BigDecimal("5.50").compareTo(amount(fiveDays)));
+        assertEquals(1_000L, cents(twentyDays));
+        assertEquals(0L, cents(sameDay));
+        assertEquals(0L, cents(notDue));
+        assertEquals(0L, cents(returned));
+    }
+
+    @Test
+    void accrue_whenRunAgain_thenWriteOnlyLoansWhoseFeeMoved() {
+        // Arrange
+        loan(now.minusDays(2), null);
+        Long crossesDay = loan(now.minusDays(1).minusHours(22), null);
+        penaltyEngine.accrue(now);
+
+        // Act
+        long unchanged = penaltyEngine.accrue(now.plusHours(1));
+        long nextDay = penaltyEngine.accrue(now.plusHours(3));
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(0, unchanged);
+        assertEquals(1, nextDay);
+        assertEquals(100L, cents(crossesDay));
+        assertEquals(0, new BigDecimal("1.00").compareTo(amount(crossesDay)));
+    }
+
+    @Test
+    void accrue_whenLoanAccruedToday_thenSkipItUntilItsNextDay() {
+        // Arrange
+        LocalDateTime dueDate = now.minusDays(2).minusHours(6);
+        Long twoDays = loan(dueDate, null);
+        penaltyEngine.accrue(now);
+        testEntityManager.getEntityManager()
+                .createNativeQuery("UPDATE borrow_entries SET penalty_cents = 0 WHERE id = " + twoDays)
+                .executeUpdate();
+        testEntityManager.clear();
+
+        // Act
+        long sameDay = penaltyEngine.accrue(now.plusHours(17));
+        long afterSameDay = cents(twoDays);
+        long nextDay = penaltyEngine.accrue(now.plusHours(18));
+
+        // Assert
+        testEntityManager.clear();
+        assertEquals(0, sameDay);
+        assertEquals(0L, afterSameDay);
+        assertEquals(1, nextDay);
+        assertEquals(150L, cents(twoDays));
+        assertEquals(dueDate.plusDays(4), borrowRepository.findById(twoDays).orElseThrow().getPenaltyAccruedUntil());
+    }
+
+    @Test
+    void findOutstandingPenalty_whenAccrued_thenSumOpenLoansOnly() {
+        // Arrange
+        loan(now.minusDays(2), null);
+        loan(now.minusDays(5), null);
+        loan(now.minusDays(6), now.minusDays(1));
+        penaltyEngine.accrue(now);
+
+        // Act
+        BorrowRepository.OutstandingPenalty outstanding = borrowRepository.findOutstandingPenaltyByMemberId(member.getId());
+
+        // Assert
+        assertEquals(2, outstanding.getOpenLoans());
+        assertEquals(650L, outstanding.getPenaltyCents());
+    }
+
+    private Long loan(LocalDateTime dueDate, LocalDateTime returnDate) {
+        return testEntityManager.persist(BorrowEntry.builder()
+                .book(book)
+                .member(member)
+                .borrowDate(dueDate.minusDays(7))
+                .dueDate(dueDate)
+                .returnDate(returnDate)
+                .borrowStatus(returnDate == null ? BorrowStatus.ACTIVE : BorrowStatus.OVERDUE)
+                .penaltyAmount(BigDecimal.ZERO)
+                .build()).getId();
+    }
+
+    private long cents(Long borrowId) {
+        return borrowRepository.findById(borrowId).orElseThrow().getPenaltyCents();
+    }
+
+    private BigDecimal amount(Long borrowId) {
+        return borrowRepository.findById(borrowId).orElseThrow().getPenaltyAmount();
+    }
+}
@@ -0,0 +1,151 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.exception.BookNotAvailableException;
+import com.ft.library.model.dto.response.BorrowResponse;
+import com.ft.library.model.dto.response.ReturnItemResult;
+import com.ft.library.model.enums.BorrowStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReturnGroupCommitterTest {
+
+    @Mock
+    private BorrowServiceImpl borrowService;
+
+    private LibraryProperties libraryProperties;
+
+    private ReturnGroupCommitter returnGroupCommitter;
+
+    @BeforeEach
+    void setUp() {
+        libraryProperties = new LibraryProperties();
+        libraryProperties.getBorrow().getGroupCommit().setEnabled(true);
+        libraryProperties.getBorrow().getGroupCommit().setWindowMs(200);
+        libraryProperties.getBorrow().getGroupCommit().setMaxItems(2);
+        returnGroupCommitter = new ReturnGroupCommitter(borrowService, libraryProperties);
+        returnGroupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        returnGroupCommitter.stop();
+    }
+
+    @Test
+    void returnBook_whenCallersArriveTogether_thenCommitOneBatchWithSeparateResults() {
+        // Arrange
+        BorrowResponse returned = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(borrowService.returnBooks(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> id == 1L
+                            ? ReturnItemResult.success(id, returned)
+                            : ReturnItemResult.error(id, "Borrow Record Not Found"))
+                    .toList();
+        });
+
+        // Act
+        CompletableFuture<BorrowResponse> first = CompletableFuture.supplyAsync(() -> returnGroupCommitter.returnBook(1L));
+        CompletableFuture<BorrowResponse> second = CompletableFuture.supplyAsync(() -> returnGroupCommitter.returnBook(2L));
+
+        // Assert
+        assertSame(returned, first.join());
+        Exception exception = assertThrows(Exception.class, second::join);
+        assertInstanceOf(BookNotAvailableException.class, exception.getCause());
+        assertEquals("Borrow Record Not Found", exception.getCause().getMessage());
+        verify(borrowService, times(1)).returnBooks(anyList());
+    }
+
+    @Test
+    void returnBook_whenGroupFails_thenFallBackToSingleReturn() {
+        // Arrange
+        BorrowResponse returned = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(borrowService.returnBooks(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+        when(borrowService.returnBook(1L)).thenReturn(returned);
+
+        // Act
+        BorrowResponse response = returnGroupCommitter.returnBook(1L);
+
+        // Assert
+        assertSame(returned, response);
+    }
+
+    @Test
+    void returnBook_whenStopped_thenRejectInsteadOfQueueing() {
+        // Arrange
+        returnGroupCommitter.stop();
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> returnGroupCommitter.returnBook(1L));
+        assertEquals("Return Queue Stopped", exception.getMessage());
+        verifyNoInteractions(borrowService);
+    }
+
+    @Test
+    void stop_whenReturnsAreQueued_thenFailThemInsteadOfLeavingThemWaiting() throws Exception {
+        // Arrange
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BorrowResponse returned = BorrowResponse.builder().id(1L).borrowStatus(BorrowStatus.RETURNED).build();
+        when(borrowService.returnBooks(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> ReturnItemResult.success(id, returned)).toList();
+        });
+        CompletableFuture<BorrowResponse> inFlight = CompletableFuture.supplyAsync(() -> returnGroupCommitter.returnBook(1L));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<BorrowResponse> queued = CompletableFuture.supplyAsync(() -> returnGroupCommitter.returnBook(2L));
+
+        // Act
+        returnGroupCommitter.stop();
+        release.countDown();
+
+        // Assert
+        assertSame(returned, inFlight.get(5, TimeUnit.SECONDS));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("Return Queue Stopped", exception.getCause().getMessage());
+        verify(borrowService, times(1)).returnBooks(anyList());
+    }
+
+    @Test
+    void returnBook_whenCommitOutlivesTimeout_thenFailTheCaller() {
+        // Arrange
+        libraryProperties.getBorrow().getGroupCommit().setWindowMs(0);
+        libraryProperties.getBorrow().getGroupCommit().setTimeoutMs(50);
+        CountDownLatch release = new CountDownLatch(1);
+        when(borrowService.returnBooks(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        // Act & Assert
+        try {
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> returnGroupCommitter.returnBook(1L));
+            assertEquals("Return Outcome Unknown", exception.getMessage());
+        } finally {
+            release.countDown();
+        }
+    }
+}
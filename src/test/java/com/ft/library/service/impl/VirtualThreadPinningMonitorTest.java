@@ -0,0 +1,75 @@
+package com.ft.library.service.impl;
+
+import com.ft.library.config.LibraryProperties;
+import com.ft.library.model.dto.response.PinningReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final LibraryProperties libraryProperties = new LibraryProperties();
+
+    private final Object lock = new Object();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_withPlatformThreads_shouldNotMonitor() {
+        // given
+        monitor = new VirtualThreadPinningMonitor(libraryProperties, new MockEnvironment());
+
+        // when
+        monitor.start();
+
+        // then
+        PinningReport report = monitor.report();
+        assertFalse(report.isVirtualThreads());
+        assertFalse(report.isMonitoring());
+        assertEquals(0, report.getEvents());
+    }
+
+    // From JDK 24 on, blocking inside synchronized no longer pins the carrier thread.
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_23)
+    void report_whenVirtualThreadSleepsInsideSynchronized_shouldAttributeSite() throws Exception {
+        // given
+        monitor = new VirtualThreadPinningMonitor(libraryProperties,
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        monitor.start();
+
+        // when
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        // then
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (monitor.report().getEvents() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        PinningReport report = monitor.report();
+        assertTrue(report.isMonitoring());
+        assertTrue(report.getEvents() > 0);
+        assertTrue(report.getSites().get(0).getFrame().startsWith(getClass().getName() + ".sleepWhileHoldingMonitor"),
+                report.getSites().get(0).getFrame());
+        assertTrue(report.getSites().get(0).getMaxMillis() >= 20);
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}